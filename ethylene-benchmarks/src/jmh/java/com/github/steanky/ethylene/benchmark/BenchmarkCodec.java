@@ -0,0 +1,66 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.codec.hjson.HjsonCodec;
+import com.github.steanky.ethylene.codec.json.JsonCodec;
+import com.github.steanky.ethylene.codec.toml.TomlCodec;
+import com.github.steanky.ethylene.codec.yaml.YamlCodec;
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.binary.BinaryCodec;
+import com.github.steanky.ethylene.core.propylene.PropyleneCodec;
+import org.jetbrains.annotations.NotNull;
+import org.snakeyaml.engine.v2.api.DumpSettings;
+import org.snakeyaml.engine.v2.api.LoadSettings;
+
+import java.util.function.Supplier;
+
+/**
+ * Every {@link ConfigCodec} implementation shipped with Ethylene, for use as a benchmark parameter.
+ */
+public enum BenchmarkCodec {
+    /**
+     * {@link JsonCodec}.
+     */
+    JSON(JsonCodec::new),
+
+    /**
+     * {@link YamlCodec}. The alias limit is raised so that {@link DocumentShape#REFERENCE_HEAVY} documents, which
+     * snakeyaml-engine writes using anchors and aliases, can be read back.
+     */
+    YAML(() -> new YamlCodec(LoadSettings.builder().setMaxAliasesForCollections(Integer.MAX_VALUE).build(),
+        DumpSettings.builder().build())),
+
+    /**
+     * {@link TomlCodec}.
+     */
+    TOML(TomlCodec::new),
+
+    /**
+     * {@link HjsonCodec}.
+     */
+    HJSON(HjsonCodec::new),
+
+    /**
+     * {@link PropyleneCodec}.
+     */
+    PROPYLENE(() -> PropyleneCodec.INSTANCE),
+
+    /**
+     * {@link BinaryCodec}.
+     */
+    BINARY(() -> BinaryCodec.INSTANCE);
+
+    private final Supplier<? extends ConfigCodec> codecSupplier;
+
+    BenchmarkCodec(Supplier<? extends ConfigCodec> codecSupplier) {
+        this.codecSupplier = codecSupplier;
+    }
+
+    /**
+     * Creates (or returns the singleton instance of) the codec.
+     *
+     * @return the codec
+     */
+    public @NotNull ConfigCodec create() {
+        return codecSupplier.get();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConfigCodec#encode(ConfigElement, java.io.OutputStream)} and
+ * {@link ConfigCodec#decode(java.io.InputStream)} for every {@link BenchmarkCodec} over every {@link DocumentShape}.
+ * Throughput and sampled latency are reported for each combination; allocation rate is reported by the {@code gc}
+ * profiler enabled in this module's build script.
+ * <p>
+ * Both operations work entirely in memory, so the results reflect the cost of the codec and of the
+ * {@link com.github.steanky.ethylene.core.Graph} transformations it performs rather than the cost of IO.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+    @Param
+    public BenchmarkCodec codec;
+
+    @Param
+    public DocumentShape shape;
+
+    private ConfigCodec configCodec;
+    private ConfigElement document;
+    private byte[] encodedDocument;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configCodec = codec.create();
+        document = shape.generate();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        configCodec.encode(document, output);
+        encodedDocument = output.toByteArray();
+    }
+
+    @Benchmark
+    public ConfigElement decode() throws IOException {
+        return configCodec.decode(new ByteArrayInputStream(encodedDocument));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encode() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(encodedDocument.length);
+        configCodec.encode(document, output);
+        return output;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.processor.ConfigProcessException;
+import com.github.steanky.ethylene.mapper.MappingProcessorSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first {@link MappingProcessorSource#processorFor(com.github.steanky.ethylene.mapper.type.Token)} and
+ * {@code dataFromElement} call made against a freshly built {@link MappingProcessorSource}, whose caches are all
+ * empty. Each invocation uses a new source, so this approximates the cost paid by the first load of a given type.
+ * <p>
+ * Note that some caches (such as the one used by {@link com.github.steanky.ethylene.mapper.type.GenericInfo}) are
+ * global and are therefore only cold for the very first invocation in each fork.
+ *
+ * @see MappingBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ColdMappingBenchmark {
+    @Param
+    public SignatureKind kind;
+
+    @Param({"8", "512"})
+    public int width;
+
+    private ConfigElement element;
+    private MappingProcessorSource source;
+
+    @Setup(Level.Trial)
+    public void setupElement() {
+        element = kind.generate(width);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSource() {
+        source = MappingBenchmark.newSource();
+    }
+
+    @Benchmark
+    public Object dataFromElement() throws ConfigProcessException {
+        return source.processorFor(kind.token()).dataFromElement(element);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.collection.ConfigContainer;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential {@link ConfigContainer#copy()} and {@link ConfigContainer#immutableCopy()} against their
+ * parallel counterparts, {@link ConfigContainer#parallelCopy()} and {@link ConfigContainer#parallelImmutableCopy()},
+ * for every {@link DocumentShape}.
+ * <p>
+ * The parallel variants run on the common {@link java.util.concurrent.ForkJoinPool}, so their results depend on the
+ * number of available cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopyBenchmark {
+    @Param
+    public DocumentShape shape;
+
+    private ConfigNode document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        document = shape.generate();
+    }
+
+    @Benchmark
+    public ConfigContainer copy() {
+        return document.copy();
+    }
+
+    @Benchmark
+    public ConfigContainer parallelCopy() {
+        return document.parallelCopy();
+    }
+
+    @Benchmark
+    public ConfigContainer immutableCopy() {
+        return document.immutableCopy();
+    }
+
+    @Benchmark
+    public ConfigContainer parallelImmutableCopy() {
+        return document.parallelImmutableCopy();
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The different kinds of synthetic document produced by {@link Documents}. Every shape is a top-level
+ * {@link ConfigNode}, contains no null values and only uses homogeneous lists, so that it can be represented by every
+ * supported format.
+ */
+public enum DocumentShape {
+    /**
+     * A handful of scalars, a short list and a single nested node; representative of a typical small config file.
+     */
+    SMALL,
+
+    /**
+     * A single node with several thousand scalar, list and node children.
+     */
+    WIDE,
+
+    /**
+     * A long chain of nested nodes, each of which also contains a few scalars.
+     */
+    DEEP,
+
+    /**
+     * A list of nodes that each reference one of a small number of shared "template" nodes, similar to how YAML
+     * anchors are commonly used to supply defaults.
+     */
+    REFERENCE_HEAVY;
+
+    /**
+     * Convenience method equivalent to calling {@link Documents#generate(DocumentShape)} on this shape.
+     *
+     * @return a new document of this shape
+     */
+    public @NotNull ConfigNode generate() {
+        return Documents.generate(this);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.collection.LinkedConfigNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Shared generator of synthetic documents used by benchmarks. Generation is deterministic: the same
+ * {@link DocumentShape} always produces an equal document, so results are comparable across runs and machines.
+ */
+public final class Documents {
+    /**
+     * The number of direct children of the root node of a {@link DocumentShape#WIDE} document.
+     */
+    public static final int WIDE_SIZE = 5000;
+
+    /**
+     * The nesting depth of a {@link DocumentShape#DEEP} document.
+     */
+    public static final int DEEP_DEPTH = 64;
+
+    /**
+     * The number of distinct shared nodes in a {@link DocumentShape#REFERENCE_HEAVY} document.
+     */
+    public static final int TEMPLATE_COUNT = 16;
+
+    /**
+     * The number of nodes referencing a shared template in a {@link DocumentShape#REFERENCE_HEAVY} document.
+     */
+    public static final int REFERENCE_COUNT = 1024;
+
+    private static final long SEED = 0x5EED_E7A1L;
+
+    private Documents() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Generates a new, mutable document of the given shape.
+     *
+     * @param shape the shape of document to generate
+     * @return a new document
+     */
+    public static @NotNull ConfigNode generate(@NotNull DocumentShape shape) {
+        Objects.requireNonNull(shape);
+
+        Random random = new Random(SEED);
+        return switch (shape) {
+            case SMALL -> small(random);
+            case WIDE -> wide(random);
+            case DEEP -> deep(random);
+            case REFERENCE_HEAVY -> referenceHeavy(random);
+        };
+    }
+
+    private static ConfigNode small(Random random) {
+        ConfigNode root = new LinkedConfigNode(8);
+        root.putString("name", "example");
+        root.putNumber("version", 3);
+        root.putBoolean("enabled", true);
+        root.putNumber("ratio", 0.75);
+        root.put("tags", stringList(random, 4));
+
+        ConfigNode server = new LinkedConfigNode(3);
+        server.putString("host", "localhost");
+        server.putNumber("port", 25565);
+        server.putNumber("timeout", 30000);
+        root.put("server", server);
+        return root;
+    }
+
+    private static ConfigNode wide(Random random) {
+        ConfigNode root = new LinkedConfigNode(WIDE_SIZE);
+        for (int i = 0; i < WIDE_SIZE; i++) {
+            String key = "key_" + i;
+            switch (i % 5) {
+                case 0 -> root.putString(key, randomString(random));
+                case 1 -> root.putNumber(key, random.nextInt());
+                case 2 -> root.putNumber(key, random.nextDouble());
+                case 3 -> root.put(key, stringList(random, 3));
+                default -> root.put(key, entry(random, i));
+            }
+        }
+
+        return root;
+    }
+
+    private static ConfigNode deep(Random random) {
+        ConfigNode root = new LinkedConfigNode(4);
+        ConfigNode current = root;
+        for (int i = 0; i < DEEP_DEPTH; i++) {
+            current.putNumber("depth", i);
+            current.putString("label", randomString(random));
+            current.putBoolean("leaf", i == DEEP_DEPTH - 1);
+
+            if (i < DEEP_DEPTH - 1) {
+                ConfigNode child = new LinkedConfigNode(4);
+                current.put("child", child);
+                current = child;
+            }
+        }
+
+        return root;
+    }
+
+    private static ConfigNode referenceHeavy(Random random) {
+        ConfigNode[] templates = new ConfigNode[TEMPLATE_COUNT];
+        for (int i = 0; i < templates.length; i++) {
+            ConfigNode template = entry(random, i);
+            template.put("permissions", stringList(random, 4));
+            templates[i] = template;
+        }
+
+        ConfigList entries = new ArrayConfigList(REFERENCE_COUNT);
+        for (int i = 0; i < REFERENCE_COUNT; i++) {
+            ConfigNode entry = new LinkedConfigNode(3);
+            entry.putString("name", randomString(random));
+            entry.putNumber("id", i);
+
+            //the same instance is referenced many times
+            entry.put("defaults", templates[i % templates.length]);
+            entries.add(entry);
+        }
+
+        ConfigNode root = new LinkedConfigNode(1);
+        root.put("entries", entries);
+        return root;
+    }
+
+    private static ConfigNode entry(Random random, int id) {
+        ConfigNode node = new LinkedConfigNode(4);
+        node.putNumber("id", id);
+        node.putString("type", randomString(random));
+        node.putNumber("weight", random.nextDouble());
+        node.putBoolean("active", random.nextBoolean());
+        return node;
+    }
+
+    private static ConfigList stringList(Random random, int size) {
+        ConfigList list = new ArrayConfigList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(ConfigPrimitive.of(randomString(random)));
+        }
+
+        return list;
+    }
+
+    private static String randomString(Random random) {
+        char[] characters = new char[4 + random.nextInt(12)];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(26));
+        }
+
+        return new String(characters);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.processor.ConfigProcessException;
+import com.github.steanky.ethylene.core.processor.ConfigProcessor;
+import com.github.steanky.ethylene.mapper.MappingConfigProcessor;
+import com.github.steanky.ethylene.mapper.MappingProcessorSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures warm {@link MappingConfigProcessor#dataFromElement(ConfigElement)} and
+ * {@link MappingConfigProcessor#elementFromData(Object)} calls for every {@link SignatureKind}. The processor is
+ * created and exercised once before measurement, so all of its signature and type caches are populated.
+ *
+ * @see ColdMappingBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+    @Param
+    public SignatureKind kind;
+
+    @Param({"8", "512"})
+    public int width;
+
+    private ConfigProcessor<Object> processor;
+    private ConfigElement element;
+    private Object data;
+
+    static MappingProcessorSource newSource() {
+        return MappingProcessorSource.builder().withStandardSignatures().withStandardTypeImplementations().build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() throws ConfigProcessException {
+        processor = (ConfigProcessor<Object>) newSource().processorFor(kind.token());
+        element = kind.generate(width);
+
+        data = processor.dataFromElement(element);
+        processor.elementFromData(data);
+    }
+
+    @Benchmark
+    public Object dataFromElement() throws ConfigProcessException {
+        return processor.dataFromElement(element);
+    }
+
+    @Benchmark
+    public ConfigElement elementFromData() throws ConfigProcessException {
+        return processor.elementFromData(data);
+    }
+}
\ No newline at end of file
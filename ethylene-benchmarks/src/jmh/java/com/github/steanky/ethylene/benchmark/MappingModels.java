@@ -0,0 +1,68 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.mapper.annotation.Builder;
+import com.github.steanky.ethylene.mapper.annotation.Include;
+import com.github.steanky.ethylene.mapper.annotation.Name;
+import com.github.steanky.ethylene.mapper.signature.constructor.ConstructorSignature;
+import com.github.steanky.ethylene.mapper.signature.field.FieldSignature;
+import com.github.steanky.ethylene.mapper.signature.record.RecordSignature;
+
+import java.util.List;
+
+/**
+ * Data classes mapped by {@link MappingBenchmark} and {@link ColdMappingBenchmark}. Each class has the same set of
+ * properties, but is built using a different kind of signature.
+ */
+public final class MappingModels {
+    private MappingModels() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Built using {@link FieldSignature}.
+     */
+    @Include
+    public static class FieldData {
+        public String name;
+        public int id;
+        public double weight;
+        public boolean active;
+        public List<String> tags;
+
+        public FieldData() {
+        }
+    }
+
+    /**
+     * Built using {@link RecordSignature}.
+     *
+     * @param name the name
+     * @param id the id
+     * @param weight the weight
+     * @param active whether this data is active
+     * @param tags a list of tags
+     */
+    public record RecordData(String name, int id, double weight, boolean active, List<String> tags) {
+    }
+
+    /**
+     * Built using {@link ConstructorSignature}.
+     */
+    @Builder(Builder.BuilderType.CONSTRUCTOR)
+    public static class ConstructorData {
+        public final String name;
+        public final int id;
+        public final double weight;
+        public final boolean active;
+        public final List<String> tags;
+
+        public ConstructorData(@Name("name") String name, @Name("id") int id, @Name("weight") double weight,
+            @Name("active") boolean active, @Name("tags") List<String> tags) {
+            this.name = name;
+            this.id = id;
+            this.weight = weight;
+            this.active = active;
+            this.tags = tags;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.github.steanky.ethylene.benchmark;
+
+import com.github.steanky.ethylene.benchmark.MappingModels.*;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.collection.LinkedConfigNode;
+import com.github.steanky.ethylene.mapper.type.Token;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The kinds of signature exercised by mapping benchmarks. Each constant knows the {@link Token} of the type it maps
+ * and how to generate a matching {@link ConfigElement} of a given width.
+ */
+public enum SignatureKind {
+    /**
+     * A single {@link FieldData}, whose tag list has {@code width} entries.
+     */
+    FIELD(new Token<FieldData>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            return data(0, width);
+        }
+    },
+
+    /**
+     * A single {@link RecordData}, whose tag list has {@code width} entries.
+     */
+    RECORD(new Token<RecordData>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            return data(0, width);
+        }
+    },
+
+    /**
+     * A single {@link ConstructorData}, whose tag list has {@code width} entries.
+     */
+    CONSTRUCTOR(new Token<ConstructorData>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            return data(0, width);
+        }
+    },
+
+    /**
+     * A list of {@code width} records.
+     */
+    COLLECTION(new Token<List<RecordData>>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            return dataList(width);
+        }
+    },
+
+    /**
+     * A map of {@code width} string keys to records. Maps are represented as lists of key-value nodes.
+     */
+    MAP(new Token<Map<String, RecordData>>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            ConfigList entries = new ArrayConfigList(width);
+            for (int i = 0; i < width; i++) {
+                ConfigNode entry = new LinkedConfigNode(2);
+                entry.putString("key", "key_" + i);
+                entry.put("value", data(i, DEFAULT_TAGS));
+                entries.add(entry);
+            }
+
+            return entries;
+        }
+    },
+
+    /**
+     * An array of {@code width} records.
+     */
+    ARRAY(new Token<RecordData[]>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            return dataList(width);
+        }
+    },
+
+    /**
+     * A list of {@code width} collections, each containing a few records. The element type of the outer list is itself
+     * parameterized, and its abstract raw type must be resolved to an implementation.
+     */
+    GENERIC(new Token<List<Collection<RecordData>>>() {}) {
+        @Override
+        public @NotNull ConfigElement generate(int width) {
+            ConfigList list = new ArrayConfigList(width);
+            for (int i = 0; i < width; i++) {
+                list.add(dataList(DEFAULT_TAGS));
+            }
+
+            return list;
+        }
+    };
+
+    private static final int DEFAULT_TAGS = 4;
+
+    private final Token<?> token;
+
+    SignatureKind(Token<?> token) {
+        this.token = token;
+    }
+
+    /**
+     * The type mapped by this kind of signature.
+     *
+     * @return the type token
+     */
+    public @NotNull Token<?> token() {
+        return token;
+    }
+
+    /**
+     * Generates an element which can be mapped to {@link SignatureKind#token()}.
+     *
+     * @param width the width of the element; see the documentation of each constant for its meaning
+     * @return a new element
+     */
+    public abstract @NotNull ConfigElement generate(int width);
+
+    private static ConfigNode data(int id, int tagCount) {
+        ConfigList tags = new ArrayConfigList(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.addString("tag_" + i);
+        }
+
+        ConfigNode node = new LinkedConfigNode(5);
+        node.putString("name", "data_" + id);
+        node.putNumber("id", id);
+        node.putNumber("weight", id / 2D);
+        node.putBoolean("active", id % 2 == 0);
+        node.put("tags", tags);
+        return node;
+    }
+
+    private static ConfigList dataList(int size) {
+        ConfigList list = new ArrayConfigList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(data(i, DEFAULT_TAGS));
+        }
+
+        return list;
+    }
+}
\ No newline at end of file
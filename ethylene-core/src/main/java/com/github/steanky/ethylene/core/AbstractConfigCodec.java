@@ -1,9 +1,12 @@
 package com.github.steanky.ethylene.core;
 
 import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.CompactConfigList;
+import com.github.steanky.ethylene.core.collection.CompactConfigNode;
 import com.github.steanky.ethylene.core.collection.ConfigList;
 import com.github.steanky.ethylene.core.collection.ConfigNode;
 import com.github.steanky.ethylene.core.collection.LinkedConfigNode;
+import com.github.steanky.ethylene.core.util.StringPool;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -12,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * <p>This class contains functionality common to {@link ConfigCodec} implementations.</p>
@@ -30,6 +34,7 @@ import java.util.*;
 public abstract class AbstractConfigCodec implements ConfigCodec {
     private final int graphEncodeOptions;
     private final int graphDecodeOptions;
+    private final boolean poolStrings;
 
     /**
      * The shared {@link Graph.InputEntry}, used to reduce object allocation during graph traversal. The value is
@@ -41,15 +46,40 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
     protected static final ThreadLocal<Graph.InputEntry<String, Object, ConfigElement>> INPUT_ENTRY =
         ThreadLocal.withInitial(Graph::nullEntry);
 
+    /**
+     * The shared {@link Graph.Context}, used to reuse graph nodes, outputs and other traversal state across calls to
+     * {@link ConfigCodec#encode(ConfigElement, OutputStream)} and {@link ConfigCodec#decode(InputStream)}. The value is
+     * thread-local, as contexts are not thread-safe. Subclasses implementing their own
+     * {@link AbstractConfigCodec#makeDecodeNode(Object)} or similar should consider creating nodes and outputs using
+     * this context.
+     */
+    protected static final ThreadLocal<Graph.Context> GRAPH_CONTEXT = ThreadLocal.withInitial(Graph::context);
+
+    //whether containers created during decoding on the current thread should be immutable
+    private static final ThreadLocal<Boolean> DECODE_IMMUTABLE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     /**
      * Constructor, for use by implementing subclasses.
      *
      * @param graphEncodeOptions the {@link Graph.Options} bit flags used during encoding
      * @param graphDecodeOptions the bit flags using during decoding
+     * @param poolStrings        whether keys and short string values should be deduplicated during decoding, using
+     *                           the current thread's {@link StringPool}
      */
-    protected AbstractConfigCodec(int graphEncodeOptions, int graphDecodeOptions) {
+    protected AbstractConfigCodec(int graphEncodeOptions, int graphDecodeOptions, boolean poolStrings) {
         this.graphEncodeOptions = graphEncodeOptions;
         this.graphDecodeOptions = graphDecodeOptions;
+        this.poolStrings = poolStrings;
+    }
+
+    /**
+     * Constructor, for use by implementing subclasses. Keys and short string values are deduplicated during decoding.
+     *
+     * @param graphEncodeOptions the {@link Graph.Options} bit flags used during encoding
+     * @param graphDecodeOptions the bit flags using during decoding
+     */
+    protected AbstractConfigCodec(int graphEncodeOptions, int graphDecodeOptions) {
+        this(graphEncodeOptions, graphDecodeOptions, true);
     }
 
     @Override
@@ -67,7 +97,7 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
             }
 
             writeObject(Graph.process(element, this::makeEncodeNode, this::isContainer, this::serializeElement,
-                graphEncodeOptions), output);
+                Function.identity(), GRAPH_CONTEXT.get(), graphEncodeOptions), output);
         }
         finally {
             // always clear the entry after use: old data would never be accessed, but wouldn't get GC'd as long as the
@@ -84,13 +114,37 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
             Objects.requireNonNull(input);
 
             return Graph.process(readObject(input), this::makeDecodeNode, this::isContainer, this::deserializeObject,
-                graphDecodeOptions);
+                Function.identity(), GRAPH_CONTEXT.get(), graphDecodeOptions);
         }
         finally {
             localEntry.clear();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation decodes using {@link AbstractConfigCodec#decode(InputStream)}, during which
+     * {@link AbstractConfigCodec#makeDecodeMap(int)} and {@link AbstractConfigCodec#makeDecodeCollection(int)} create
+     * {@link CompactConfigNode}s and {@link CompactConfigList}s, so no intermediate mutable tree is built. If the
+     * decoded element is nonetheless not immutable (for example, because a subclass created some containers itself),
+     * it is copied.
+     */
+    @Override
+    public @NotNull ConfigElement decodeImmutable(@NotNull InputStream input) throws IOException {
+        Boolean previous = DECODE_IMMUTABLE.get();
+        DECODE_IMMUTABLE.set(Boolean.TRUE);
+
+        ConfigElement element;
+        try {
+            element = decode(input);
+        } finally {
+            DECODE_IMMUTABLE.set(previous);
+        }
+
+        return element.isContainer() ? element.asContainer().immutableCopy() : element;
+    }
+
     /**
      * Reads an object from the given {@link InputStream}, which should contain configuration data in a particular
      * format.
@@ -114,13 +168,15 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
      */
     protected @NotNull Graph.Node<Object, ConfigElement, String> makeDecodeNode(@NotNull Object target) {
         Graph.InputEntry<String, Object, ConfigElement> localEntry = INPUT_ENTRY.get();
+        Graph.Context context = GRAPH_CONTEXT.get();
 
         if (target instanceof Map<?, ?> map) {
             if (map.isEmpty()) {
-                return Graph.emptyNode(makeDecodeMap(0));
+                return Graph.emptyNode(DECODE_IMMUTABLE.get() ? context.output(ConfigNode.EMPTY,
+                    Graph.emptyAccumulator()) : makeDecodeMap(0));
             }
 
-            return Graph.node(new Iterator<>() {
+            return context.node(new Iterator<>() {
                 private final Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
 
                 @Override
@@ -139,10 +195,11 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
             }, makeDecodeMap(map.size()));
         } else if (target instanceof Collection<?> collection) {
             if (collection.isEmpty()) {
-                return Graph.emptyNode(makeDecodeCollection(0));
+                return Graph.emptyNode(DECODE_IMMUTABLE.get() ? context.output(ConfigList.EMPTY,
+                    Graph.emptyAccumulator()) : makeDecodeCollection(0));
             }
 
-            return Graph.node(new Iterator<>() {
+            return context.node(new Iterator<>() {
                 private final Iterator<?> backing = collection.iterator();
 
                 @Override
@@ -159,10 +216,11 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
         } else if (target.getClass().isArray()) {
             Object[] array = (Object[]) target;
             if (array.length == 0) {
-                return Graph.emptyNode(makeDecodeCollection(0));
+                return Graph.emptyNode(DECODE_IMMUTABLE.get() ? context.output(ConfigList.EMPTY,
+                    Graph.emptyAccumulator()) : makeDecodeCollection(0));
             }
 
-            return Graph.node(new Iterator<>() {
+            return context.node(new Iterator<>() {
                 private int i = 0;
 
                 @Override
@@ -182,38 +240,91 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
     }
 
     /**
-     * Deserializes a given object, as it is typically produced by a particular format deserializer.
+     * Deserializes a given object, as it is typically produced by a particular format deserializer. If this codec pools
+     * strings, equal strings may be deserialized to the same {@link ConfigPrimitive} instance.
      *
      * @param object the object to deserialize
      * @return the resulting ConfigElement
      * @throws IllegalArgumentException if object is not a valid type for {@link ConfigPrimitive}
      */
     protected @NotNull ConfigElement deserializeObject(@Nullable Object object) {
+        if (poolStrings && object instanceof String string) {
+            return StringPool.local().primitive(string);
+        }
+
         return ConfigPrimitive.of(object);
     }
 
+    /**
+     * Gets the key which should be used for an entry in a decoded {@link ConfigNode}. If this codec pools strings, this
+     * returns the pooled instance of the key.
+     *
+     * @param key the key, as read by the format deserializer
+     * @return the key to use
+     */
+    protected @NotNull String decodeKey(@NotNull String key) {
+        return poolStrings ? StringPool.local().string(key) : key;
+    }
+
     /**
      * Creates a {@link Graph.Output} corresponding to a map. May be overridden by subclasses wishing to further
-     * customize output {@link ConfigNode} generation during decoding.
+     * customize output {@link ConfigNode} generation during decoding. When called by
+     * {@link AbstractConfigCodec#decodeImmutable(InputStream)}, the default implementation creates a
+     * {@link CompactConfigNode}.
      *
      * @param size the size of the map; this is a hint for more efficient construction and may be ignored
      * @return a new output object linked to a ConfigNode
      */
     protected @NotNull Graph.Output<ConfigElement, String> makeDecodeMap(int size) {
+        if (DECODE_IMMUTABLE.get()) {
+            CompactConfigNode.Builder builder = CompactConfigNode.builder(size);
+            return GRAPH_CONTEXT.get().output(builder.node(), new NodeBuilderAccumulator(builder));
+        }
+
         ConfigNode node = new LinkedConfigNode(size);
-        return Graph.output(node, (k, v, b) -> node.put(k, v));
+        return GRAPH_CONTEXT.get().output(node, (k, v, b) -> node.put(decodeKey(k), v));
     }
 
     /**
      * Creates a {@link Graph.Output} corresponding to a list. May be overriden by subclasses withing to further
-     * customize {@link ConfigList} generation during decoding.
+     * customize {@link ConfigList} generation during decoding. When called by
+     * {@link AbstractConfigCodec#decodeImmutable(InputStream)}, the default implementation creates a
+     * {@link CompactConfigList}.
      *
      * @param size the size of the map; this is a hint for more efficient construction and may be ignored
      * @return a new output object linked to a ConfigList
      */
     protected @NotNull Graph.Output<ConfigElement, String> makeDecodeCollection(int size) {
+        if (DECODE_IMMUTABLE.get()) {
+            CompactConfigList.Builder builder = CompactConfigList.builder(size);
+            return GRAPH_CONTEXT.get().output(builder.list(), new ListBuilderAccumulator(builder));
+        }
+
         ConfigList list = new ArrayConfigList(size);
-        return Graph.output(list, (k, v, b) -> list.add(v));
+        return GRAPH_CONTEXT.get().output(list, (k, v, b) -> list.add(v));
+    }
+
+    /**
+     * Completes a container created by {@link AbstractConfigCodec#makeDecodeMap(int)} or
+     * {@link AbstractConfigCodec#makeDecodeCollection(int)}, once every entry has been added to it. Subclasses which
+     * populate these outputs themselves, rather than through {@link Graph}, should call this as each container closes,
+     * and use the returned element in place of the output data. When decoding immutably, this releases any excess
+     * capacity, and replaces empty containers with the shared {@link ConfigNode#EMPTY} or {@link ConfigList#EMPTY}.
+     *
+     * @param output the output of the completed container
+     * @return the element representing the completed container
+     */
+    protected @NotNull ConfigElement finishDecodeContainer(@NotNull Graph.Output<ConfigElement, String> output) {
+        output.accumulator().finish();
+
+        ConfigElement data = output.data();
+        if (data instanceof CompactConfigNode node && node.isEmpty()) {
+            return ConfigNode.EMPTY;
+        } else if (data instanceof CompactConfigList list && list.isEmpty()) {
+            return ConfigList.EMPTY;
+        }
+
+        return data;
     }
 
     /**
@@ -237,12 +348,15 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
      * @return a new graph node
      */
     protected @NotNull Graph.Node<ConfigElement, Object, String> makeEncodeNode(@NotNull ConfigElement target) {
+        Graph.Context context = GRAPH_CONTEXT.get();
         if (target.isNode()) {
             ConfigNode elementNode = target.asNode();
-            return Graph.node(Graph.iterator(elementNode.entryCollection().iterator()), makeEncodeMap(elementNode.size()));
+            return context.node(context.iterator(elementNode.entryCollection().iterator()),
+                makeEncodeMap(elementNode.size()));
         } else if (target.isList()) {
             ConfigList elementList = target.asList();
-            return Graph.node(Graph.iterator(elementList.entryCollection().iterator()), makeEncodeCollection(elementList.size()));
+            return context.node(context.iterator(elementList.entryCollection().iterator()),
+                makeEncodeCollection(elementList.size()));
         }
 
         throw new IllegalArgumentException("Invalid input node type " + target.getClass().getTypeName());
@@ -283,7 +397,7 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
      */
     protected @NotNull Graph.Output<Object, String> makeEncodeMap(int size) {
         Map<String, Object> map = new LinkedHashMap<>(size);
-        return Graph.output(map, (k, v, b) -> map.put(k, v));
+        return GRAPH_CONTEXT.get().output(map, (k, v, b) -> map.put(k, v));
     }
 
     /**
@@ -295,6 +409,43 @@ public abstract class AbstractConfigCodec implements ConfigCodec {
      */
     protected @NotNull Graph.Output<Object, String> makeEncodeCollection(int size) {
         Collection<Object> collection = new ArrayList<>(size);
-        return Graph.output(collection, (k, v, b) -> collection.add(v));
+        return GRAPH_CONTEXT.get().output(collection, (k, v, b) -> collection.add(v));
+    }
+
+    //builders are completed once Graph (or a streaming subclass) reports that the container has no more entries
+    private final class NodeBuilderAccumulator implements Graph.Accumulator<String, ConfigElement> {
+        private final CompactConfigNode.Builder builder;
+
+        private NodeBuilderAccumulator(CompactConfigNode.Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void accept(String key, ConfigElement out, boolean circular) {
+            builder.put(decodeKey(key), out);
+        }
+
+        @Override
+        public void finish() {
+            builder.build();
+        }
+    }
+
+    private static final class ListBuilderAccumulator implements Graph.Accumulator<String, ConfigElement> {
+        private final CompactConfigList.Builder builder;
+
+        private ListBuilderAccumulator(CompactConfigList.Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void accept(String key, ConfigElement out, boolean circular) {
+            builder.add(out);
+        }
+
+        @Override
+        public void finish() {
+            builder.build();
+        }
     }
-}
\ No newline at end of file
+}
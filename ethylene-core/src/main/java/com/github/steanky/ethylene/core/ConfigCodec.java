@@ -1,13 +1,25 @@
 package com.github.steanky.ethylene.core;
 
+import com.github.steanky.ethylene.core.collection.CompactConfigNode;
+import com.github.steanky.ethylene.core.collection.ConfigContainer;
 import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.collection.Immutable;
+import com.github.steanky.ethylene.core.event.ConfigEventHandler;
+import com.github.steanky.ethylene.core.event.ConfigEventReader;
+import com.github.steanky.ethylene.core.event.ConfigEventWriter;
+import com.github.steanky.ethylene.core.event.ConfigEvents;
+import com.github.steanky.ethylene.core.path.ConfigPath;
+import com.github.steanky.ethylene.core.util.BufferUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -43,6 +55,152 @@ public interface ConfigCodec {
      */
     @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException;
 
+    /**
+     * <i>Decodes</i> a {@link ConfigElement} object from the remaining bytes of a {@link ByteBuffer}. The buffer may be
+     * a direct or memory-mapped buffer; this method is used when decoding files whose contents are mapped into memory.
+     * The position of the buffer after this method returns is unspecified.
+     * <p>
+     * The default implementation adapts the buffer to an {@link InputStream} and calls
+     * {@link ConfigCodec#decode(InputStream)}. Implementations that can read from a buffer directly should override
+     * this method.
+     *
+     * @param input the ByteBuffer to read from
+     * @return a ConfigElement object containing the data
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default @NotNull ConfigElement decode(@NotNull ByteBuffer input) throws IOException {
+        return decode(BufferUtils.asInputStream(input));
+    }
+
+    /**
+     * <i>Decodes</i> an immutable {@link ConfigElement} from an {@link InputStream}. Every container in the result is
+     * {@link Immutable}; nodes are generally {@link CompactConfigNode}s, which use considerably less memory than mutable
+     * nodes. This is preferable for configuration that is retained for a long time but never modified.
+     * <p>
+     * The default implementation decodes using {@link ConfigCodec#decode(InputStream)}, then copies the result using
+     * {@link ConfigContainer#immutableCopy()}. Implementations that can construct immutable containers directly should
+     * override this method.
+     * <p>
+     * This method must always close the given {@link InputStream}, regardless of if an exception is thrown.
+     *
+     * @param input the InputStream to read from
+     * @return an immutable ConfigElement containing the data
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default @NotNull ConfigElement decodeImmutable(@NotNull InputStream input) throws IOException {
+        ConfigElement element = decode(input);
+        return element.isContainer() ? element.asContainer().immutableCopy() : element;
+    }
+
+    /**
+     * Creates a {@link ConfigEventReader} which reads the events making up the document contained in the given
+     * {@link InputStream}. Closing the reader closes the stream.
+     * <p>
+     * The default implementation decodes the entire document using {@link ConfigCodec#decode(InputStream)}, then reads
+     * the resulting element using {@link ConfigEvents#reader(ConfigElement)}. Implementations that can produce events
+     * incrementally should override this method, so that large documents can be processed without being fully
+     * materialized.
+     *
+     * @param input the InputStream to read from
+     * @return a new event reader
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default @NotNull ConfigEventReader eventReader(@NotNull InputStream input) throws IOException {
+        return ConfigEvents.reader(decode(input));
+    }
+
+    /**
+     * <i>Decodes</i> the document contained in the given {@link InputStream}, sending each event to the provided
+     * {@link ConfigEventHandler} as it is read.
+     * <p>
+     * This method must always close the given {@link InputStream}, regardless of if an exception is thrown. The default
+     * implementation pipes the events produced by {@link ConfigCodec#eventReader(InputStream)} to the handler.
+     *
+     * @param input   the InputStream to read from
+     * @param handler the handler to receive events
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default void decode(@NotNull InputStream input, @NotNull ConfigEventHandler handler) throws IOException {
+        Objects.requireNonNull(handler);
+
+        try (input; ConfigEventReader reader = eventReader(input)) {
+            ConfigEvents.pipe(reader, handler);
+        }
+    }
+
+    /**
+     * <i>Decodes</i> only the element located at the given {@link ConfigPath} from the {@link InputStream}. Paths are
+     * followed in the same way as {@link ConfigElement#at(ConfigPath)}.
+     * <p>
+     * This method must always close the given {@link InputStream}, regardless of if an exception is thrown. The default
+     * implementation decodes the whole document, then calls {@link ConfigElement#at(ConfigPath)}. Codecs which
+     * {@link ConfigCodec#supportsStreaming() support streaming} should override this method to skip the parts of the
+     * document that are not on the path, for example by using
+     * {@link ConfigEvents#read(ConfigEventReader, ConfigPath)}.
+     *
+     * @param input the InputStream to read from
+     * @param path  the path of the element to decode
+     * @return the element at the given path, or null if no such element exists
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default @Nullable ConfigElement decode(@NotNull InputStream input, @NotNull ConfigPath path) throws IOException {
+        Objects.requireNonNull(path);
+        return decode(input).at(path);
+    }
+
+    /**
+     * Creates a {@link ConfigEventWriter} which <i>encodes</i> the events it receives to the given
+     * {@link OutputStream}. Closing the writer finishes the document and closes the stream.
+     * <p>
+     * The default implementation builds a {@link ConfigElement} from the events, then encodes it using
+     * {@link ConfigCodec#encode(ConfigElement, OutputStream)} when closed; see
+     * {@link ConfigEvents#treeWriter(ConfigCodec, OutputStream)}. Implementations that can write events incrementally
+     * should override this method.
+     *
+     * @param output the OutputStream to write to
+     * @return a new event writer
+     * @throws IOException          if an IO error occurred
+     * @throws NullPointerException if any of the arguments are null
+     */
+    default @NotNull ConfigEventWriter eventWriter(@NotNull OutputStream output) throws IOException {
+        return ConfigEvents.treeWriter(this, output);
+    }
+
+    /**
+     * Determines if this codec reads and writes events incrementally, that is, if
+     * {@link ConfigCodec#eventReader(InputStream)} and {@link ConfigCodec#eventWriter(OutputStream)} are able to
+     * process documents without materializing them in memory. This is used to select the most efficient strategy when
+     * converting data between codecs.
+     * <p>
+     * The default implementation returns {@code false}. Implementations that override the event methods should
+     * override this method too.
+     *
+     * @return true if this codec supports streaming events, false otherwise
+     */
+    default boolean supportsStreaming() {
+        return false;
+    }
+
+    /**
+     * Determines if {@link ConfigCodec#decode(ByteBuffer)} reads directly from memory-mapped buffers, without
+     * retaining them once it returns. Files are only mapped into memory before being decoded if this returns true;
+     * otherwise they are read into a heap buffer, since a mapping that is only adapted back into an
+     * {@link InputStream} gains nothing, and keeps the file mapped until it is garbage collected (which prevents the
+     * file from being rewritten on some platforms).
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return true if this codec benefits from decoding mapped buffers, false otherwise
+     */
+    default boolean supportsMappedBuffers() {
+        return false;
+    }
+
     /**
      * <p>Returns a set of strings representing the preferred file extensions for this codec. The set may be empty,
      * in which case no extension should be preferred. Codecs may report any number of extensions. Users of this codec
@@ -86,4 +244,4 @@ public interface ConfigCodec {
     default @NotNull Set<ElementType> supportedTopLevelTypes() {
         return EnumSet.of(ElementType.NODE);
     }
-}
+}
\ No newline at end of file
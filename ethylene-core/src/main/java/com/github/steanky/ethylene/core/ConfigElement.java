@@ -801,6 +801,42 @@ public interface ConfigElement {
         throw new ConfigProcessException("This ConfigElement is not a number");
     }
 
+    /**
+     * Converts this ConfigElement into a long, as if by calling {@link Number#longValue()} on the result of
+     * {@link ConfigElement#asNumber()}. Implementations which store numbers unboxed should override this method to avoid
+     * creating an intermediate Number.
+     *
+     * @return this element as a long
+     * @throws IllegalStateException if this element cannot be converted into a Number
+     */
+    default long asLong() {
+        return asNumber().longValue();
+    }
+
+    /**
+     * Converts this ConfigElement into an int, as if by calling {@link Number#intValue()} on the result of
+     * {@link ConfigElement#asNumber()}. Implementations which store numbers unboxed should override this method to avoid
+     * creating an intermediate Number.
+     *
+     * @return this element as an int
+     * @throws IllegalStateException if this element cannot be converted into a Number
+     */
+    default int asInt() {
+        return asNumber().intValue();
+    }
+
+    /**
+     * Converts this ConfigElement into a double, as if by calling {@link Number#doubleValue()} on the result of
+     * {@link ConfigElement#asNumber()}. Implementations which store numbers unboxed should override this method to
+     * avoid creating an intermediate Number.
+     *
+     * @return this element as a double
+     * @throws IllegalStateException if this element cannot be converted into a Number
+     */
+    default double asDouble() {
+        return asNumber().doubleValue();
+    }
+
     /**
      * Determines if this ConfigElement represents a string.
      *
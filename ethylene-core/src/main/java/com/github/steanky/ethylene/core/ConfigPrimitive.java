@@ -12,8 +12,13 @@ import java.util.Objects;
  * <p>
  * ConfigPrimitive instances are immutable. They may be obtained through calling {@link ConfigPrimitive#of(Object)} with
  * one of the above types as an argument.
+ * <p>
+ * {@link Integer}, {@link Long} and {@link Double} values are stored unboxed, in specialized subclasses. Their values
+ * can be read without allocation through {@link ConfigPrimitive#asInt()}, {@link ConfigPrimitive#asLong()} and
+ * {@link ConfigPrimitive#asDouble()}; {@link ConfigPrimitive#asScalar()} and {@link ConfigPrimitive#asNumber()} box
+ * them on demand.
  */
-public final class ConfigPrimitive implements ConfigElement {
+public sealed class ConfigPrimitive implements ConfigElement {
     /**
      * The shared {@link ConfigPrimitive} containing null.
      */
@@ -44,7 +49,7 @@ public final class ConfigPrimitive implements ConfigElement {
             CACHE = new ConfigPrimitive[(int)(HIGH - LOW + 1)];
             int j = 0;
             for (long i = LOW; i <= HIGH; i++, j++) {
-                CACHE[j] = new ConfigPrimitive(i);
+                CACHE[j] = new LongPrimitive(i);
             }
         }
     }
@@ -58,7 +63,7 @@ public final class ConfigPrimitive implements ConfigElement {
         static {
             CACHE = new ConfigPrimitive[HIGH - LOW + 1];
             for (int i = LOW, j = 0; i <= HIGH; i++, j++) {
-                CACHE[j] = new ConfigPrimitive(i);
+                CACHE[j] = new IntPrimitive(i);
             }
         }
     }
@@ -155,8 +160,11 @@ public final class ConfigPrimitive implements ConfigElement {
         else if(value instanceof Byte b) {
             return of((byte)b);
         }
+        else if(value instanceof Double d) {
+            return of((double)d);
+        }
 
-        //Double, Float, BigInteger?
+        //other numbers, such as Float or BigInteger, have no specialized representation and are stored as-is
         return new ConfigPrimitive(value);
     }
 
@@ -209,7 +217,7 @@ public final class ConfigPrimitive implements ConfigElement {
             return LongCache.CACHE[(int)(value + (-LongCache.LOW))];
         }
 
-        return new ConfigPrimitive(value);
+        return new LongPrimitive(value);
     }
 
     /**
@@ -222,6 +230,24 @@ public final class ConfigPrimitive implements ConfigElement {
             return IntegerCache.CACHE[value + (-IntegerCache.LOW)];
         }
 
+        return new IntPrimitive(value);
+    }
+
+    /**
+     * Primitive double specialization of {@link ConfigPrimitive#of(Object)}. Avoids boxing.
+     * @param value the value from which to create a {@link ConfigPrimitive}
+     * @return a ConfigPrimitive instance
+     */
+    public static @NotNull ConfigPrimitive of(double value) {
+        return new DoublePrimitive(value);
+    }
+
+    /**
+     * Primitive float specialization of {@link ConfigPrimitive#of(Object)}. The value is stored as a {@link Float}.
+     * @param value the value from which to create a {@link ConfigPrimitive}
+     * @return a ConfigPrimitive instance
+     */
+    public static @NotNull ConfigPrimitive of(float value) {
         return new ConfigPrimitive(value);
     }
 
@@ -317,6 +343,16 @@ public final class ConfigPrimitive implements ConfigElement {
         throw new IllegalStateException("Element may not be converted to Number");
     }
 
+    /**
+     * Gets the class of the value wrapped by this primitive. Unlike calling {@link Object#getClass()} on the result of
+     * {@link ConfigPrimitive#asScalar()}, this never boxes the value.
+     *
+     * @return the class of the wrapped value, or null if this primitive wraps null
+     */
+    public @Nullable Class<?> scalarType() {
+        return object == null ? null : object.getClass();
+    }
+
     @Override
     public boolean isString() {
         return object instanceof String || object instanceof Character;
@@ -357,7 +393,8 @@ public final class ConfigPrimitive implements ConfigElement {
         }
 
         if (obj instanceof ConfigPrimitive primitive) {
-            return Objects.equals(object, primitive.object);
+            //use asScalar, specialized subclasses do not store their value in object
+            return Objects.equals(object, primitive.asScalar());
         }
 
         return false;
@@ -410,4 +447,228 @@ public final class ConfigPrimitive implements ConfigElement {
 
         return Objects.toString(object);
     }
-}
\ No newline at end of file
+
+    private static final class IntPrimitive extends ConfigPrimitive {
+        private final int value;
+
+        private IntPrimitive(int value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean asBoolean() {
+            throw new IllegalStateException("Element may not be converted to boolean");
+        }
+
+        @Override
+        public boolean isNumber() {
+            return true;
+        }
+
+        @Override
+        public @NotNull Number asNumber() {
+            return value;
+        }
+
+        @Override
+        public long asLong() {
+            return value;
+        }
+
+        @Override
+        public int asInt() {
+            return value;
+        }
+
+        @Override
+        public double asDouble() {
+            return value;
+        }
+
+        @Override
+        public @NotNull Class<?> scalarType() {
+            return Integer.class;
+        }
+
+        @Override
+        public @NotNull String asString() {
+            throw new IllegalStateException("Element may not be converted to String");
+        }
+
+        @Override
+        public Object asScalar() {
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || (obj instanceof IntPrimitive primitive && primitive.value == value);
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(value);
+        }
+    }
+
+    private static final class LongPrimitive extends ConfigPrimitive {
+        private final long value;
+
+        private LongPrimitive(long value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean asBoolean() {
+            throw new IllegalStateException("Element may not be converted to boolean");
+        }
+
+        @Override
+        public boolean isNumber() {
+            return true;
+        }
+
+        @Override
+        public @NotNull Number asNumber() {
+            return value;
+        }
+
+        @Override
+        public long asLong() {
+            return value;
+        }
+
+        @Override
+        public int asInt() {
+            return (int) value;
+        }
+
+        @Override
+        public double asDouble() {
+            return value;
+        }
+
+        @Override
+        public @NotNull Class<?> scalarType() {
+            return Long.class;
+        }
+
+        @Override
+        public @NotNull String asString() {
+            throw new IllegalStateException("Element may not be converted to String");
+        }
+
+        @Override
+        public Object asScalar() {
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || (obj instanceof LongPrimitive primitive && primitive.value == value);
+        }
+
+        @Override
+        public String toString() {
+            return value + LONG_POSTFIX;
+        }
+    }
+
+    private static final class DoublePrimitive extends ConfigPrimitive {
+        private final double value;
+
+        private DoublePrimitive(double value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean asBoolean() {
+            throw new IllegalStateException("Element may not be converted to boolean");
+        }
+
+        @Override
+        public boolean isNumber() {
+            return true;
+        }
+
+        @Override
+        public @NotNull Number asNumber() {
+            return value;
+        }
+
+        @Override
+        public long asLong() {
+            return (long) value;
+        }
+
+        @Override
+        public int asInt() {
+            return (int) value;
+        }
+
+        @Override
+        public double asDouble() {
+            return value;
+        }
+
+        @Override
+        public @NotNull Class<?> scalarType() {
+            return Double.class;
+        }
+
+        @Override
+        public @NotNull String asString() {
+            throw new IllegalStateException("Element may not be converted to String");
+        }
+
+        @Override
+        public Object asScalar() {
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            //consistent with Double#equals
+            return obj == this || (obj instanceof DoublePrimitive primitive &&
+                Double.doubleToLongBits(primitive.value) == Double.doubleToLongBits(value));
+        }
+
+        @Override
+        public String toString() {
+            return Double.toString(value);
+        }
+    }
+}
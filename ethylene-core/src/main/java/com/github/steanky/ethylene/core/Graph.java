@@ -6,6 +6,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -39,6 +42,13 @@ public final class Graph {
     // sentinel value to indicate no parent object was found during lookup
     private static final Object NO_PARENT = new Object();
 
+    //ancestor chains at most this long are searched linearly; longer chains are indexed by identity
+    private static final int ANCESTOR_INDEX_THRESHOLD = 16;
+
+    //parallel processing stops forking new tasks when this many tasks are queued, or tasks are nested this deeply
+    private static final int PARALLEL_SURPLUS_THRESHOLD = 3;
+    private static final int PARALLEL_MAX_DEPTH = 64;
+
     private Graph() {
         throw new UnsupportedOperationException();
     }
@@ -114,23 +124,144 @@ public final class Graph {
 
         //can't iterate an empty node, so just return its data immediately
         if (isEmpty(rootNode)) {
+            rootNode.output.accumulator.finish();
             return rootNode.output.data;
         }
 
-        boolean circularRefSupport = Options.hasOption(flags, Options.TRACK_REFERENCES);
-        boolean depthFirst = Options.hasOption(flags, Options.DEPTH_FIRST);
-        boolean lazyAccumulation = depthFirst && Options.hasOption(flags, Options.LAZY_ACCUMULATION);
+        if (Options.hasOption(flags, Options.PARALLEL)) {
+            if (Options.hasOption(flags, Options.TRACK_REFERENCES | Options.PRESERVE_SHARED)) {
+                throw new IllegalArgumentException("Parallel processing does not support reference tracking");
+            }
+
+            rootNode.identity = rootInput;
+            return processParallel(rootNode, nodeFunction, containerPredicate, scalarMapper, stackSupplier);
+        }
 
         //don't track node identity if we are not supporting circular references
-        if (circularRefSupport) {
+        if (Options.hasOption(flags, Options.TRACK_REFERENCES | Options.PRESERVE_SHARED)) {
             rootNode.identity = visitKeyMapper.apply(rootInput);
         }
 
-        Deque<Node<TIn, TOut, TKey>> stack = stackSupplier.get();
+        return processSequential(rootNode, nodeFunction, containerPredicate, scalarMapper, visitKeyMapper,
+            stackSupplier, null, flags, null);
+    }
+
+    /**
+     * Processes the given input graph in the same manner as
+     * {@link Graph#process(Object, Function, Predicate, Function, Function, Supplier, int)}, but uses the provided
+     * {@link Context} to hold all traversal state. Nodes, outputs and iterators created through the context will be
+     * returned to it and reused once they are no longer needed, so repeated processing using the same context allocates
+     * very little.
+     * <p>
+     * If the context is already in use (for example, because this method was called from within a node function that
+     * is itself being invoked by a call using the same context), a fresh stack is used instead, and nodes will not be
+     * returned to the context. The {@link Options#PARALLEL} flag causes the context to be ignored entirely.
+     *
+     * @param rootInput          the input object; this is the root of the input graph
+     * @param nodeFunction       the function used to create new {@link Node}s
+     * @param containerPredicate the {@link Predicate} used to determine "container" objects (from which Nodes will be
+     *                           made; true values indicate the object is a container, false indicates it is a scalar)
+     * @param scalarMapper       the function used to map scalar input to scalar output
+     * @param visitKeyMapper     the function used to map input objects to keys used to track reference identity; can be
+     *                           null if references aren't being tracked
+     * @param context            the context holding reusable traversal state
+     * @param flags              the flags which determine traversal and translation behavior; see
+     *                           {@link Graph.Options}
+     * @param <TIn>              the input type
+     * @param <TOut>             the output type
+     * @param <TKey>             the key type
+     * @param <TVisit>           the type of the objects used to track input references
+     * @return the root of the new object graph
+     */
+    public static <TIn, TOut, TKey, TVisit> TOut process(TIn rootInput,
+        @NotNull Function<? super TIn, ? extends Node<TIn, TOut, TKey>> nodeFunction,
+        @NotNull Predicate<? super TIn> containerPredicate, @NotNull Function<? super TIn, ? extends TOut> scalarMapper,
+        Function<? super TIn, ? extends TVisit> visitKeyMapper, @NotNull Context context, int flags) {
+        if (context.inUse || Options.hasOption(flags, Options.PARALLEL)) {
+            return process(rootInput, nodeFunction, containerPredicate, scalarMapper, visitKeyMapper, ArrayDeque::new,
+                flags);
+        }
+
+        if (!containerPredicate.test(rootInput)) {
+            return scalarMapper.apply(rootInput);
+        }
+
+        context.inUse = true;
+        try {
+            Node<TIn, TOut, TKey> rootNode = nodeFunction.apply(rootInput);
+            if (isEmpty(rootNode)) {
+                rootNode.output.accumulator.finish();
+                TOut data = rootNode.output.data;
+                context.release(rootNode);
+                return data;
+            }
+
+            if (Options.hasOption(flags, Options.TRACK_REFERENCES | Options.PRESERVE_SHARED)) {
+                rootNode.identity = visitKeyMapper.apply(rootInput);
+            }
+
+            return processSequential(rootNode, nodeFunction, containerPredicate, scalarMapper, visitKeyMapper, null,
+                context, flags, null);
+        } finally {
+            context.reset();
+        }
+    }
+
+    //processes the graph rooted at rootNode on the calling thread
+    //if context is non-null, it supplies all traversal state, and nodes are released back to it when no longer needed
+    //if parallelContext is non-null, fast exits are reported to it rather than returned
+    @SuppressWarnings("unchecked")
+    private static <TIn, TOut, TKey, TVisit> TOut processSequential(Node<TIn, TOut, TKey> rootNode,
+        Function<? super TIn, ? extends Node<TIn, TOut, TKey>> nodeFunction,
+        Predicate<? super TIn> containerPredicate, Function<? super TIn, ? extends TOut> scalarMapper,
+        Function<? super TIn, ? extends TVisit> visitKeyMapper,
+        Supplier<? extends Deque<Node<TIn, TOut, TKey>>> stackSupplier, Context context, int flags,
+        ParallelContext<TOut> parallelContext) {
+        boolean preserveShared = Options.hasOption(flags, Options.PRESERVE_SHARED);
+        boolean circularRefSupport = preserveShared || Options.hasOption(flags, Options.TRACK_REFERENCES);
+        boolean depthFirst = Options.hasOption(flags, Options.DEPTH_FIRST);
+        boolean lazyAccumulation = depthFirst && Options.hasOption(flags, Options.LAZY_ACCUMULATION);
+
+        //the root node may be released before we're done, so save its output now
+        TOut rootData = rootNode.output.data;
+
+        Deque<Node<TIn, TOut, TKey>> stack;
+        Ancestors<TIn, TOut, TKey> ancestors = null;
+
+        //data of every container seen so far, only used when preserving shared references
+        Map<Object, Object> visited = null;
+
+        if (context != null) {
+            stack = (Deque<Node<TIn, TOut, TKey>>) (Object) context.stack;
+            if (circularRefSupport) {
+                ancestors = (Ancestors<TIn, TOut, TKey>) (Object) context.ancestors;
+            }
+
+            if (preserveShared) {
+                visited = context.visited;
+            }
+        } else {
+            stack = stackSupplier.get();
+            if (circularRefSupport) {
+                ancestors = new Ancestors<>(null);
+            }
+
+            if (preserveShared) {
+                visited = new IdentityHashMap<>();
+            }
+        }
+
+        if (preserveShared) {
+            visited.put(rootNode.identity, rootData);
+        }
+
         stack.push(rootNode);
         while (!stack.isEmpty()) {
             //guaranteed to be non-empty (empty nodes are never added to the stack)
             Node<TIn, TOut, TKey> node = depthFirst ? stack.peek() : stack.pop();
+            if (circularRefSupport) {
+                ancestors.enter(node);
+            }
 
             boolean finished = true;
             while (node.inputIterator.hasNext()) {
@@ -138,6 +269,11 @@ public final class Graph {
 
                 //input indicated we should fast-exit, do so with the provided value
                 if (entry.control == Control.FAST_EXIT) {
+                    if (parallelContext != null) {
+                        parallelContext.exit(entry.fastExitValue);
+                        return null;
+                    }
+
                     return entry.fastExitValue;
                 }
 
@@ -156,30 +292,53 @@ public final class Graph {
                     //handle already-visited non-scalar nodes, to allow proper handling of circular references
                     visit = visitKeyMapper.apply(entryInput);
 
-                    TOut parent = node.parentWithKey(visit);
-                    if (parent != NO_PARENT) {
-                        /*
-                        already-visited references are immediately added to the accumulator. if these references are
-                        nodes, their output might not have been fully constructed yet. it might not even be possible to
-                        ensure that it is constructed, in the case of circular references. therefore, immediately add
-                        them to the accumulator, and let it know the reference is circular
-                         */
-                        node.output.accumulator.accept(entryKey, parent, true);
-                        continue;
+                    if (preserveShared) {
+                        Object seen = visited.getOrDefault(visit, NO_PARENT);
+                        if (seen != NO_PARENT) {
+                            //every ancestor has been visited, so we only need to check for circularity on a hit
+                            boolean circular = ancestors.find(node, visit) != NO_PARENT;
+                            node.output.accumulator.accept(entryKey, (TOut) seen, circular);
+                            continue;
+                        }
+                    } else {
+                        TOut parent = ancestors.find(node, visit);
+                        if (parent != NO_PARENT) {
+                            /*
+                            already-visited references are immediately added to the accumulator. if these references
+                            are nodes, their output might not have been fully constructed yet. it might not even be
+                            possible to ensure that it is constructed, in the case of circular references. therefore,
+                            immediately add them to the accumulator, and let it know the reference is circular
+                             */
+                            node.output.accumulator.accept(entryKey, parent, true);
+                            continue;
+                        }
                     }
                 }
 
                 Node<TIn, TOut, TKey> newNode = nodeFunction.apply(entryInput);
+                if (parallelContext != null) {
+                    descend(node, newNode, entryInput);
+                }
+
                 if (circularRefSupport) {
                     newNode.parent = node;
                     newNode.identity = visit;
+
+                    if (preserveShared) {
+                        visited.put(visit, newNode.output.data);
+                    }
                 }
 
                 if (isEmpty(newNode)) {
                     //call the accumulator right away, empty nodes cannot have children
+                    newNode.output.accumulator.finish();
                     node.output.accumulator.accept(entryKey, newNode.output.data, false);
 
                     //don't bother pushing empty nodes to the stack, they cannot be explored
+                    if (context != null) {
+                        context.release(newNode);
+                    }
+
                     continue;
                 }
 
@@ -204,6 +363,11 @@ public final class Graph {
                 }
             }
 
+            if (finished) {
+                //every entry of this node has been accumulated, though its children may still be incomplete
+                node.output.accumulator.finish();
+            }
+
             if (finished && depthFirst) {
                 //if depth-first, we only peeked the stack node
                 //if we're finished, we can pop this node
@@ -218,9 +382,49 @@ public final class Graph {
                     }
                 }
             }
+
+            //finished nodes can be reused right away, unless they're needed to track ancestors
+            //in that case, they are released once they are no longer an ancestor of the current node
+            if (finished && context != null && !circularRefSupport) {
+                context.release(node);
+            }
+        }
+
+        return rootData;
+    }
+
+    private static <TIn, TOut, TKey> TOut processParallel(Node<TIn, TOut, TKey> rootNode,
+        Function<? super TIn, ? extends Node<TIn, TOut, TKey>> nodeFunction,
+        Predicate<? super TIn> containerPredicate, Function<? super TIn, ? extends TOut> scalarMapper,
+        Supplier<? extends Deque<Node<TIn, TOut, TKey>>> stackSupplier) {
+        ParallelContext<TOut> context = new ParallelContext<>();
+        ParallelTask<TIn, TOut, TKey> task = new ParallelTask<>(context, nodeFunction, containerPredicate,
+            scalarMapper, stackSupplier, List.of(rootNode), 0);
+
+        //if we're already running in a pool, use it; otherwise, use the common pool
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
         }
 
-        return rootNode.output.data;
+        return context.exited ? context.exitValue : rootNode.output.data;
+    }
+
+    /*
+    parallel processing doesn't track references, but must still reject circular ones instead of descending forever.
+    each node remembers the ancestor input at the last power-of-two level above it (in its identity field). a cycle
+    shorter than the distance to that checkpoint leads back to it after at most one more doubling, so every cycle is
+    found at constant cost per node, and only inputs that really are their own ancestor are ever reported
+     */
+    private static void descend(Node<?, ?, ?> parent, Node<?, ?, ?> child, Object input) {
+        if (input == parent.identity) {
+            throw new IllegalArgumentException("Parallel processing does not support circular references");
+        }
+
+        int level = parent.level + 1;
+        child.level = level;
+        child.identity = (level & (level - 1)) == 0 ? input : parent.identity;
     }
 
     private static boolean isEmpty(Node<?, ?, ?> node) {
@@ -358,6 +562,14 @@ public final class Graph {
          * @param circular whether this input is a circular reference
          */
         void accept(TKey key, TOut out, boolean circular);
+
+        /**
+         * Called once every entry of the corresponding node has been accepted. Implementations may use this to
+         * complete their output, for example by releasing excess capacity. The output object itself must not be
+         * replaced, since it may already have been accumulated by its parent. The default implementation does
+         * nothing.
+         */
+        default void finish() {}
     }
 
     /**
@@ -375,6 +587,9 @@ public final class Graph {
          * when this option is not present, any circular references in the input data structure will cause an infinite
          * loop and eventually an OOM. However, if there is some guarantee that such a condition is not possible,
          * leaving this setting disabled can improve performance.
+         * <p>
+         * Ancestors of shallow nodes are searched linearly. Once the current ancestor chain becomes sufficiently deep,
+         * it is indexed by identity instead, so that processing remains linear in the size of deeply nested inputs.
          */
         public static final int TRACK_REFERENCES = 1;
 
@@ -389,6 +604,35 @@ public final class Graph {
          */
         public static final int LAZY_ACCUMULATION = 4;
 
+        /**
+         * Preserves shared references. Every container encountered is remembered by its visit key, and any later
+         * reference to an already-visited container reuses the output created for it, rather than processing it again.
+         * This means that a container referenced from several places in the input graph is processed only once, and the
+         * corresponding output is likewise shared in the output graph. Accumulators will be told a reference is
+         * circular only if it refers to an ancestor; other shared references may refer to output that has not yet been
+         * fully constructed, unless depth-first processing is also enabled.
+         * <p>
+         * This option implies {@link Options#TRACK_REFERENCES}.
+         */
+        public static final int PRESERVE_SHARED = 8;
+
+        /**
+         * Processes the graph in parallel, using the {@link ForkJoinPool} the caller is running in, or the
+         * {@link ForkJoinPool#commonPool()} otherwise. Containers with more than one child container may have their
+         * children processed by separate tasks; small or deeply nested subtrees are processed sequentially.
+         * <p>
+         * When this option is present, the node function, container predicate and scalar mapper must be thread-safe.
+         * Each node's iterator and accumulator are only used by one thread at a time, and outputs are accumulated in the
+         * same order as their inputs. Child outputs are accumulated before they have been populated, as with
+         * breadth-first processing; {@link Options#DEPTH_FIRST} and {@link Options#LAZY_ACCUMULATION} are ignored.
+         * <p>
+         * This option cannot be combined with {@link Options#TRACK_REFERENCES} or {@link Options#PRESERVE_SHARED}, so
+         * shared references will be processed once for every place they occur. Circular references are detected by the
+         * identity of input containers, and cause an {@link IllegalArgumentException} to be thrown from
+         * {@code process}; some of the output may have been constructed by then.
+         */
+        public static final int PARALLEL = 16;
+
         private static boolean hasOption(int options, int option) {
             return (options & option) != 0;
         }
@@ -411,24 +655,34 @@ public final class Graph {
     public static <TKey, TIn, TOut> @NotNull Iterator<InputEntry<TKey, TIn, TOut>> iterator(
         @NotNull Iterator<? extends Map.Entry<? extends TKey, ? extends TIn>> iterator) {
         Objects.requireNonNull(iterator);
-        return new Iterator<>() {
-            private final InputEntry<TKey, TIn, TOut> entry = new InputEntry<>(null, null, null,
-                Control.CONTINUE);
+        return new EntryIterator<>(iterator);
+    }
 
-            @Override
-            public boolean hasNext() {
-                return iterator.hasNext();
-            }
+    //adapts an iterator over Map.Entry, reusing a single InputEntry
+    private static final class EntryIterator<TKey, TIn, TOut> implements Iterator<InputEntry<TKey, TIn, TOut>> {
+        private final InputEntry<TKey, TIn, TOut> entry = new InputEntry<>(null, null, null, Control.CONTINUE);
+        private Iterator<? extends Map.Entry<? extends TKey, ? extends TIn>> iterator;
 
-            @Override
-            public InputEntry<TKey, TIn, TOut> next() {
-                Map.Entry<? extends TKey, ? extends TIn> entry = iterator.next();
-                this.entry.setKey(entry.getKey());
-                this.entry.setValue(entry.getValue());
+        private Context context;
+        private boolean pooled;
 
-                return this.entry;
-            }
-        };
+        private EntryIterator(Iterator<? extends Map.Entry<? extends TKey, ? extends TIn>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public InputEntry<TKey, TIn, TOut> next() {
+            Map.Entry<? extends TKey, ? extends TIn> entry = iterator.next();
+            this.entry.setKey(entry.getKey());
+            this.entry.setValue(entry.getValue());
+
+            return this.entry;
+        }
     }
 
     /**
@@ -537,6 +791,412 @@ public final class Graph {
         }
     }
 
+    /**
+     * Creates a new {@link Context}, which can be used to hold reusable traversal state.
+     *
+     * @return a new Context
+     */
+    public static @NotNull Context context() {
+        return new Context();
+    }
+
+    /**
+     * Reusable traversal state for
+     * {@link Graph#process(Object, Function, Predicate, Function, Function, Context, int)}. Contexts pool
+     * {@link Node}s, {@link Output}s and iterators created through {@link Context#node(Iterator, Output)},
+     * {@link Context#output(Object, Accumulator)} and {@link Context#iterator(Iterator)}, along with the internal
+     * structures used to traverse the graph. Objects obtained from a context are returned to it when the graph
+     * processing call that used them no longer needs them, so they must not be retained by node functions or
+     * accumulators.
+     * <p>
+     * Contexts are not thread-safe; they are typically stored in a {@link ThreadLocal}. Pooled objects are cleared when
+     * returned to a context, so contexts do not keep references to input or output data.
+     */
+    public static final class Context {
+        //don't let the pools grow without bound after processing an exceptionally large graph
+        private static final int MAX_POOLED = 1024;
+
+        //tables larger than this are discarded instead of cleared
+        private static final int MAX_RETAINED_VISITS = 4096;
+
+        private final ArrayDeque<Node<?, ?, ?>> stack = new ArrayDeque<>();
+        private final Ancestors<?, ?, ?> ancestors = new Ancestors<>(this);
+        private IdentityHashMap<Object, Object> visited = new IdentityHashMap<>();
+
+        private final ArrayList<Node<?, ?, ?>> nodePool = new ArrayList<>();
+        private final ArrayList<Output<?, ?>> outputPool = new ArrayList<>();
+        private final ArrayList<EntryIterator<?, ?, ?>> iteratorPool = new ArrayList<>();
+
+        private boolean inUse;
+
+        private Context() {
+        }
+
+        /**
+         * Obtains a {@link Node} from this context, or creates a new one if none are available. Equivalent to
+         * {@link Graph#node(Iterator, Output)}, except that the node will be reused once it is no longer needed.
+         *
+         * @param inputIterator the input iterator
+         * @param output        the output object
+         * @param <TIn>         the input type
+         * @param <TOut>        the output type
+         * @param <TKey>        the input key
+         * @return a node
+         */
+        @SuppressWarnings("unchecked")
+        public <TIn, TOut, TKey> @NotNull Node<TIn, TOut, TKey> node(
+            @NotNull Iterator<? extends InputEntry<? extends TKey, ? extends TIn, TOut>> inputIterator,
+            @NotNull Output<TOut, ? super TKey> output) {
+            int size = nodePool.size();
+            if (size == 0) {
+                Node<TIn, TOut, TKey> node = new Node<>(inputIterator, output);
+                node.context = this;
+                return node;
+            }
+
+            Node<TIn, TOut, TKey> node = (Node<TIn, TOut, TKey>) nodePool.remove(size - 1);
+            node.inputIterator = inputIterator;
+            node.output = output;
+            node.pooled = false;
+            return node;
+        }
+
+        /**
+         * Obtains an {@link Output} from this context, or creates a new one if none are available. Equivalent to
+         * {@link Graph#output(Object, Accumulator)}, except that the output will be reused once the node it belongs to
+         * is no longer needed.
+         *
+         * @param data        the output data
+         * @param accumulator the accumulator
+         * @param <TOut>      the output data type
+         * @param <TKey>      the key type
+         * @return an Output object
+         */
+        @SuppressWarnings("unchecked")
+        public <TOut, TKey> @NotNull Output<TOut, TKey> output(TOut data,
+            @NotNull Accumulator<? super TKey, ? super TOut> accumulator) {
+            int size = outputPool.size();
+            if (size == 0) {
+                Output<TOut, TKey> output = new Output<>(data, accumulator);
+                output.context = this;
+                return output;
+            }
+
+            Output<TOut, TKey> output = (Output<TOut, TKey>) outputPool.remove(size - 1);
+            output.data = data;
+            output.accumulator = accumulator;
+            output.pooled = false;
+            return output;
+        }
+
+        /**
+         * Obtains an iterator from this context, or creates a new one if none are available. Equivalent to
+         * {@link Graph#iterator(Iterator)}, except that the iterator will be reused once the node it belongs to is no
+         * longer needed.
+         *
+         * @param iterator the iterator over {@link Map.Entry}
+         * @param <TKey>   the key type
+         * @param <TIn>    the input object type
+         * @param <TOut>   the output object type
+         * @return an iterator over {@link InputEntry}
+         */
+        @SuppressWarnings("unchecked")
+        public <TKey, TIn, TOut> @NotNull Iterator<InputEntry<TKey, TIn, TOut>> iterator(
+            @NotNull Iterator<? extends Map.Entry<? extends TKey, ? extends TIn>> iterator) {
+            Objects.requireNonNull(iterator);
+
+            int size = iteratorPool.size();
+            if (size == 0) {
+                EntryIterator<TKey, TIn, TOut> entryIterator = new EntryIterator<>(iterator);
+                entryIterator.context = this;
+                return entryIterator;
+            }
+
+            EntryIterator<TKey, TIn, TOut> entryIterator = (EntryIterator<TKey, TIn, TOut>) iteratorPool.remove(size - 1);
+            entryIterator.iterator = iterator;
+            entryIterator.pooled = false;
+            return entryIterator;
+        }
+
+        private void release(Node<?, ?, ?> node) {
+            if (node.context != this || node.pooled) {
+                return;
+            }
+
+            if (node.inputIterator instanceof EntryIterator<?, ?, ?> entryIterator && entryIterator.context == this &&
+                !entryIterator.pooled) {
+                entryIterator.iterator = null;
+                entryIterator.entry.clear();
+                entryIterator.pooled = true;
+                if (iteratorPool.size() < MAX_POOLED) {
+                    iteratorPool.add(entryIterator);
+                }
+            }
+
+            Output<?, ?> output = node.output;
+            if (output.context == this && !output.pooled) {
+                output.data = null;
+                output.accumulator = null;
+                output.pooled = true;
+                if (outputPool.size() < MAX_POOLED) {
+                    outputPool.add(output);
+                }
+            }
+
+            node.inputIterator = null;
+            node.output = null;
+            node.parent = null;
+            node.identity = null;
+            node.level = 0;
+            if (node.result != null) {
+                node.result.key = null;
+                node.result.out = null;
+            }
+
+            node.pooled = true;
+            if (nodePool.size() < MAX_POOLED) {
+                nodePool.add(node);
+            }
+        }
+
+        private void reset() {
+            //nodes may be left on the stack if processing exited early
+            Node<?, ?, ?> node;
+            while ((node = stack.poll()) != null) {
+                release(node);
+            }
+
+            ancestors.clear();
+
+            if (visited.size() > MAX_RETAINED_VISITS) {
+                visited = new IdentityHashMap<>();
+            } else {
+                visited.clear();
+            }
+
+            inUse = false;
+        }
+    }
+
+    //shared between all tasks participating in a parallel graph transformation
+    private static final class ParallelContext<TOut> {
+        private volatile boolean exited;
+        private TOut exitValue;
+
+        private synchronized void exit(TOut exitValue) {
+            //only the first fast exit counts
+            if (!exited) {
+                this.exitValue = exitValue;
+                this.exited = true;
+            }
+        }
+    }
+
+    /*
+    processes a range of sibling nodes in parallel. each node's iterator and accumulator are only ever used by the task
+    that owns the node, so outputs are accumulated in input order. nodes with more than one child container fork new
+    tasks for their children, unless the pool already has plenty of queued work or tasks are nested too deeply, in which
+    case the children are processed sequentially
+     */
+    private static final class ParallelTask<TIn, TOut, TKey> extends RecursiveAction {
+        private final ParallelContext<TOut> context;
+        private final Function<? super TIn, ? extends Node<TIn, TOut, TKey>> nodeFunction;
+        private final Predicate<? super TIn> containerPredicate;
+        private final Function<? super TIn, ? extends TOut> scalarMapper;
+        private final Supplier<? extends Deque<Node<TIn, TOut, TKey>>> stackSupplier;
+        private final List<Node<TIn, TOut, TKey>> nodes;
+        private final int depth;
+
+        private ParallelTask(ParallelContext<TOut> context,
+            Function<? super TIn, ? extends Node<TIn, TOut, TKey>> nodeFunction,
+            Predicate<? super TIn> containerPredicate, Function<? super TIn, ? extends TOut> scalarMapper,
+            Supplier<? extends Deque<Node<TIn, TOut, TKey>>> stackSupplier, List<Node<TIn, TOut, TKey>> nodes,
+            int depth) {
+            this.context = context;
+            this.nodeFunction = nodeFunction;
+            this.containerPredicate = containerPredicate;
+            this.scalarMapper = scalarMapper;
+            this.stackSupplier = stackSupplier;
+            this.nodes = nodes;
+            this.depth = depth;
+        }
+
+        private ParallelTask<TIn, TOut, TKey> subtask(List<Node<TIn, TOut, TKey>> nodes, int depth) {
+            return new ParallelTask<>(context, nodeFunction, containerPredicate, scalarMapper, stackSupplier, nodes,
+                depth);
+        }
+
+        private static boolean shouldFork(int depth) {
+            return depth < PARALLEL_MAX_DEPTH && getSurplusQueuedTaskCount() <= PARALLEL_SURPLUS_THRESHOLD;
+        }
+
+        @Override
+        protected void compute() {
+            int size = nodes.size();
+            if (size > 1 && shouldFork(depth)) {
+                int mid = size >>> 1;
+                invokeAll(subtask(nodes.subList(0, mid), depth), subtask(nodes.subList(mid, size), depth));
+                return;
+            }
+
+            for (Node<TIn, TOut, TKey> node : nodes) {
+                if (context.exited) {
+                    return;
+                }
+
+                processNode(node);
+            }
+        }
+
+        private void processNode(Node<TIn, TOut, TKey> node) {
+            //chains of nodes with only a single child container are followed iteratively, not recursively
+            while (node != null) {
+                List<Node<TIn, TOut, TKey>> children = null;
+                Node<TIn, TOut, TKey> onlyChild = null;
+
+                while (node.inputIterator.hasNext()) {
+                    if (context.exited) {
+                        return;
+                    }
+
+                    InputEntry<? extends TKey, ? extends TIn, ? extends TOut> entry = node.inputIterator.next();
+                    if (entry.control == Control.FAST_EXIT) {
+                        context.exit(entry.fastExitValue);
+                        return;
+                    }
+
+                    TKey entryKey = entry.getKey();
+                    TIn entryInput = entry.getValue();
+
+                    if (!containerPredicate.test(entryInput)) {
+                        node.output.accumulator.accept(entryKey, scalarMapper.apply(entryInput), false);
+                        continue;
+                    }
+
+                    Node<TIn, TOut, TKey> newNode = nodeFunction.apply(entryInput);
+                    descend(node, newNode, entryInput);
+
+                    //the child's output is accumulated before it is populated, like breadth-first processing
+                    node.output.accumulator.accept(entryKey, newNode.output.data, false);
+                    if (isEmpty(newNode)) {
+                        newNode.output.accumulator.finish();
+                        continue;
+                    }
+
+                    if (onlyChild == null && children == null) {
+                        onlyChild = newNode;
+                        continue;
+                    }
+
+                    if (children == null) {
+                        children = new ArrayList<>();
+                        children.add(onlyChild);
+                    }
+
+                    children.add(newNode);
+                }
+
+                node.output.accumulator.finish();
+                if (children == null) {
+                    node = onlyChild;
+                    continue;
+                }
+
+                if (shouldFork(depth)) {
+                    subtask(children, depth + 1).invoke();
+                } else {
+                    for (Node<TIn, TOut, TKey> child : children) {
+                        if (context.exited) {
+                            return;
+                        }
+
+                        processSequential(child, nodeFunction, containerPredicate, scalarMapper, null,
+                            stackSupplier, null, Options.NONE, context);
+                    }
+                }
+
+                return;
+            }
+        }
+    }
+
+    /*
+    used internally to track the chain of ancestors of the node currently being processed. both traversal orders visit
+    nodes in a pre-order that guarantees a node's parent is somewhere on the current chain when the node is entered, so
+    the chain can be maintained like a stack. once the chain grows past ANCESTOR_INDEX_THRESHOLD, ancestors are also
+    indexed by identity, so that lookups don't degrade to O(depth) on deeply nested inputs
+     */
+    private static final class Ancestors<TIn, TOut, TKey> {
+        private final ArrayList<Node<TIn, TOut, TKey>> chain = new ArrayList<>();
+        private final Context context;
+        private IdentityHashMap<Object, Node<TIn, TOut, TKey>> index;
+
+        private Ancestors(Context context) {
+            this.context = context;
+        }
+
+        private void enter(Node<TIn, TOut, TKey> node) {
+            ArrayList<Node<TIn, TOut, TKey>> chain = this.chain;
+            int size = chain.size();
+            while (size > 0) {
+                Node<TIn, TOut, TKey> top = chain.get(size - 1);
+                if (top == node) {
+                    //depth-first traversal may enter the same node several times
+                    return;
+                }
+
+                if (top == node.parent) {
+                    break;
+                }
+
+                chain.remove(--size);
+                if (index != null) {
+                    index.remove(top.identity);
+                }
+
+                //nodes are popped from the chain only after all of their descendants have been processed
+                if (context != null) {
+                    context.release(top);
+                }
+            }
+
+            chain.add(node);
+            if (index != null) {
+                index.put(node.identity, node);
+            } else if (size + 1 > ANCESTOR_INDEX_THRESHOLD) {
+                index = new IdentityHashMap<>(ANCESTOR_INDEX_THRESHOLD * 4);
+                for (Node<TIn, TOut, TKey> ancestor : chain) {
+                    index.put(ancestor.identity, ancestor);
+                }
+            }
+        }
+
+        private TOut find(Node<TIn, TOut, TKey> current, Object identity) {
+            if (index == null) {
+                return current.parentWithKey(identity);
+            }
+
+            Node<TIn, TOut, TKey> ancestor = index.get(identity);
+            if (ancestor == null) {
+                //noinspection unchecked
+                return (TOut) NO_PARENT;
+            }
+
+            return ancestor.output.data;
+        }
+
+        private void clear() {
+            for (Node<TIn, TOut, TKey> node : chain) {
+                context.release(node);
+            }
+
+            chain.clear();
+
+            //don't hold on to large tables
+            index = null;
+        }
+    }
+
     //used internally for lazy accumulation of results
     //only relevant when doing depth-first transforms
     private static final class NodeResult<TKey, TOut> {
@@ -553,14 +1213,21 @@ public final class Graph {
      * @param <TKey> the key type
      */
     public static final class Node<TIn, TOut, TKey> {
-        private final Iterator<? extends InputEntry<? extends TKey, ? extends TIn, TOut>> inputIterator;
-        private final Output<TOut, ? super TKey> output;
+        private Iterator<? extends InputEntry<? extends TKey, ? extends TIn, TOut>> inputIterator;
+        private Output<TOut, ? super TKey> output;
 
         private NodeResult<TKey, TOut> result;
 
         private Node<TIn, TOut, TKey> parent;
         private Object identity;
 
+        //distance from the root, only used when processing in parallel
+        private int level;
+
+        //the context this node belongs to, if any, and whether it is currently pooled
+        private Context context;
+        private boolean pooled;
+
         private Node(@NotNull Iterator<? extends InputEntry<? extends TKey, ? extends TIn, TOut>> inputIterator,
             @NotNull Output<TOut, ? super TKey> output) {
             this.inputIterator = inputIterator;
@@ -618,8 +1285,11 @@ public final class Graph {
      * @param <TKey> the key type
      */
     public static final class Output<TOut, TKey> {
-        private final TOut data;
-        private final Accumulator<? super TKey, ? super TOut> accumulator;
+        private TOut data;
+        private Accumulator<? super TKey, ? super TOut> accumulator;
+
+        private Context context;
+        private boolean pooled;
 
         private Output(TOut data, @NotNull Accumulator<? super TKey, ? super TOut> accumulator) {
             this.data = data;
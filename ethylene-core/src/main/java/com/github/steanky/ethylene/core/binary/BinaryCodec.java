@@ -0,0 +1,539 @@
+package com.github.steanky.ethylene.core.binary;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.ElementType;
+import com.github.steanky.ethylene.core.collection.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A {@link ConfigCodec} implementation for a compact binary format, intended for caching configuration that has already
+ * been parsed from some other, human-readable format. The singleton instance can be obtained by referencing
+ * {@link BinaryCodec#INSTANCE}.
+ * <p>
+ * The format has the following properties:
+ * <ul>
+ *     <li>every string (including node keys) is written at most once; subsequent occurrences refer to the first</li>
+ *     <li>integral numbers are written as variable-length integers</li>
+ *     <li>the exact type of every number is preserved</li>
+ *     <li>containers that are referenced more than once, including circular references, are written once, and decode
+ *     to a single shared instance</li>
+ * </ul>
+ * <p>
+ * The binary format is versioned. Data written by a newer, incompatible version of this codec cannot be read, and will
+ * cause an {@link IOException} to be thrown.
+ */
+public class BinaryCodec implements ConfigCodec {
+    /**
+     * The singleton instance for {@link BinaryCodec}.
+     */
+    public static final BinaryCodec INSTANCE = new BinaryCodec();
+
+    private static final String PREFERRED_EXTENSION = "ethb";
+    private static final Set<String> PREFERRED_EXTENSIONS = Set.of(PREFERRED_EXTENSION);
+
+    private static final byte[] MAGIC = {'E', 'T', 'H', 'B'};
+    private static final byte VERSION = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte CHARACTER = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte BIG_DECIMAL = 11;
+    private static final byte STRING = 12;
+    private static final byte NODE = 13;
+    private static final byte LIST = 14;
+    private static final byte REFERENCE = 15;
+
+    /**
+     * Constructor, for use by subclasses.
+     */
+    protected BinaryCodec() {
+
+    }
+
+    @Override
+    public void encode(@NotNull ConfigElement element, @NotNull OutputStream output) throws IOException {
+        try (output) {
+            Objects.requireNonNull(element);
+            Objects.requireNonNull(output);
+
+            Encoder encoder = new Encoder(output);
+            encoder.writeBytes(MAGIC);
+            encoder.writeByte(VERSION);
+            encoder.writeTree(element);
+            encoder.flush();
+        }
+    }
+
+    @Override
+    public @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException {
+        try (input) {
+            Objects.requireNonNull(input);
+            return decode(ByteBuffer.wrap(input.readAllBytes()));
+        }
+    }
+
+    @Override
+    public boolean supportsMappedBuffers() {
+        //strings are always copied out of the buffer, so it is not retained
+        return true;
+    }
+
+    @Override
+    public @NotNull ConfigElement decode(@NotNull ByteBuffer buffer) throws IOException {
+        Objects.requireNonNull(buffer);
+
+        try {
+            for (byte magic : MAGIC) {
+                if (buffer.get() != magic) {
+                    throw new IOException("Input is not in the binary format");
+                }
+            }
+
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary format version " + version);
+            }
+
+            ConfigElement element = new Decoder(buffer).readTree();
+            if (buffer.hasRemaining()) {
+                throw new IOException("Input was not fully consumed");
+            }
+
+            return element;
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("Unexpected end of input", exception);
+        }
+    }
+
+    @Override
+    public @Unmodifiable @NotNull Set<String> getPreferredExtensions() {
+        return PREFERRED_EXTENSIONS;
+    }
+
+    @Override
+    public @NotNull String getPreferredExtension() {
+        return PREFERRED_EXTENSION;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "Binary";
+    }
+
+    @Override
+    public @NotNull Set<ElementType> supportedTopLevelTypes() {
+        return EnumSet.allOf(ElementType.class);
+    }
+
+    /**
+     * Creates a node, given a size hint. Can be overridden by subclasses to customize the {@link ConfigNode}
+     * implementation used. The default is {@link LinkedConfigNode}.
+     *
+     * @param sizeHint the size hint
+     * @return a new empty, mutable node
+     */
+    public @NotNull ConfigNode makeNode(int sizeHint) {
+        return new LinkedConfigNode(sizeHint);
+    }
+
+    /**
+     * Creates a list, given a size hint. Can be overridden by subclasses to customize the {@link ConfigList}
+     * implementation used. The default is {@link ArrayConfigList}.
+     *
+     * @param sizeHint the size hint
+     * @return a new empty, mutable list
+     */
+    public @NotNull ConfigList makeList(int sizeHint) {
+        return new ArrayConfigList(sizeHint);
+    }
+
+    private static final class Encoder {
+        private final OutputStream output;
+        private final byte[] buffer;
+        private int position;
+
+        private final Map<String, Integer> strings;
+        private final Map<ConfigContainer, Integer> containers;
+
+        private Encoder(OutputStream output) {
+            this.output = output;
+            this.buffer = new byte[BUFFER_SIZE];
+            this.strings = new HashMap<>();
+            this.containers = new IdentityHashMap<>();
+        }
+
+        private void ensureCapacity(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void writeByte(byte value) throws IOException {
+            ensureCapacity(1);
+            buffer[position++] = value;
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length) {
+                flush();
+                output.write(bytes);
+                return;
+            }
+
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeSignedVarLong(long value) throws IOException {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeFixedLong(long value) throws IOException {
+            ensureCapacity(8);
+            for (int i = 56; i >= 0; i -= 8) {
+                buffer[position++] = (byte) (value >>> i);
+            }
+        }
+
+        private void writeFixedInt(int value) throws IOException {
+            ensureCapacity(4);
+            for (int i = 24; i >= 0; i -= 8) {
+                buffer[position++] = (byte) (value >>> i);
+            }
+        }
+
+        private void writeString(String string) throws IOException {
+            Integer index = strings.get(string);
+            if (index != null) {
+                writeVarLong(index + 1);
+                return;
+            }
+
+            strings.put(string, strings.size());
+
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(0);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeScalar(ConfigElement element) throws IOException {
+            if (element instanceof ConfigPrimitive primitive) {
+                //write common numeric types without boxing them
+                Class<?> type = primitive.scalarType();
+                if (type == Integer.class) {
+                    writeByte(INT);
+                    writeSignedVarLong(primitive.asInt());
+                    return;
+                } else if (type == Long.class) {
+                    writeByte(LONG);
+                    writeSignedVarLong(primitive.asLong());
+                    return;
+                } else if (type == Double.class) {
+                    writeByte(DOUBLE);
+                    writeFixedLong(Double.doubleToRawLongBits(primitive.asDouble()));
+                    return;
+                }
+            }
+
+            Object scalar = element.asScalar();
+            if (scalar == null) {
+                writeByte(NULL);
+            } else if (scalar instanceof Boolean bool) {
+                writeByte(bool ? TRUE : FALSE);
+            } else if (scalar instanceof String string) {
+                writeByte(STRING);
+                writeString(string);
+            } else if (scalar instanceof Integer integer) {
+                writeByte(INT);
+                writeSignedVarLong(integer);
+            } else if (scalar instanceof Long longValue) {
+                writeByte(LONG);
+                writeSignedVarLong(longValue);
+            } else if (scalar instanceof Double doubleValue) {
+                writeByte(DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits(doubleValue));
+            } else if (scalar instanceof Float floatValue) {
+                writeByte(FLOAT);
+                writeFixedInt(Float.floatToRawIntBits(floatValue));
+            } else if (scalar instanceof Short shortValue) {
+                writeByte(SHORT);
+                writeSignedVarLong(shortValue);
+            } else if (scalar instanceof Byte byteValue) {
+                writeByte(BYTE);
+                writeByte(byteValue);
+            } else if (scalar instanceof Character character) {
+                writeByte(CHARACTER);
+                writeVarLong(character);
+            } else if (scalar instanceof BigInteger bigInteger) {
+                writeByte(BIG_INTEGER);
+                writeBigInteger(bigInteger);
+            } else if (scalar instanceof BigDecimal bigDecimal) {
+                writeByte(BIG_DECIMAL);
+                writeSignedVarLong(bigDecimal.scale());
+                writeBigInteger(bigDecimal.unscaledValue());
+            } else {
+                throw new IOException("Unsupported scalar type " + scalar.getClass().getTypeName());
+            }
+        }
+
+        private void writeBigInteger(BigInteger bigInteger) throws IOException {
+            byte[] bytes = bigInteger.toByteArray();
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        //returns true if the container was written for the first time, and its entries need to be written
+        private boolean writeContainer(ConfigContainer container) throws IOException {
+            Integer index = containers.get(container);
+            if (index != null) {
+                writeByte(REFERENCE);
+                writeVarLong(index);
+                return false;
+            }
+
+            containers.put(container, containers.size());
+
+            writeByte(container.isNode() ? NODE : LIST);
+            int size = container.entryCollection().size();
+            writeVarLong(size);
+            return size > 0;
+        }
+
+        private void writeTree(ConfigElement root) throws IOException {
+            if (!root.isContainer()) {
+                writeScalar(root);
+                return;
+            }
+
+            ConfigContainer rootContainer = root.asContainer();
+            if (!writeContainer(rootContainer)) {
+                return;
+            }
+
+            Deque<EncodeFrame> stack = new ArrayDeque<>();
+            stack.push(new EncodeFrame(rootContainer.entryCollection().iterator(), rootContainer.isNode()));
+
+            while (!stack.isEmpty()) {
+                EncodeFrame frame = stack.peek();
+                if (!frame.iterator.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+
+                ConfigEntry entry = frame.iterator.next();
+                if (frame.isNode) {
+                    writeString(entry.getKey());
+                }
+
+                ConfigElement value = entry.getValue();
+                if (!value.isContainer()) {
+                    writeScalar(value);
+                    continue;
+                }
+
+                ConfigContainer container = value.asContainer();
+                if (writeContainer(container)) {
+                    stack.push(new EncodeFrame(container.entryCollection().iterator(), container.isNode()));
+                }
+            }
+        }
+    }
+
+    private final class Decoder {
+        private final ByteBuffer buffer;
+
+        private final List<String> strings;
+        private final List<ConfigContainer> containers;
+
+        private final Deque<DecodeFrame> stack;
+
+        private Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.strings = new ArrayList<>();
+            this.containers = new ArrayList<>();
+            this.stack = new ArrayDeque<>();
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte next = buffer.get();
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new IOException("Malformed variable-length integer");
+        }
+
+        private long readSignedVarLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readLength() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Invalid length " + length);
+            }
+
+            return (int) length;
+        }
+
+        private String readString() throws IOException {
+            long index = readVarLong();
+            if (index != 0) {
+                if (index > strings.size()) {
+                    throw new IOException("Invalid string index " + (index - 1));
+                }
+
+                return strings.get((int) (index - 1));
+            }
+
+            int length = readLength();
+
+            String string;
+            if (buffer.hasArray()) {
+                int position = buffer.position();
+                string = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+                buffer.position(position + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            strings.add(string);
+            return string;
+        }
+
+        private BigInteger readBigInteger() throws IOException {
+            int length = readLength();
+            if (length == 0) {
+                throw new IOException("Invalid length 0");
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new BigInteger(bytes);
+        }
+
+        private ConfigElement readElement() throws IOException {
+            byte type = buffer.get();
+            return switch (type) {
+                case NULL -> ConfigPrimitive.NULL;
+                case TRUE -> ConfigPrimitive.TRUE;
+                case FALSE -> ConfigPrimitive.FALSE;
+                case BYTE -> ConfigPrimitive.of(buffer.get());
+                case SHORT -> ConfigPrimitive.of((short) readSignedVarLong());
+                case CHARACTER -> ConfigPrimitive.of((char) readVarLong());
+                case INT -> ConfigPrimitive.of((int) readSignedVarLong());
+                case LONG -> ConfigPrimitive.of(readSignedVarLong());
+                case FLOAT -> ConfigPrimitive.of(Float.intBitsToFloat(buffer.getInt()));
+                case DOUBLE -> ConfigPrimitive.of(Double.longBitsToDouble(buffer.getLong()));
+                case BIG_INTEGER -> ConfigPrimitive.of(readBigInteger());
+                case BIG_DECIMAL -> {
+                    int scale = (int) readSignedVarLong();
+                    yield ConfigPrimitive.of(new BigDecimal(readBigInteger(), scale));
+                }
+                case STRING -> ConfigPrimitive.of(readString());
+                case NODE, LIST -> {
+                    int size = readLength();
+                    ConfigContainer container = type == NODE ? makeNode(size) : makeList(size);
+                    containers.add(container);
+
+                    if (size > 0) {
+                        stack.push(new DecodeFrame(container, size));
+                    }
+
+                    yield container;
+                }
+                case REFERENCE -> {
+                    long index = readVarLong();
+                    if (index < 0 || index >= containers.size()) {
+                        throw new IOException("Invalid container reference " + index);
+                    }
+
+                    yield containers.get((int) index);
+                }
+                default -> throw new IOException("Unknown element type " + type);
+            };
+        }
+
+        private ConfigElement readTree() throws IOException {
+            ConfigElement root = readElement();
+
+            while (!stack.isEmpty()) {
+                DecodeFrame frame = stack.peek();
+                if (frame.remaining-- == 0) {
+                    stack.pop();
+                    continue;
+                }
+
+                //reading the element may push a new frame, so keep a reference to the current container
+                ConfigContainer container = frame.container;
+                if (container.isNode()) {
+                    String key = readString();
+                    container.asNode().put(key, readElement());
+                } else {
+                    container.asList().add(readElement());
+                }
+            }
+
+            return root;
+        }
+    }
+
+    private record EncodeFrame(Iterator<ConfigEntry> iterator, boolean isNode) {}
+
+    private static final class DecodeFrame {
+        private final ConfigContainer container;
+        private int remaining;
+
+        private DecodeFrame(ConfigContainer container, int remaining) {
+            this.container = container;
+            this.remaining = remaining;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,324 @@
+package com.github.steanky.ethylene.core.bridge;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.util.BufferPool;
+import com.github.steanky.ethylene.core.util.BufferUtils;
+import com.github.steanky.ethylene.core.util.FutureUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConfigSource} implementation which reads and writes files using an {@link AsynchronousFileChannel}. Reads
+ * collect the entire file into a pooled buffer before it is handed to the codec; writes encode into a pooled buffer,
+ * which is then written to the channel. Only decoding and encoding are run on the executor.
+ * <p>
+ * Channels never use the executor. Instead, every channel shares a small, bounded pool owned by this class. On
+ * platforms without native asynchronous file I/O, such as Linux and macOS, the JDK implements the channel by performing
+ * blocking reads and writes on that pool. Therefore, however many sources are read or written concurrently, at most
+ * {@link ChannelConfigSource#IO_THREADS} threads are occupied by file I/O at any one time; further operations wait in
+ * the pool's queue, and threads waiting on the file system are never executor threads.
+ */
+final class ChannelConfigSource implements ConfigSource {
+    private static final BufferPool BUFFERS = new BufferPool(16, 1 << 20);
+
+    private static final Set<OpenOption> READ_OPTIONS = Set.of(StandardOpenOption.READ);
+    private static final Set<OpenOption> WRITE_OPTIONS = Set.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+
+    /**
+     * The maximum number of threads performing file I/O for all channel sources.
+     */
+    static final int IO_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService IO_POOL = ioPool();
+
+    //leave some headroom, some VMs reserve header words in arrays
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Path path;
+    private final ConfigCodec codec;
+    private final Executor executor;
+
+    ChannelConfigSource(@NotNull Path path, @NotNull ConfigCodec codec, @NotNull Executor executor) {
+        this.path = Objects.requireNonNull(path);
+        this.codec = Objects.requireNonNull(codec);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    private static ExecutorService ioPool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ethylene-file-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        //idle sources should not keep threads around
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private AsynchronousFileChannel open(Set<OpenOption> options) throws IOException {
+        //the channel may block its pool on some platforms, so only ever hand it the bounded I/O pool
+        return AsynchronousFileChannel.open(path, options, IO_POOL);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<ConfigElement> read() {
+        CompletableFuture<ByteBuffer> bytes = new CompletableFuture<>();
+        try {
+            AsynchronousFileChannel channel = open(READ_OPTIONS);
+
+            long size;
+            try {
+                size = channel.size();
+            } catch (IOException exception) {
+                channel.close();
+                throw exception;
+            }
+
+            if (size >= MAX_BUFFER_SIZE) {
+                //too large to fit in a single buffer, fall back to decoding directly from the file
+                channel.close();
+                return FutureUtils.completeCallableAsync(() -> BufferUtils.decode(path, codec), executor);
+            }
+
+            //one extra byte, so that we don't need to grow the buffer just to detect the end of the file
+            new ReadHandler(channel, BUFFERS.acquire((int) size + 1), bytes).read();
+        } catch (Throwable throwable) {
+            bytes.completeExceptionally(throwable);
+        }
+
+        return onExecutor(bytes.thenCompose(buffer -> FutureUtils.completeCallableAsync(() -> {
+            try {
+                return codec.decode(BufferUtils.asInputStream(buffer));
+            } finally {
+                BUFFERS.release(buffer);
+            }
+        }, executor)));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> write(@NotNull ConfigElement element) {
+        Objects.requireNonNull(element);
+
+        return FutureUtils.completeCallableAsync(() -> {
+            BufferOutputStream output = new BufferOutputStream();
+            try {
+                codec.encode(element, output);
+            } catch (Throwable throwable) {
+                BUFFERS.release(output.buffer);
+                throw throwable;
+            }
+
+            return output.buffer.flip();
+        }, executor).thenCompose(buffer -> {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            try {
+                new WriteHandler(open(WRITE_OPTIONS), buffer, future).write();
+            } catch (Throwable throwable) {
+                BUFFERS.release(buffer);
+                future.completeExceptionally(throwable);
+            }
+
+            return onExecutor(future);
+        });
+    }
+
+    //futures completed by the I/O pool hand off to the executor, so dependent actions never occupy an I/O thread
+    private <T> CompletableFuture<T> onExecutor(CompletableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenCompleteAsync((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }, executor);
+
+        return result;
+    }
+
+    private static Throwable close(AsynchronousFileChannel channel, Throwable error) {
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            if (error == null) {
+                return exception;
+            }
+
+            error.addSuppressed(exception);
+        }
+
+        return error;
+    }
+
+    private static final class ReadHandler implements CompletionHandler<Integer, Void> {
+        private final AsynchronousFileChannel channel;
+        private final CompletableFuture<ByteBuffer> future;
+
+        private ByteBuffer buffer;
+        private long position;
+
+        private ReadHandler(AsynchronousFileChannel channel, ByteBuffer buffer, CompletableFuture<ByteBuffer> future) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.future = future;
+        }
+
+        private void read() {
+            try {
+                channel.read(buffer, position, null, this);
+            } catch (Throwable throwable) {
+                finish(throwable);
+            }
+        }
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            if (result < 0) {
+                finish(null);
+                return;
+            }
+
+            try {
+                position += result;
+                if (!buffer.hasRemaining()) {
+                    //the reported size is only a hint, the file may have grown while it was being read
+                    int capacity = buffer.capacity();
+                    if (capacity >= MAX_BUFFER_SIZE) {
+                        throw new IOException("File too large to read into a buffer");
+                    }
+
+                    ByteBuffer larger = BUFFERS.acquire((int) Math.min((long) capacity << 1, MAX_BUFFER_SIZE));
+                    larger.put(buffer.flip());
+                    BUFFERS.release(buffer);
+                    buffer = larger;
+                }
+            } catch (Throwable throwable) {
+                finish(throwable);
+                return;
+            }
+
+            read();
+        }
+
+        @Override
+        public void failed(Throwable exc, Void attachment) {
+            finish(exc);
+        }
+
+        private void finish(Throwable error) {
+            error = close(channel, error);
+            if (error != null) {
+                BUFFERS.release(buffer);
+                future.completeExceptionally(error);
+                return;
+            }
+
+            future.complete(buffer.flip());
+        }
+    }
+
+    private static final class WriteHandler implements CompletionHandler<Integer, Void> {
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<Void> future;
+
+        private long position;
+
+        private WriteHandler(AsynchronousFileChannel channel, ByteBuffer buffer, CompletableFuture<Void> future) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.future = future;
+        }
+
+        private void write() {
+            if (!buffer.hasRemaining()) {
+                finish(null);
+                return;
+            }
+
+            try {
+                channel.write(buffer, position, null, this);
+            } catch (Throwable throwable) {
+                finish(throwable);
+            }
+        }
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            position += result;
+            write();
+        }
+
+        @Override
+        public void failed(Throwable exc, Void attachment) {
+            finish(exc);
+        }
+
+        private void finish(Throwable error) {
+            error = close(channel, error);
+            BUFFERS.release(buffer);
+
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+
+            future.complete(null);
+        }
+    }
+
+    //collects encoded output into a pooled buffer, growing it as needed
+    private static final class BufferOutputStream extends OutputStream {
+        private ByteBuffer buffer = BUFFERS.acquire(0);
+
+        private void ensureRemaining(int count) throws IOException {
+            if (buffer.remaining() >= count) {
+                return;
+            }
+
+            long required = (long) buffer.position() + count;
+            if (required > MAX_BUFFER_SIZE) {
+                throw new IOException("Encoded output too large to fit in a buffer");
+            }
+
+            ByteBuffer larger = BUFFERS.acquire((int) Math.min(Math.max(required, (long) buffer.capacity() << 1),
+                MAX_BUFFER_SIZE));
+            larger.put(buffer.flip());
+            BUFFERS.release(buffer);
+            buffer = larger;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureRemaining(1);
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureRemaining(len);
+            buffer.put(b, off, len);
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.github.steanky.ethylene.core.bridge;
 
 import com.github.steanky.ethylene.core.ConfigCodec;
 import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.event.ConfigEventReader;
+import com.github.steanky.ethylene.core.event.ConfigEventWriter;
+import com.github.steanky.ethylene.core.event.ConfigEvents;
+import com.github.steanky.ethylene.core.path.ConfigPath;
 import com.github.steanky.ethylene.core.processor.ConfigProcessor;
+import com.github.steanky.ethylene.core.util.BufferUtils;
 import com.github.steanky.ethylene.core.util.FutureUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -76,6 +83,24 @@ public final class Configuration {
         };
     }
 
+    //like fromStreamsInternal, but reads using BufferUtils so that files are buffered (or mapped) rather than streamed
+    private static ConfigSource fromPathInternal(Path path, ConfigCodec codec, Executor executor) {
+        return new ConfigSource() {
+            @Override
+            public @NotNull CompletableFuture<ConfigElement> read() {
+                return FutureUtils.completeCallable(() -> BufferUtils.decode(path, codec), executor);
+            }
+
+            @Override
+            public @NotNull CompletableFuture<Void> write(@NotNull ConfigElement element) {
+                return FutureUtils.completeCallable(() -> {
+                    codec.encode(element, new BufferedOutputStream(Files.newOutputStream(path)));
+                    return null;
+                }, executor);
+            }
+        };
+    }
+
     /**
      * Alternative to {@link Configuration#sourceFromStreams(Callable, Callable, ConfigCodec)} that supports
      * asynchronous reads and writes.
@@ -127,8 +152,7 @@ public final class Configuration {
         Objects.requireNonNull(path);
         Objects.requireNonNull(codec);
 
-        return fromStreamsInternal(() -> new BufferedInputStream(Files.newInputStream(path)),
-            () -> new BufferedOutputStream(Files.newOutputStream(path)), codec, null);
+        return fromPathInternal(path, codec, null);
     }
 
     /**
@@ -147,8 +171,7 @@ public final class Configuration {
         Objects.requireNonNull(codec);
         Objects.requireNonNull(executor);
 
-        return fromStreamsInternal(() -> new BufferedInputStream(Files.newInputStream(path)),
-            () -> new BufferedOutputStream(Files.newOutputStream(path)), codec, executor);
+        return fromPathInternal(path, codec, executor);
     }
 
     /**
@@ -164,8 +187,46 @@ public final class Configuration {
         Objects.requireNonNull(path);
         Objects.requireNonNull(codec);
 
-        return fromStreamsInternal(() -> new BufferedInputStream(Files.newInputStream(path)),
-            () -> new BufferedOutputStream(Files.newOutputStream(path)), codec, ForkJoinPool.commonPool());
+        return fromPathInternal(path, codec, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Produces an asynchronous ConfigSource implementation which reads from and writes to the given file using an
+     * {@link java.nio.channels.AsynchronousFileChannel}. Unlike
+     * {@link Configuration#asyncSourceFromPath(Path, ConfigCodec, Executor)}, file system operations are not performed
+     * on the executor: files are read into (or written from) pooled buffers, and only decoding and encoding are
+     * performed on the executor.
+     * <p>
+     * Channels share a small, bounded thread pool which is separate from the executor. On platforms without native
+     * asynchronous file I/O, such as Linux and macOS, that pool performs blocking reads and writes, so a fixed number of
+     * threads (independent of how many files are loaded concurrently) is occupied by file system operations, and
+     * further operations are queued. Executor threads are never used for file I/O.
+     * <p>
+     * Since the entire file is buffered before it is decoded, this source is best suited to loading many small or
+     * medium-sized files concurrently.
+     *
+     * @param path     a path pointing to the file read from and written to
+     * @param codec    the codec used to read/write from this file
+     * @param executor the executor used to decode and encode data
+     * @return a ConfigSource implementation which can asynchronously read/write {@link ConfigElement} objects from and
+     * to the given file
+     */
+    public static @NotNull ConfigSource channelSourceFromPath(@NotNull Path path, @NotNull ConfigCodec codec,
+        @NotNull Executor executor) {
+        return new ChannelConfigSource(path, codec, executor);
+    }
+
+    /**
+     * Convenience overload for {@link Configuration#channelSourceFromPath(Path, ConfigCodec, Executor)} that uses
+     * {@link ForkJoinPool#commonPool()} to decode and encode data.
+     *
+     * @param path  a path pointing to the file read from and written to
+     * @param codec the codec used to read/write from this file
+     * @return a ConfigSource implementation which can asynchronously read/write {@link ConfigElement} objects from and
+     * to the given file
+     */
+    public static @NotNull ConfigSource channelSourceFromPath(@NotNull Path path, @NotNull ConfigCodec codec) {
+        return new ChannelConfigSource(path, codec, ForkJoinPool.commonPool());
     }
 
     /**
@@ -184,6 +245,26 @@ public final class Configuration {
         return readInternal(inputStream, codec);
     }
 
+    /**
+     * Reads only the element located at the given {@link ConfigPath} from an {@link InputStream}, using
+     * {@link ConfigCodec#decode(InputStream, ConfigPath)}. Depending on the codec, data not on the path may be skipped
+     * without being materialized.
+     *
+     * @param inputStream the InputStream to read from
+     * @param codec       the ConfigCodec which will be used to decode the input data
+     * @param configPath  the path of the element to read
+     * @return the element at the given path, or null if no such element exists
+     * @throws IOException if an IO error occurs
+     */
+    public static @Nullable ConfigElement read(@NotNull InputStream inputStream, @NotNull ConfigCodec codec,
+        @NotNull ConfigPath configPath) throws IOException {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(configPath);
+
+        return codec.decode(inputStream, configPath);
+    }
+
     private static ConfigElement readInternal(InputStream inputStream, ConfigCodec codec) throws IOException {
         return codec.decode(inputStream);
     }
@@ -292,6 +373,134 @@ public final class Configuration {
         return readAsyncInternal(inputStream, codec, processor, ForkJoinPool.commonPool());
     }
 
+    /**
+     * Converts configuration data from one format to another. Data is read from the given {@link InputStream} using
+     * {@code inputCodec}, and written to the {@link OutputStream} using {@code outputCodec}. Both streams are closed
+     * once this method returns.
+     * <p>
+     * If either codec supports streaming (see {@link ConfigCodec#supportsStreaming()}), events are piped directly from
+     * {@link ConfigCodec#eventReader(InputStream)} to {@link ConfigCodec#eventWriter(OutputStream)}. If both do, the
+     * document is never materialized in memory, which allows very large documents to be converted efficiently.
+     * Otherwise, the data is decoded into a {@link ConfigElement} and then encoded, as if by calling
+     * {@link Configuration#read(InputStream, ConfigCodec)} followed by
+     * {@link Configuration#write(OutputStream, ConfigCodec, ConfigElement)}.
+     *
+     * @param inputStream  the InputStream to read from
+     * @param inputCodec   the codec used to decode the input data
+     * @param outputStream the OutputStream to write to
+     * @param outputCodec  the codec used to encode the output data
+     * @throws IOException if an IO error occurs
+     */
+    public static void transcode(@NotNull InputStream inputStream, @NotNull ConfigCodec inputCodec,
+        @NotNull OutputStream outputStream, @NotNull ConfigCodec outputCodec) throws IOException {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(inputCodec);
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(outputCodec);
+
+        transcodeInternal(inputStream, inputCodec, outputStream, outputCodec);
+    }
+
+    private static void transcodeInternal(InputStream inputStream, ConfigCodec inputCodec, OutputStream outputStream,
+        ConfigCodec outputCodec) throws IOException {
+        if (!inputCodec.supportsStreaming() && !outputCodec.supportsStreaming()) {
+            try (outputStream) {
+                outputCodec.encode(inputCodec.decode(inputStream), outputStream);
+            }
+
+            return;
+        }
+
+        try (inputStream; outputStream; ConfigEventReader reader = inputCodec.eventReader(inputStream);
+             ConfigEventWriter writer = outputCodec.eventWriter(outputStream)) {
+            ConfigEvents.pipe(reader, writer);
+        } catch (IllegalStateException | IllegalArgumentException exception) {
+            //thrown for malformed event sequences
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Alternative to {@link Configuration#transcode(InputStream, ConfigCodec, OutputStream, ConfigCodec)} that
+     * asynchronously converts the data.
+     *
+     * @param inputStream  the InputStream to read from
+     * @param inputCodec   the codec used to decode the input data
+     * @param outputStream the OutputStream to write to
+     * @param outputCodec  the codec used to encode the output data
+     * @param executor     the executor used to asynchronously convert the data
+     * @return a future which may be used to await the operation
+     */
+    public static @NotNull CompletableFuture<Void> transcodeAsync(@NotNull InputStream inputStream,
+        @NotNull ConfigCodec inputCodec, @NotNull OutputStream outputStream, @NotNull ConfigCodec outputCodec,
+        @NotNull Executor executor) {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(inputCodec);
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(outputCodec);
+        Objects.requireNonNull(executor);
+
+        return transcodeAsyncInternal(inputStream, inputCodec, outputStream, outputCodec, executor);
+    }
+
+    private static CompletableFuture<Void> transcodeAsyncInternal(InputStream inputStream, ConfigCodec inputCodec,
+        OutputStream outputStream, ConfigCodec outputCodec, Executor executor) {
+        return FutureUtils.completeCallableAsync(() -> {
+            transcodeInternal(inputStream, inputCodec, outputStream, outputCodec);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Convenience overload for
+     * {@link Configuration#transcodeAsync(InputStream, ConfigCodec, OutputStream, ConfigCodec, Executor)} that uses
+     * {@link ForkJoinPool#commonPool()} as its executor.
+     *
+     * @param inputStream  the InputStream to read from
+     * @param inputCodec   the codec used to decode the input data
+     * @param outputStream the OutputStream to write to
+     * @param outputCodec  the codec used to encode the output data
+     * @return a future which may be used to await the operation
+     */
+    public static @NotNull CompletableFuture<Void> transcodeAsync(@NotNull InputStream inputStream,
+        @NotNull ConfigCodec inputCodec, @NotNull OutputStream outputStream, @NotNull ConfigCodec outputCodec) {
+        Objects.requireNonNull(inputStream);
+        Objects.requireNonNull(inputCodec);
+        Objects.requireNonNull(outputStream);
+        Objects.requireNonNull(outputCodec);
+
+        return transcodeAsyncInternal(inputStream, inputCodec, outputStream, outputCodec, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link Configuration#transcode(InputStream, ConfigCodec, OutputStream, ConfigCodec)}, but reads from and
+     * writes to the provided {@link Path}s.
+     *
+     * @param inputPath   the path pointing to the file to read from
+     * @param inputCodec  the codec used to decode the input file
+     * @param outputPath  the path pointing to the file to write to
+     * @param outputCodec the codec used to encode the output file
+     * @throws IOException if an IO error occurs
+     */
+    public static void transcode(@NotNull Path inputPath, @NotNull ConfigCodec inputCodec, @NotNull Path outputPath,
+        @NotNull ConfigCodec outputCodec) throws IOException {
+        Objects.requireNonNull(inputPath);
+        Objects.requireNonNull(inputCodec);
+        Objects.requireNonNull(outputPath);
+        Objects.requireNonNull(outputCodec);
+
+        InputStream inputStream = new BufferedInputStream(Files.newInputStream(inputPath));
+        OutputStream outputStream;
+        try {
+            outputStream = new BufferedOutputStream(Files.newOutputStream(outputPath));
+        } catch (IOException exception) {
+            inputStream.close();
+            throw exception;
+        }
+
+        transcodeInternal(inputStream, inputCodec, outputStream, outputCodec);
+    }
+
     /**
      * Writes a {@link ConfigElement} to an {@link OutputStream}, using the given {@link ConfigCodec}.
      *
@@ -668,8 +877,9 @@ public final class Configuration {
     }
 
     /**
-     * Same as {@link Configuration#read(InputStream, ConfigCodec)}, but uses a {@link InputStream} constructed from the
-     * provided {@link Path}.
+     * Same as {@link Configuration#read(InputStream, ConfigCodec)}, but reads from the provided {@link Path}. The file is
+     * passed to {@link ConfigCodec#decode(ByteBuffer)}; large files are mapped into memory rather than streamed if the
+     * codec {@link ConfigCodec#supportsMappedBuffers() supports mapped buffers}.
      *
      * @param path  the path pointing to the file to read from
      * @param codec the codec to use to decode the file
@@ -680,7 +890,35 @@ public final class Configuration {
         Objects.requireNonNull(path);
         Objects.requireNonNull(codec);
 
-        return readInternal(new BufferedInputStream(Files.newInputStream(path)), codec);
+        return BufferUtils.decode(path, codec);
+    }
+
+    /**
+     * Reads only the element located at the given {@link ConfigPath} from the file at the provided {@link Path}. Paths
+     * are followed in the same way as {@link ConfigElement#at(ConfigPath)}.
+     * <p>
+     * If the codec supports streaming (see {@link ConfigCodec#supportsStreaming()}), the file is read using
+     * {@link ConfigCodec#decode(InputStream, ConfigPath)}, which skips any data not on the path, so only the requested
+     * element is materialized. Otherwise, this method behaves like {@link Configuration#read(Path, ConfigCodec)},
+     * followed by a call to {@link ConfigElement#at(ConfigPath)}.
+     *
+     * @param path       the path pointing to the file to read from
+     * @param codec      the codec to use to decode the file
+     * @param configPath the path of the element to read
+     * @return the element at the given path, or null if no such element exists
+     * @throws IOException if an IO error occurs
+     */
+    public static @Nullable ConfigElement read(@NotNull Path path, @NotNull ConfigCodec codec,
+        @NotNull ConfigPath configPath) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(configPath);
+
+        if (codec.supportsStreaming()) {
+            return codec.decode(new BufferedInputStream(Files.newInputStream(path)), configPath);
+        }
+
+        return BufferUtils.decode(path, codec).at(configPath);
     }
 
     /**
@@ -698,12 +936,12 @@ public final class Configuration {
         Objects.requireNonNull(codec);
         Objects.requireNonNull(executor);
 
-        return readAsyncInternal(() -> new BufferedInputStream(Files.newInputStream(path)), codec, executor);
+        return readAsyncInternal(path, codec, executor);
     }
 
-    private static CompletableFuture<ConfigElement> readAsyncInternal(Callable<? extends InputStream> inputStream,
-        ConfigCodec codec, Executor executor) {
-        return FutureUtils.completeCallableAsync(() -> codec.decode(inputStream.call()), executor);
+    private static CompletableFuture<ConfigElement> readAsyncInternal(Path path, ConfigCodec codec,
+        Executor executor) {
+        return FutureUtils.completeCallableAsync(() -> BufferUtils.decode(path, codec), executor);
     }
 
     /**
@@ -718,8 +956,7 @@ public final class Configuration {
         Objects.requireNonNull(path);
         Objects.requireNonNull(codec);
 
-        return readAsyncInternal(() -> new BufferedInputStream(Files.newInputStream(path)), codec,
-            ForkJoinPool.commonPool());
+        return readAsyncInternal(path, codec, ForkJoinPool.commonPool());
     }
 
     /**
@@ -739,7 +976,7 @@ public final class Configuration {
         Objects.requireNonNull(codec);
         Objects.requireNonNull(processor);
 
-        return processor.dataFromElement(readInternal(new BufferedInputStream(Files.newInputStream(path)), codec));
+        return processor.dataFromElement(BufferUtils.decode(path, codec));
     }
 
     /**
@@ -760,12 +997,12 @@ public final class Configuration {
         Objects.requireNonNull(processor);
         Objects.requireNonNull(executor);
 
-        return readAsyncInternal(() -> new BufferedInputStream(Files.newInputStream(path)), codec, processor, executor);
+        return readAsyncInternal(path, codec, processor, executor);
     }
 
-    private static <TData> CompletableFuture<TData> readAsyncInternal(Callable<? extends InputStream> inputStream,
-        ConfigCodec codec, ConfigProcessor<? extends TData> processor, Executor executor) {
-        return FutureUtils.completeCallableAsync(() -> processor.dataFromElement(codec.decode(inputStream.call())),
+    private static <TData> CompletableFuture<TData> readAsyncInternal(Path path, ConfigCodec codec,
+        ConfigProcessor<? extends TData> processor, Executor executor) {
+        return FutureUtils.completeCallableAsync(() -> processor.dataFromElement(BufferUtils.decode(path, codec)),
             executor);
     }
 
@@ -785,8 +1022,7 @@ public final class Configuration {
         Objects.requireNonNull(codec);
         Objects.requireNonNull(processor);
 
-        return readAsyncInternal(() -> new BufferedInputStream(Files.newInputStream(path)), codec, processor,
-            ForkJoinPool.commonPool());
+        return readAsyncInternal(path, codec, processor, ForkJoinPool.commonPool());
     }
 
     /**
@@ -924,4 +1160,4 @@ public final class Configuration {
         return writeAsyncInternal(() -> new BufferedOutputStream(Files.newOutputStream(path)), data, codec, processor,
             ForkJoinPool.commonPool());
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,417 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable {@link ConfigList} backed directly by an array. This is the list counterpart of
+ * {@link CompactConfigNode}, and is likewise created using a {@link Builder}.
+ * <p>
+ * Lists whose elements are all {@link Integer}s, all {@link Long}s or all {@link Double}s are backed by an
+ * {@code int[]}, {@code long[]} or {@code double[]} respectively, rather than storing a {@link ConfigPrimitive} per
+ * element. In this case, {@link CompactConfigList#get(int)} creates an equivalent primitive on demand, and the bulk
+ * accessors such as {@link CompactConfigList#toIntArray()} copy the backing array directly.
+ * <p>
+ * As with {@link CompactConfigNode}, the fields of a list cannot be final, so a completed list must be safely published
+ * before it is read by other threads.
+ */
+public final class CompactConfigList extends AbstractConfigList implements Immutable, RandomAccess {
+    private static final ConfigElement[] EMPTY_ELEMENT_ARRAY = new ConfigElement[0];
+
+    //the type of array backing this list; PENDING is only used by builders before the first element is added
+    private static final byte PENDING = -1;
+    private static final byte ELEMENTS = 0;
+    private static final byte INTS = 1;
+    private static final byte LONGS = 2;
+    private static final byte DOUBLES = 3;
+
+    private byte kind;
+    private ConfigElement[] elements;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private int size;
+
+    //zero if not yet computed, as for String; a racy read at worst computes the hash again
+    private int hashCode;
+
+    CompactConfigList(ConfigElement[] trusted) {
+        this.kind = ELEMENTS;
+        this.elements = trusted;
+        this.size = trusted.length;
+    }
+
+    private CompactConfigList() {
+        this.kind = PENDING;
+        this.elements = EMPTY_ELEMENT_ARRAY;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a list which is expected to contain the given number of elements.
+     *
+     * @param expectedSize the expected number of elements; this is a hint and may be exceeded
+     * @return a new builder
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public static @NotNull Builder builder(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize < 0");
+        }
+
+        return new Builder(new CompactConfigList(), expectedSize);
+    }
+
+    /**
+     * Creates a new list backed by a copy of the given int array.
+     *
+     * @param values the values of the list
+     * @return a new immutable list
+     */
+    public static @NotNull ConfigList ofInts(int @NotNull ... values) {
+        CompactConfigList list = new CompactConfigList();
+        list.kind = INTS;
+        list.ints = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    /**
+     * Creates a new list backed by a copy of the given long array.
+     *
+     * @param values the values of the list
+     * @return a new immutable list
+     */
+    public static @NotNull ConfigList ofLongs(long @NotNull ... values) {
+        CompactConfigList list = new CompactConfigList();
+        list.kind = LONGS;
+        list.longs = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    /**
+     * Creates a new list backed by a copy of the given double array.
+     *
+     * @param values the values of the list
+     * @return a new immutable list
+     */
+    public static @NotNull ConfigList ofDoubles(double @NotNull ... values) {
+        CompactConfigList list = new CompactConfigList();
+        list.kind = DOUBLES;
+        list.doubles = values.clone();
+        list.size = values.length;
+        return list;
+    }
+
+    private static byte kindOf(ConfigElement element) {
+        if (element instanceof ConfigPrimitive primitive) {
+            Class<?> type = primitive.scalarType();
+            if (type == Integer.class) {
+                return INTS;
+            } else if (type == Long.class) {
+                return LONGS;
+            } else if (type == Double.class) {
+                return DOUBLES;
+            }
+        }
+
+        return ELEMENTS;
+    }
+
+    private static int grow(int length) {
+        return Math.max(4, length + (length >> 1));
+    }
+
+    private void begin(byte kind, int capacity) {
+        this.kind = kind;
+        switch (kind) {
+            case INTS -> ints = new int[capacity];
+            case LONGS -> longs = new long[capacity];
+            case DOUBLES -> doubles = new double[capacity];
+            default -> elements = new ConfigElement[capacity];
+        }
+    }
+
+    //switches to storing elements individually, once an element is added which does not fit the primitive array
+    private void inflate() {
+        ConfigElement[] elements = new ConfigElement[grow(size)];
+        for (int i = 0; i < size; i++) {
+            elements[i] = get(i);
+        }
+
+        this.elements = elements;
+        this.ints = null;
+        this.longs = null;
+        this.doubles = null;
+        this.kind = ELEMENTS;
+    }
+
+    private void append(ConfigElement element, int expectedSize) {
+        if (kind == PENDING) {
+            begin(kindOf(element), Math.max(1, expectedSize));
+        } else if (kind != ELEMENTS && kindOf(element) != kind) {
+            inflate();
+        }
+
+        switch (kind) {
+            case INTS -> {
+                if (size == ints.length) {
+                    ints = Arrays.copyOf(ints, grow(size));
+                }
+
+                ints[size] = element.asInt();
+            }
+            case LONGS -> {
+                if (size == longs.length) {
+                    longs = Arrays.copyOf(longs, grow(size));
+                }
+
+                longs[size] = element.asLong();
+            }
+            case DOUBLES -> {
+                if (size == doubles.length) {
+                    doubles = Arrays.copyOf(doubles, grow(size));
+                }
+
+                doubles[size] = element.asDouble();
+            }
+            default -> {
+                if (size == elements.length) {
+                    elements = Arrays.copyOf(elements, grow(size));
+                }
+
+                elements[size] = element;
+            }
+        }
+
+        size++;
+    }
+
+    private void trim() {
+        switch (kind) {
+            case PENDING -> kind = ELEMENTS;
+            case INTS -> {
+                if (size != ints.length) {
+                    ints = Arrays.copyOf(ints, size);
+                }
+            }
+            case LONGS -> {
+                if (size != longs.length) {
+                    longs = Arrays.copyOf(longs, size);
+                }
+            }
+            case DOUBLES -> {
+                if (size != doubles.length) {
+                    doubles = Arrays.copyOf(doubles, size);
+                }
+            }
+            default -> {
+                if (size != elements.length) {
+                    elements = Arrays.copyOf(elements, size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the primitive component type of the array backing this list. If the list is backed by a primitive array,
+     * every element is a number of the corresponding wrapper type, and the bulk accessors such as
+     * {@link CompactConfigList#toIntArray()} do not need to create any intermediate elements.
+     *
+     * @return {@code int.class}, {@code long.class} or {@code double.class}, or null if the elements of this list are
+     * stored individually
+     */
+    public @Nullable Class<?> primitiveType() {
+        return switch (kind) {
+            case INTS -> int.class;
+            case LONGS -> long.class;
+            case DOUBLES -> double.class;
+            default -> null;
+        };
+    }
+
+    //the number of elements the backing array can hold; used by tests to check that builders release excess capacity
+    int capacity() {
+        return switch (kind) {
+            case INTS -> ints.length;
+            case LONGS -> longs.length;
+            case DOUBLES -> doubles.length;
+            default -> elements.length;
+        };
+    }
+
+    @Override
+    public ConfigElement get(int index) {
+        Objects.checkIndex(index, size);
+        return switch (kind) {
+            case INTS -> ConfigPrimitive.of(ints[index]);
+            case LONGS -> ConfigPrimitive.of(longs[index]);
+            case DOUBLES -> ConfigPrimitive.of(doubles[index]);
+            default -> elements[index];
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int @NotNull [] toIntArray() {
+        int[] array = new int[size];
+        switch (kind) {
+            case INTS -> System.arraycopy(ints, 0, array, 0, size);
+            case LONGS -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = (int) longs[i];
+                }
+            }
+            case DOUBLES -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = (int) doubles[i];
+                }
+            }
+            default -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = elements[i].asInt();
+                }
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public long @NotNull [] toLongArray() {
+        long[] array = new long[size];
+        switch (kind) {
+            case INTS -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = ints[i];
+                }
+            }
+            case LONGS -> System.arraycopy(longs, 0, array, 0, size);
+            case DOUBLES -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = (long) doubles[i];
+                }
+            }
+            default -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = elements[i].asLong();
+                }
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public double @NotNull [] toDoubleArray() {
+        double[] array = new double[size];
+        switch (kind) {
+            case INTS -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = ints[i];
+                }
+            }
+            case LONGS -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = longs[i];
+                }
+            }
+            case DOUBLES -> System.arraycopy(doubles, 0, array, 0, size);
+            default -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = elements[i].asDouble();
+                }
+            }
+        }
+
+        return array;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            this.hashCode = hashCode = super.hashCode();
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * Builds a {@link CompactConfigList}. The list under construction is available through {@link Builder#list()}
+     * before it is complete, so that it may be referred to by its own descendants.
+     * <p>
+     * While every element added so far is an {@link Integer}, {@link Long} or {@link Double} primitive of the same
+     * type, the list stores their values in a primitive array. It switches to storing elements individually as soon as
+     * any other element is added.
+     * <p>
+     * Callers must ensure that every element added to the list is itself immutable, and that the list is not published
+     * to other threads while it is being built.
+     */
+    public static final class Builder {
+        private final int expectedSize;
+        private CompactConfigList list;
+
+        private Builder(CompactConfigList list, int expectedSize) {
+            this.list = list;
+            this.expectedSize = expectedSize;
+        }
+
+        private CompactConfigList current() {
+            CompactConfigList list = this.list;
+            if (list == null) {
+                throw new IllegalStateException("List has already been built");
+            }
+
+            return list;
+        }
+
+        /**
+         * Adds an element to the end of the list.
+         *
+         * @param element the element to add
+         * @return this builder
+         * @throws IllegalStateException if {@link Builder#build()} was already called
+         */
+        public @NotNull Builder add(@NotNull ConfigElement element) {
+            Objects.requireNonNull(element);
+
+            current().append(element, expectedSize);
+            return this;
+        }
+
+        /**
+         * Gets the list under construction.
+         *
+         * @return the list under construction
+         * @throws IllegalStateException if {@link Builder#build()} was already called
+         */
+        public @NotNull ConfigList list() {
+            return current();
+        }
+
+        /**
+         * Completes the list, releasing any excess capacity. The builder cannot be used afterwards.
+         *
+         * @return the completed list
+         * @throws IllegalStateException if this method was already called
+         */
+        public @NotNull ConfigList build() {
+            CompactConfigList list = current();
+            list.trim();
+
+            this.list = null;
+            return list;
+        }
+    }
+}
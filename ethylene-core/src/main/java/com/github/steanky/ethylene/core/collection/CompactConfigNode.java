@@ -0,0 +1,293 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * An immutable, ordered {@link ConfigNode} which stores its keys and values in parallel arrays. Small nodes are
+ * searched linearly; larger nodes additionally keep a compact open-addressing index of the array positions. This uses
+ * considerably less memory than a node backed by a {@link LinkedHashMap}, which allocates an entry object per
+ * mapping.
+ * <p>
+ * Instances are created using a {@link Builder}, and are produced by {@link ConfigContainer#immutableCopy()},
+ * {@link ConfigNode#immutable(Object...)} and {@link com.github.steanky.ethylene.core.ConfigCodec#decodeImmutable}.
+ * <p>
+ * Since a node under construction may be referred to by its own descendants, its fields cannot be final. A completed
+ * node may be read by any number of threads, but it must be <i>safely published</i> to them, for example through a
+ * volatile or final field, a concurrent collection, or the completion of a {@link java.util.concurrent.Future}.
+ */
+public final class CompactConfigNode extends AbstractConfigNode implements Immutable {
+    //nodes with at most this many entries are searched linearly, without an index
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private String[] keys;
+    private ConfigElement[] values;
+    private int size;
+
+    //slots contain the array position of an entry plus one; zero indicates an empty slot
+    private int[] index;
+
+    private Set<Entry<String, ConfigElement>> entrySet;
+
+    //zero if not yet computed, as for String; a racy read at worst computes the hash again
+    private int hashCode;
+
+    private CompactConfigNode(int capacity) {
+        this.keys = new String[capacity];
+        this.values = new ConfigElement[capacity];
+    }
+
+    /**
+     * Creates a new {@link Builder} for a node which is expected to contain the given number of entries.
+     *
+     * @param expectedSize the expected number of entries; this is a hint and may be exceeded
+     * @return a new builder
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public static @NotNull Builder builder(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize < 0");
+        }
+
+        return new Builder(new CompactConfigNode(expectedSize));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int find(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        int[] index = this.index;
+        if (index == null) {
+            String[] keys = this.keys;
+            for (int i = 0; i < size; i++) {
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        int mask = index.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (true) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+
+            if (key.equals(keys[entry - 1])) {
+                return entry - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insertIndex(int position) {
+        int mask = index.length - 1;
+        int slot = spread(keys[position].hashCode()) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        index[slot] = position + 1;
+    }
+
+    private void rebuildIndex() {
+        //keep the load factor at or below one half, so probe sequences stay short
+        index = new int[Integer.highestOneBit(size << 1) << 1];
+        for (int i = 0; i < size; i++) {
+            insertIndex(i);
+        }
+    }
+
+    private void append(String key, ConfigElement value) {
+        int existing = find(key);
+        if (existing != -1) {
+            values[existing] = value;
+            return;
+        }
+
+        if (size == keys.length) {
+            int capacity = Math.max(4, size + (size >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        keys[size] = key;
+        values[size] = value;
+        int position = size++;
+
+        if (index != null) {
+            if (size << 1 > index.length) {
+                rebuildIndex();
+            } else {
+                insertIndex(position);
+            }
+        } else if (size > LINEAR_SCAN_THRESHOLD) {
+            rebuildIndex();
+        }
+    }
+
+    private void trim() {
+        if (size != keys.length) {
+            keys = Arrays.copyOf(keys, size);
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != -1;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        ConfigElement[] values = this.values;
+        for (int i = 0; i < size; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public ConfigElement get(Object key) {
+        int position = find(key);
+        return position == -1 ? null : values[position];
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, ConfigElement>> entrySet() {
+        Set<Entry<String, ConfigElement>> entrySet = this.entrySet;
+        if (entrySet != null) {
+            return entrySet;
+        }
+
+        return this.entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, ConfigElement>> iterator() {
+                return new Iterator<>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < size;
+                    }
+
+                    @Override
+                    public Entry<String, ConfigElement> next() {
+                        if (i >= size) {
+                            throw new NoSuchElementException();
+                        }
+
+                        int position = i++;
+                        return new SimpleImmutableEntry<>(keys[position], values[position]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    //the number of entries the backing arrays can hold; used by tests to check that builders release excess capacity
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            this.hashCode = hashCode = super.hashCode();
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * Builds a {@link CompactConfigNode}. The node under construction is available through {@link Builder#node()}
+     * before it is complete, so that it may be referred to by its own descendants.
+     * <p>
+     * Callers must ensure that every value added to the node is itself immutable, and that the node is not published
+     * to other threads while it is being built.
+     */
+    public static final class Builder {
+        private CompactConfigNode node;
+
+        private Builder(CompactConfigNode node) {
+            this.node = node;
+        }
+
+        private CompactConfigNode current() {
+            CompactConfigNode node = this.node;
+            if (node == null) {
+                throw new IllegalStateException("Node has already been built");
+            }
+
+            return node;
+        }
+
+        /**
+         * Adds an entry to the node. If the key is already present, its value is replaced, and it keeps its original
+         * position.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return this builder
+         * @throws IllegalStateException if {@link Builder#build()} was already called
+         */
+        public @NotNull Builder put(@NotNull String key, @NotNull ConfigElement value) {
+            current().append(Objects.requireNonNull(key), Objects.requireNonNull(value));
+            return this;
+        }
+
+        /**
+         * Gets the node under construction.
+         *
+         * @return the node under construction
+         * @throws IllegalStateException if {@link Builder#build()} was already called
+         */
+        public @NotNull ConfigNode node() {
+            return current();
+        }
+
+        /**
+         * Completes the node, releasing any excess capacity. The builder cannot be used afterwards.
+         *
+         * @return the completed node
+         * @throws IllegalStateException if this method was already called
+         */
+        public @NotNull ConfigNode build() {
+            CompactConfigNode node = current();
+            node.trim();
+            this.node = null;
+            return node;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.steanky.ethylene.core.collection;
 
 import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.Graph;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
@@ -72,8 +73,10 @@ public interface ConfigContainer extends ConfigElement {
 
     /**
      * Creates an exact, deep copy of this {@link ConfigContainer}, preserving the entire configuration tree, including
-     * circular references, and attempts to preserve the type of each container. Each container present in the new tree
-     * is guaranteed to be a different object than its equivalent in the original tree, except when:
+     * circular and shared references, and attempts to preserve the type of each container. A container referenced from
+     * more than one place in the original tree is copied only once, and the copy is referenced from the same places in
+     * the new tree. Each container present in the new tree is guaranteed to be a different object than its equivalent
+     * in the original tree, except when:
      *
      * <ol>
      *     <li>the element is a scalar type, or</li>
@@ -87,24 +90,69 @@ public interface ConfigContainer extends ConfigElement {
      * @return an exact, deep copy of this ConfigContainer
      */
     default @NotNull ConfigContainer copy() {
-        return ConfigContainers.copy(this);
+        return ConfigContainers.copy(this, Graph.Options.PRESERVE_SHARED);
+    }
+
+    /**
+     * Creates a deep copy of this {@link ConfigContainer} in the same manner as {@link ConfigContainer#copy()}, but
+     * processes sub-containers in parallel. This can be considerably faster for very large trees. Unlike
+     * {@code copy}, this method does not support circular references, and containers referenced from more than one
+     * place are copied once for every place they occur.
+     * <p>
+     * {@link ConfigContainer#emptyCopy()} may be called concurrently on different containers in the tree.
+     *
+     * @return a deep copy of this ConfigContainer
+     * @throws IllegalArgumentException if this container contains circular references
+     * @see Graph.Options#PARALLEL
+     */
+    default @NotNull ConfigContainer parallelCopy() {
+        return ConfigContainers.copy(this, Graph.Options.PARALLEL);
     }
 
     /**
      * Creates an immutable copy of this ConfigContainer, preserving the entire configuration tree, including circular
-     * references. Any sub-containers are converted to an immutable equivalent if necessary. As with
+     * and shared references. Any sub-containers are converted to an immutable equivalent if necessary. As with
      * {@link ConfigContainer#copy()}, only scalar types and immutable collection types are left unchanged between the
      * input and output graph.
      *
      * @return an immutable copy of this ConfigContainer, whose contents will not change even if this container changes
      */
     default @NotNull ConfigContainer immutableCopy() {
-        return ConfigContainers.immutableCopy(this);
+        return ConfigContainers.immutableCopy(this, Graph.Options.PRESERVE_SHARED);
+    }
+
+    /**
+     * Creates an immutable copy of this ConfigContainer in the same manner as {@link ConfigContainer#immutableCopy()},
+     * but processes sub-containers in parallel. This can be considerably faster for very large trees. Unlike
+     * {@code immutableCopy}, this method does not support circular references, and containers referenced from more
+     * than one place are copied once for every place they occur.
+     *
+     * @return an immutable copy of this ConfigContainer, whose contents will not change even if this container changes
+     * @throws IllegalArgumentException if this container contains circular references
+     * @see Graph.Options#PARALLEL
+     */
+    default @NotNull ConfigContainer parallelImmutableCopy() {
+        return ConfigContainers.immutableCopy(this, Graph.Options.PARALLEL);
+    }
+
+    /**
+     * Creates an immutable copy of this ConfigContainer in which every container is replaced by its canonical instance
+     * according to the given {@link ConfigInterner}. Structurally equal subtrees, whether they occur in this tree or in
+     * any other tree interned using the same interner, will be represented by the same instance. Shared references are
+     * preserved, but circular references are not supported.
+     *
+     * @param interner the interner holding canonical containers
+     * @return an interned, immutable copy of this ConfigContainer
+     * @throws IllegalArgumentException if this container contains circular references
+     */
+    default @NotNull ConfigContainer internedImmutableCopy(@NotNull ConfigInterner interner) {
+        Objects.requireNonNull(interner);
+        return ConfigContainers.internedImmutableCopy(this, interner);
     }
 
     /**
      * Creates a mutable copy of this ConfigContainer, preserving the entire configuration tree, including circular
-     * references. All sub-containers are recreated as mutable variants {@link LinkedConfigNode} and
+     * and shared references. All sub-containers are recreated as mutable variants {@link LinkedConfigNode} and
      * {@link ArrayConfigList}, respectively. Only scalar types are left unchanged between the input and output, as
      * those cannot be made mutable.
      *
@@ -116,8 +164,9 @@ public interface ConfigContainer extends ConfigElement {
 
     /**
      * Creates a mutable copy of this ConfigContainer, preserving the entire configuration tree, including circular
-     * references. All sub-containers are recreated as mutable variants supplied by the provided {@link IntFunction}s.
-     * Only scalar types are left unchanged between the input and output, as those cannot be made mutable.
+     * and shared references. All sub-containers are recreated as mutable variants supplied by the provided
+     * {@link IntFunction}s. Only scalar types are left unchanged between the input and output, as those cannot be made
+     * mutable.
      *
      * @param configNodeCreator the function responsible for creating new, empty {@link ConfigNode} implementations;
      *                          cannot return {@code null}
@@ -134,7 +183,7 @@ public interface ConfigContainer extends ConfigElement {
 
     /**
      * Creates an immutable view of this ConfigContainer, preserving the entire configuration tree, including circular
-     * references. Any sub-containers are converted to an immutable view equivalent if necessary. As with
+     * and shared references. Any sub-containers are converted to an immutable view equivalent if necessary. As with
      * {@link ConfigContainer#copy()}, only scalar types and immutable collection types are left unchanged between the
      * input and output graph.
      *
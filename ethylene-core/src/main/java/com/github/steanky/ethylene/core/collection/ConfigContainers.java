@@ -7,7 +7,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -17,25 +16,33 @@ import java.util.function.IntFunction;
  * Internal utilities for containers. Not part of the public API.
  */
 final class ConfigContainers {
+    /*
+    copies are made often, so reuse the traversal state. node functions may be called from worker threads when copying
+    in parallel, so they must always use the context belonging to the current thread
+     */
+    private static final ThreadLocal<Graph.Context> CONTEXT = ThreadLocal.withInitial(Graph::context);
+
     /**
-     * Deep-copies the provided {@link ConfigContainer}, maintaining the extract structure of the input tree, including
-     * circular references, and the implementation types of every container encountered (when possible).
+     * Deep-copies the provided {@link ConfigContainer}, maintaining the exact structure of the input tree, including
+     * circular and shared references, and the implementation types of every container encountered (when possible).
      * <p>
      * Immutable implementations of {@link ConfigContainer} will not be copied; the same instances will exist in the
      * input as well as the output tree.
      *
      * @param original the original
+     * @param flags the {@link Graph.Options} used to process the input
      * @return an exact copy of the input
      */
-    static @NotNull ConfigContainer copy(@NotNull ConfigContainer original) {
+    static @NotNull ConfigContainer copy(@NotNull ConfigContainer original, int flags) {
         if (original instanceof ImmutableView) {
             return original;
         }
 
         return (ConfigContainer) Graph.process(original, (ConfigElement node) -> {
+            Graph.Context context = CONTEXT.get();
             if (node instanceof ImmutableView) {
                 //don't write anything to this accumulator
-                return Graph.node(Iterators.iterator(), Graph.output(node, Graph.emptyAccumulator()));
+                return context.node(Iterators.iterator(), context.output(node, Graph.emptyAccumulator()));
             }
 
             ConfigContainer configContainer = node.asContainer();
@@ -46,8 +53,8 @@ final class ConfigContainers {
                 emptyCopy = configContainer.isNode() ? new LinkedConfigNode(size) : new ArrayConfigList(size);
             }
 
-            return constructMutableNode(entryCollection, emptyCopy);
-        }, ConfigElement::isContainer, Function.identity(), Graph.Options.TRACK_REFERENCES);
+            return constructMutableNode(context, entryCollection, emptyCopy);
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), CONTEXT.get(), flags);
     }
 
     /**
@@ -71,25 +78,28 @@ final class ConfigContainers {
                 throw new NullPointerException("Container function returned null");
             }
 
-            return constructMutableNode(entryCollection, result);
-        }, ConfigElement::isContainer, Function.identity(), Graph.Options.TRACK_REFERENCES);
+            return constructMutableNode(CONTEXT.get(), entryCollection, result);
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), CONTEXT.get(),
+            Graph.Options.PRESERVE_SHARED);
     }
 
     /**
      * Creates an immutable copy of the provided {@link ConfigContainer}.
      *
      * @param original the original container
+     * @param flags the {@link Graph.Options} used to process the input
      * @return an immutable copy of the original
      */
-    static @NotNull ConfigContainer immutableCopy(@NotNull ConfigContainer original) {
+    static @NotNull ConfigContainer immutableCopy(@NotNull ConfigContainer original, int flags) {
         if (original instanceof Immutable) {
             return original;
         }
 
         return Graph.process(original, (ConfigElement node) -> {
+            Graph.Context context = CONTEXT.get();
             if (node instanceof Immutable) {
                 //don't go deeper into this node, its children are obligated to be immutable
-                return Graph.node(Iterators.iterator(), Graph.output(node, Graph.emptyAccumulator()));
+                return context.node(Iterators.iterator(), context.output(node, Graph.emptyAccumulator()));
             }
 
             ConfigContainer configContainer = node.asContainer();
@@ -98,14 +108,77 @@ final class ConfigContainers {
             if (entryCollection.isEmpty()) {
                 ConfigContainer emptyContainer =
                     configContainer.isNode() ? EmptyImmutableConfigNode.INSTANCE : EmptyImmutableConfigList.INSTANCE;
-                return Graph.node(Iterators.iterator(), Graph.output(emptyContainer, Graph.emptyAccumulator()));
+                return context.node(Iterators.iterator(), context.output(emptyContainer, Graph.emptyAccumulator()));
             }
 
             int size = entryCollection.size();
-            Graph.Output<ConfigElement, String> output = constructOutput(configContainer, size);
+            Graph.Output<ConfigElement, String> output = constructOutput(context, configContainer, size);
 
-            return Graph.node(Graph.iterator(entryCollection.iterator()), output);
-        }, ConfigElement::isContainer, Function.identity(), Graph.Options.TRACK_REFERENCES).asContainer();
+            return context.node(context.iterator(entryCollection.iterator()), output);
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), CONTEXT.get(), flags).asContainer();
+    }
+
+    /**
+     * Creates an immutable copy of the provided {@link ConfigContainer}, replacing every container in the copy with
+     * its canonical instance according to the given {@link ConfigInterner}. Containers are built bottom-up, so that
+     * each one is canonicalized after all of its children. Shared references in the input are preserved.
+     *
+     * @param original the original container
+     * @param interner the interner holding canonical containers
+     * @return an interned, immutable copy of the original
+     * @throws IllegalArgumentException if the original contains circular references
+     */
+    static @NotNull ConfigContainer internedImmutableCopy(@NotNull ConfigContainer original,
+        @NotNull ConfigInterner interner) {
+        Map<ConfigContainer, ConfigContainer> done = new IdentityHashMap<>();
+        Set<ConfigContainer> active = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<InternFrame> stack = new ArrayDeque<>();
+
+        active.add(original);
+        stack.push(new InternFrame(original));
+
+        ConfigContainer result = null;
+        while (!stack.isEmpty()) {
+            InternFrame frame = stack.peek();
+            if (frame.iterator.hasNext()) {
+                ConfigEntry entry = frame.iterator.next();
+                ConfigElement value = entry.getValue();
+                if (!value.isContainer()) {
+                    frame.add(entry.getKey(), value);
+                    continue;
+                }
+
+                ConfigContainer child = value.asContainer();
+                ConfigContainer interned = done.get(child);
+                if (interned != null) {
+                    frame.add(entry.getKey(), interned);
+                    continue;
+                }
+
+                if (!active.add(child)) {
+                    throw new IllegalArgumentException("Circular references cannot be interned");
+                }
+
+                frame.pendingKey = entry.getKey();
+                stack.push(new InternFrame(child));
+                continue;
+            }
+
+            stack.pop();
+            active.remove(frame.source);
+
+            ConfigContainer canonical = interner.canonicalize(frame.build());
+            done.put(frame.source, canonical);
+
+            InternFrame parent = stack.peek();
+            if (parent == null) {
+                result = canonical;
+            } else {
+                parent.add(parent.pendingKey, canonical);
+            }
+        }
+
+        return result;
     }
 
     /**
@@ -137,13 +210,14 @@ final class ConfigContainers {
             }
 
             return Graph.node(Graph.iterator(configContainer.entryCollection().iterator()), Graph.output(view, Graph.emptyAccumulator()));
-        }, ConfigElement::isContainer, Function.identity(), Graph.Options.TRACK_REFERENCES).asContainer();
+        }, ConfigElement::isContainer, Function.identity(), Graph.Options.PRESERVE_SHARED).asContainer();
     }
 
-    private static Graph.Node<ConfigElement, ConfigElement, String> constructMutableNode(Collection<ConfigEntry> entryCollection, ConfigContainer result) {
+    private static Graph.Node<ConfigElement, ConfigElement, String> constructMutableNode(Graph.Context context,
+        Collection<ConfigEntry> entryCollection, ConfigContainer result) {
         ConfigNode outNode = result.isNode() ? result.asNode() : null;
         ConfigList outList = result.isList() ? result.asList() : null;
-        return Graph.node(Graph.iterator(entryCollection.iterator()), Graph.output(result, (key, element, circular) -> {
+        return context.node(context.iterator(entryCollection.iterator()), context.output(result, (key, element, circular) -> {
             if (outNode != null) {
                 outNode.put(key, element);
             } else if (outList != null) {
@@ -152,21 +226,34 @@ final class ConfigContainers {
         }));
     }
 
-    private static Graph.Output<ConfigElement, String> constructOutput(ConfigContainer configContainer, int size) {
+    private static Graph.Output<ConfigElement, String> constructOutput(Graph.Context context,
+        ConfigContainer configContainer, int size) {
         Graph.Output<ConfigElement, String> output;
+        //the size is exact, but lists may still need to be trimmed if they switch away from a primitive array
         if (configContainer.isNode()) {
-            Map<String, ConfigElement> underlyingMap = new LinkedHashMap<>(size, 1F);
-            ConfigNode immutableNode = new ImmutableConfigNode(underlyingMap);
-            output = Graph.output(immutableNode, (k, v, b) -> underlyingMap.put(k, v));
+            CompactConfigNode.Builder builder = CompactConfigNode.builder(size);
+            output = context.output(builder.node(), new Graph.Accumulator<>() {
+                @Override
+                public void accept(String key, ConfigElement out, boolean circular) {
+                    builder.put(key, out);
+                }
+
+                @Override
+                public void finish() {
+                    builder.build();
+                }
+            });
         } else {
-            ConfigElement[] underlyingArray = new ConfigElement[size];
-            ConfigList immutableList = new ImmutableConfigList(underlyingArray);
-            output = Graph.output(immutableList, new Graph.Accumulator<>() {
-                private int i;
+            CompactConfigList.Builder builder = CompactConfigList.builder(size);
+            output = context.output(builder.list(), new Graph.Accumulator<>() {
+                @Override
+                public void accept(String key, ConfigElement out, boolean circular) {
+                    builder.add(out);
+                }
 
                 @Override
-                public void accept(String s, ConfigElement element, boolean circular) {
-                    underlyingArray[i++] = element;
+                public void finish() {
+                    builder.build();
                 }
             });
         }
@@ -174,6 +261,43 @@ final class ConfigContainers {
         return output;
     }
 
+    //a container whose children are still being interned
+    private static final class InternFrame {
+        private final ConfigContainer source;
+        private final Iterator<ConfigEntry> iterator;
+        private final CompactConfigNode.Builder nodeBuilder;
+        private final CompactConfigList.Builder listBuilder;
+        private String pendingKey;
+
+        private InternFrame(ConfigContainer source) {
+            Collection<ConfigEntry> entryCollection = source.entryCollection();
+            int size = entryCollection.size();
+
+            this.source = source;
+            this.iterator = entryCollection.iterator();
+            this.nodeBuilder = source.isNode() && size > 0 ? CompactConfigNode.builder(size) : null;
+            this.listBuilder = source.isList() && size > 0 ? CompactConfigList.builder(size) : null;
+        }
+
+        private void add(String key, ConfigElement value) {
+            if (nodeBuilder != null) {
+                nodeBuilder.put(key, value);
+            } else if (listBuilder != null) {
+                listBuilder.add(value);
+            }
+        }
+
+        private ConfigContainer build() {
+            if (nodeBuilder != null) {
+                return nodeBuilder.build();
+            } else if (listBuilder != null) {
+                return listBuilder.build();
+            }
+
+            return source.isNode() ? EmptyImmutableConfigNode.INSTANCE : EmptyImmutableConfigList.INSTANCE;
+        }
+    }
+
     /**
      * A utility method used internally by {@link ConfigNode#immutable(Object...)} and {@link ConfigNode#of(Object...)}.
      * Checks that the array length is even, iterates the array,two elements at a time, checking that the first is a
@@ -400,99 +524,4 @@ final class ConfigContainers {
             return 1;
         }
     }
-
-    static final class ImmutableConfigNode extends AbstractConfigNode implements Immutable {
-        private final Map<String, ConfigElement> map;
-        private Set<Entry<String, ConfigElement>> entrySetView;
-
-        private boolean hashed;
-        private int hashCode;
-
-        ImmutableConfigNode(Map<String, ConfigElement> trusted) {
-            this.map = trusted;
-        }
-
-        @Override
-        public int size() {
-            return map.size();
-        }
-
-        @Override
-        public boolean containsValue(Object value) {
-            return map.containsValue(value);
-        }
-
-        @Override
-        public boolean containsKey(Object key) {
-            return map.containsKey(key);
-        }
-
-        @Override
-        public ConfigElement get(Object key) {
-            return map.get(key);
-        }
-
-        @NotNull
-        @Override
-        public Set<Entry<String, ConfigElement>> entrySet() {
-            Set<Entry<String, ConfigElement>> entrySet = this.entrySetView;
-            if (entrySet != null) {
-                return entrySet;
-            }
-
-            this.entrySetView = entrySet = Collections.unmodifiableSet(map.entrySet());
-            return entrySet;
-        }
-
-        @Override
-        public int hashCode() {
-            if (this.hashed) {
-                return this.hashCode;
-            }
-
-            int hashCode = super.hashCode();
-
-            this.hashCode = hashCode;
-            VarHandle.storeStoreFence();
-            this.hashed = true;
-
-            return hashCode;
-        }
-    }
-
-    static final class ImmutableConfigList extends AbstractConfigList implements Immutable, RandomAccess {
-        private final ConfigElement[] elements;
-
-        private boolean hashed;
-        private int hashCode;
-
-        ImmutableConfigList(ConfigElement[] elements) {
-            this.elements = elements;
-        }
-
-        @Override
-        public ConfigElement get(int index) {
-            return elements[index];
-        }
-
-        @Override
-        public int size() {
-            return elements.length;
-        }
-
-        @Override
-        public int hashCode() {
-            if (this.hashed) {
-                return this.hashCode;
-            }
-
-            int hashCode = super.hashCode();
-
-            this.hashCode = hashCode;
-            VarHandle.storeStoreFence();
-            this.hashed = true;
-
-            return hashCode;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -541,71 +541,21 @@ public final class ConfigElements {
         return firstCollection.size() == secondCollection.size() ? EquateResult.UNSURE : EquateResult.NOT_EQUALS;
     }
 
-    private static class ToStringEntry {
-        private final StringBuilder builder;
-        private final ToStringEntry parent;
+    private static final class ToStringEntry {
         private final ConfigContainer container;
         private final Iterator<ConfigEntry> containerIterator;
         private final boolean list;
-        private final String parentKey;
-        private final int absoluteStartIndex;
-        private int count;
+        private final int ordinal;
         private int reference;
-        private boolean added;
+        private boolean first;
 
-        private ToStringEntry(ToStringEntry parent, ConfigContainer container, String parentKey, int absoluteStartIndex) {
-            this.builder = new StringBuilder(initBuilder(container));
-            this.parent = parent;
+        private ToStringEntry(ConfigContainer container, int ordinal, int reference) {
             this.container = container;
             this.containerIterator = container.entryCollection().iterator();
             this.list = container.isList();
-            this.parentKey = parentKey;
-            this.absoluteStartIndex = absoluteStartIndex;
-            reference = -1;
-        }
-
-        private ToStringEntry findParent(ConfigContainer container) {
-            ToStringEntry entry = this;
-            while (entry != null) {
-                if (entry.container == container) {
-                    return entry;
-                }
-
-                entry = entry.parent;
-            }
-
-            return null;
-        }
-
-        private static String initBuilder(ConfigContainer container) {
-            boolean list = container.isList();
-
-            Collection<ConfigEntry> entries = container.entryCollection();
-            if (entries.isEmpty()) {
-                return list ? "[]" : "{}";
-            }
-
-            return list ? "[" : "{";
-        }
-
-        private void append(String key, CharSequence sequence) {
-            if (key == null) {
-                builder.append(sequence);
-            }
-            else {
-                builder.append(key);
-                builder.append("=");
-                builder.append(sequence);
-            }
-
-            if (count < container.entryCollection().size() - 1) {
-                builder.append(", ");
-            }
-            else {
-                builder.append(list ? "]" : "}");
-            }
-
-            count++;
+            this.ordinal = ordinal;
+            this.reference = reference;
+            this.first = true;
         }
     }
 
@@ -614,6 +564,10 @@ public final class ConfigElements {
     /**
      * Alternative to {@link ConfigElements#toString(ConfigElement)} designed for outputting to a generic {@link Writer}.
      * Does not close {@code output}.
+     * <p>
+     * Output is written incrementally. The element is traversed twice: once to determine which containers need to be
+     * tagged, and once to write them.
+     *
      * @param input the input ConfigElement
      * @param output the output writer
      * @throws IOException if an IOException occurs when writing to the writer
@@ -635,72 +589,122 @@ public final class ConfigElements {
             return;
         }
 
+        traverse(rootContainer, traverse(rootContainer, null, null), output);
+    }
+
+    /*
+    Walks the tree of containers. When output is null, nothing is written, and the tags that need to be assigned are
+    determined and returned. The array is indexed by the order in which each container is first visited, and stores one
+    more than the tag number (so 0 indicates no tag), or is null if there are no tags at all. Otherwise, the tags
+    determined by a previous call are written along with the rest of the tree.
+     */
+    private static int[] traverse(ConfigContainer root, int[] tags, Writer output) throws IOException {
         Deque<ToStringEntry> stack = new ArrayDeque<>();
-        ToStringEntry root = new ToStringEntry(null, rootContainer, null, 0);
-        stack.push(root);
 
+        //each container can only be present once in the current chain of ancestors
+        Map<ConfigContainer, ToStringEntry> ancestors = new IdentityHashMap<>();
+
+        int ordinal = 0;
         int referenced = 0;
-        StringBuilder tagBuffer = new StringBuilder(2);
-        tagBuffer.append(TAG_PREFIX);
+
+        ToStringEntry rootEntry = new ToStringEntry(root, ordinal++, tagFor(tags, 0));
+        open(rootEntry, output);
+        stack.push(rootEntry);
+        ancestors.put(root, rootEntry);
 
         while (!stack.isEmpty()) {
             ToStringEntry current = stack.peek();
             if (!current.containerIterator.hasNext()) {
-                stack.pop();
-
-                ToStringEntry parent = current.parent;
-                if (parent != null) {
-                    parent.append(current.parentKey, current.builder);
-                    current.added = true;
+                if (output != null) {
+                    output.write(current.list ? ']' : '}');
                 }
+
+                stack.pop();
+                ancestors.remove(current.container);
                 continue;
             }
 
-            while (current.containerIterator.hasNext()) {
-                ConfigEntry next = current.containerIterator.next();
-                ConfigElement nextElement = next.getValue();
+            ConfigEntry next = current.containerIterator.next();
+            ConfigElement nextElement = next.getValue();
 
-                if (!nextElement.isContainer()) {
-                    current.append(next.getKey(), nextElement.toString());
-                    continue;
+            if (output != null) {
+                if (!current.first) {
+                    output.write(", ");
                 }
 
-                ConfigContainer nextContainer = nextElement.asContainer();
-                ToStringEntry entry = current.findParent(nextContainer);
-                if (entry != null) {
-                    if (entry.reference == -1) {
-                        entry.reference = referenced++;
+                if (!current.list) {
+                    output.write(next.getKey());
+                    output.write('=');
+                }
+            }
 
-                        tagBuffer.append(entry.reference);
+            current.first = false;
 
-                        if (entry.added) {
-                            root.builder.insert(entry.absoluteStartIndex, tagBuffer);
-                        }
-                        else {
-                            entry.builder.insert(0, tagBuffer);
-                        }
+            if (!nextElement.isContainer()) {
+                if (output != null) {
+                    output.write(nextElement.toString());
+                }
 
-                        current.append(next.getKey(), tagBuffer);
-                    }
-                    else {
-                        tagBuffer.append(entry.reference);
-                        current.append(next.getKey(), tagBuffer);
+                continue;
+            }
+
+            ConfigContainer nextContainer = nextElement.asContainer();
+            ToStringEntry ancestor = ancestors.get(nextContainer);
+            if (ancestor != null) {
+                if (output == null && ancestor.reference == -1) {
+                    ancestor.reference = referenced++;
+
+                    int length = tags == null ? 0 : tags.length;
+                    if (ancestor.ordinal >= length) {
+                        tags = Arrays.copyOf(tags == null ? new int[8] : tags, Math.max(length * 2,
+                            ancestor.ordinal + 1));
                     }
 
-                    tagBuffer.setLength(1);
-                    continue;
+                    tags[ancestor.ordinal] = ancestor.reference + 1;
+                }
+                else if (output != null) {
+                    output.write(TAG_PREFIX);
+                    output.write(Integer.toString(ancestor.reference));
                 }
 
-                String nextKey = next.getKey();
-                int rootLength = root.builder.length();
-                entry = new ToStringEntry(current, nextContainer, current.list ? null : nextKey,
-                    nextKey == null ? rootLength : rootLength + nextKey.length() + 1);
+                continue;
+            }
+
+            ToStringEntry entry = new ToStringEntry(nextContainer, ordinal, tagFor(tags, ordinal));
+            ordinal++;
+
+            if (open(entry, output)) {
                 stack.push(entry);
-                break;
+                ancestors.put(nextContainer, entry);
+            }
+        }
+
+        return tags;
+    }
+
+    private static int tagFor(int[] tags, int ordinal) {
+        if (tags == null || ordinal >= tags.length) {
+            return -1;
+        }
+
+        return tags[ordinal] - 1;
+    }
+
+    private static boolean open(ToStringEntry entry, Writer output) throws IOException {
+        boolean empty = entry.container.entryCollection().isEmpty();
+        if (output != null) {
+            if (entry.reference != -1) {
+                output.write(TAG_PREFIX);
+                output.write(Integer.toString(entry.reference));
+            }
+
+            output.write(entry.list ? '[' : '{');
+            if (empty) {
+                output.write(entry.list ? ']' : '}');
             }
         }
 
-        output.append(root.builder);
+        return !empty;
     }
 
     /**
@@ -726,4 +730,4 @@ public final class ConfigElements {
             throw new RuntimeException(e);
         }
     }
-}
+}
\ No newline at end of file
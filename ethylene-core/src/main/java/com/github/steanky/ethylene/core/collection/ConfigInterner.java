@@ -0,0 +1,194 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Canonicalizes structurally equal immutable containers to a single shared instance ("hash-consing"). This is useful
+ * when many configuration trees, for example ones generated from templates, contain identical subtrees: interning every
+ * tree through the same ConfigInterner stores each distinct subtree only once.
+ * <p>
+ * Containers are interned bottom-up, so by the time a container is looked up, each of its child containers has already
+ * been replaced by its canonical instance. Two containers are then equal if they are of the same type and contain the
+ * same keys, in the same order, associated with equal scalars or identical child containers. This makes lookups
+ * proportional to the size of a single container rather than its entire subtree. Note that, unlike
+ * {@link ConfigNode#equals(Object)}, entry order is significant, so that interning never changes the iteration order
+ * of a node.
+ * <p>
+ * Canonical instances are only weakly referenced by the interner, and will be discarded once no longer in use. All
+ * methods are thread-safe.
+ *
+ * @see ConfigContainer#internedImmutableCopy(ConfigInterner)
+ */
+public final class ConfigInterner {
+    private final Map<Object, CanonicalReference> table = new HashMap<>();
+    private final ReferenceQueue<ConfigContainer> queue = new ReferenceQueue<>();
+
+    /**
+     * Creates a new, empty interner.
+     */
+    public ConfigInterner() {}
+
+    /**
+     * Interns the given element. Containers are copied immutably, as if by
+     * {@link ConfigContainer#internedImmutableCopy(ConfigInterner)}; other elements are returned as-is.
+     *
+     * @param element the element to intern
+     * @return the interned element
+     * @throws IllegalArgumentException if the element contains circular references
+     */
+    public @NotNull ConfigElement intern(@NotNull ConfigElement element) {
+        Objects.requireNonNull(element);
+        if (!element.isContainer()) {
+            return element;
+        }
+
+        return ConfigContainers.internedImmutableCopy(element.asContainer(), this);
+    }
+
+    /**
+     * Gets the number of canonical containers currently held by this interner. Containers which have been discarded,
+     * but not yet removed, may be included in this count.
+     *
+     * @return the number of canonical containers
+     */
+    public synchronized int size() {
+        expunge();
+        return table.size();
+    }
+
+    /**
+     * Returns the canonical instance of the given container, or registers it as canonical if there is no such
+     * instance. The container must be immutable, and its child containers must already be canonical.
+     *
+     * @param candidate the candidate container
+     * @return the canonical container
+     */
+    @NotNull ConfigContainer canonicalize(@NotNull ConfigContainer candidate) {
+        if (candidate.entryCollection().isEmpty()) {
+            //empty containers are already shared
+            return candidate;
+        }
+
+        int hash = shallowHash(candidate);
+        synchronized (this) {
+            expunge();
+
+            CanonicalReference existing = table.get(new Probe(candidate, hash));
+            if (existing != null) {
+                ConfigContainer canonical = existing.get();
+                if (canonical != null) {
+                    return canonical;
+                }
+            }
+
+            CanonicalReference reference = new CanonicalReference(candidate, hash, queue);
+            table.put(reference, reference);
+            return candidate;
+        }
+    }
+
+    private void expunge() {
+        Reference<? extends ConfigContainer> reference;
+        while ((reference = queue.poll()) != null) {
+            table.remove(reference);
+        }
+    }
+
+    //child containers are canonical, so they can be hashed and compared by identity
+    private static int elementHash(ConfigElement element) {
+        return element.isContainer() ? System.identityHashCode(element) : element.hashCode();
+    }
+
+    private static boolean elementEquals(ConfigElement first, ConfigElement second) {
+        if (first.isContainer() || second.isContainer()) {
+            return first == second;
+        }
+
+        return first.equals(second);
+    }
+
+    private static int shallowHash(ConfigContainer container) {
+        int hash = container.isNode() ? 1 : 2;
+        for (ConfigEntry entry : container.entryCollection()) {
+            hash = 31 * hash + Objects.hashCode(entry.getKey());
+            hash = 31 * hash + elementHash(entry.getValue());
+        }
+
+        return hash;
+    }
+
+    private static boolean shallowEquals(ConfigContainer first, ConfigContainer second) {
+        if (first == second) {
+            return true;
+        }
+
+        if (first.isNode() != second.isNode()) {
+            return false;
+        }
+
+        Collection<ConfigEntry> firstEntries = first.entryCollection();
+        Collection<ConfigEntry> secondEntries = second.entryCollection();
+        if (firstEntries.size() != secondEntries.size()) {
+            return false;
+        }
+
+        Iterator<ConfigEntry> secondIterator = secondEntries.iterator();
+        for (ConfigEntry firstEntry : firstEntries) {
+            ConfigEntry secondEntry = secondIterator.next();
+            if (!Objects.equals(firstEntry.getKey(), secondEntry.getKey()) ||
+                !elementEquals(firstEntry.getValue(), secondEntry.getValue())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    //keys of the table; equal only to themselves, so they can be removed once cleared
+    private static final class CanonicalReference extends WeakReference<ConfigContainer> {
+        private final int hash;
+
+        private CanonicalReference(ConfigContainer referent, int hash, ReferenceQueue<ConfigContainer> queue) {
+            super(referent, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this;
+        }
+    }
+
+    //used to look up candidates; HashMap compares the lookup key against the stored keys, not the other way around
+    private record Probe(ConfigContainer candidate, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CanonicalReference reference)) {
+                return false;
+            }
+
+            ConfigContainer canonical = reference.get();
+            return canonical != null && shallowEquals(candidate, canonical);
+        }
+    }
+}
@@ -121,7 +121,7 @@ public interface ConfigList extends ConfigElement, List<ConfigElement>, ConfigCo
             trusted[0] = ConfigPrimitive.of(value);
         }
 
-        return new ConfigContainers.ImmutableConfigList(trusted);
+        return new CompactConfigList(trusted);
     }
 
     /**
@@ -154,7 +154,7 @@ public interface ConfigList extends ConfigElement, List<ConfigElement>, ConfigCo
             }
         }
 
-        return new ConfigContainers.ImmutableConfigList(trusted);
+        return new CompactConfigList(trusted);
     }
 
     @Override
@@ -470,6 +470,54 @@ public interface ConfigList extends ConfigElement, List<ConfigElement>, ConfigCo
         return element.asString();
     }
 
+    /**
+     * Copies every element of this list into a new int array. Numbers are converted as if by
+     * {@link Number#intValue()}.
+     *
+     * @return a new int array containing the values in this list
+     * @throws IllegalStateException if any element of this list is not a number
+     */
+    default int @NotNull [] toIntArray() {
+        int[] array = new int[size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i).asInt();
+        }
+
+        return array;
+    }
+
+    /**
+     * Copies every element of this list into a new long array. Numbers are converted as if by
+     * {@link Number#longValue()}.
+     *
+     * @return a new long array containing the values in this list
+     * @throws IllegalStateException if any element of this list is not a number
+     */
+    default long @NotNull [] toLongArray() {
+        long[] array = new long[size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i).asLong();
+        }
+
+        return array;
+    }
+
+    /**
+     * Copies every element of this list into a new double array. Numbers are converted as if by
+     * {@link Number#doubleValue()}.
+     *
+     * @return a new double array containing the values in this list
+     * @throws IllegalStateException if any element of this list is not a number
+     */
+    default double @NotNull [] toDoubleArray() {
+        double[] array = new double[size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i).asDouble();
+        }
+
+        return array;
+    }
+
     @Override
     default @NotNull ConfigList copy() {
         return (ConfigList) ConfigContainer.super.copy();
@@ -6,7 +6,6 @@ import com.github.steanky.ethylene.core.ElementType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BooleanSupplier;
@@ -125,18 +124,18 @@ public interface ConfigNode extends ConfigElement, Map<String, ConfigElement>, C
     static @NotNull ConfigNode immutable(@NotNull String key, @Nullable Object value) {
         Objects.requireNonNull(key);
 
-        Map<String, ConfigElement> trusted;
+        ConfigElement element;
         if (value instanceof ConfigContainer container) {
-            trusted = Map.of(key, container.immutableCopy());
+            element = container.immutableCopy();
         }
         else if (value instanceof ConfigElement configElement) {
-            trusted = Map.of(key, configElement);
+            element = configElement;
         }
         else {
-            trusted = Map.of(key, ConfigPrimitive.of(value));
+            element = ConfigPrimitive.of(value);
         }
 
-        return new ConfigContainers.ImmutableConfigNode(trusted);
+        return CompactConfigNode.builder(1).put(key, element).build();
     }
 
     /**
@@ -159,20 +158,20 @@ public interface ConfigNode extends ConfigElement, Map<String, ConfigElement>, C
             return EMPTY;
         }
 
-        Map<String, ConfigElement> trusted = new LinkedHashMap<>(objects.length / 2, 1F);
+        CompactConfigNode.Builder builder = CompactConfigNode.builder(objects.length / 2);
         ConfigContainers.iterateArrayPairs(objects, (key, value) -> {
             if (value instanceof ConfigContainer container) {
-                trusted.put(key, container.immutableCopy());
+                builder.put(key, container.immutableCopy());
             }
             else if (value instanceof ConfigElement element) {
-                trusted.put(key, element);
+                builder.put(key, element);
             }
             else {
-                trusted.put(key, ConfigPrimitive.of(value));
+                builder.put(key, ConfigPrimitive.of(value));
             }
         });
 
-        return new ConfigContainers.ImmutableConfigNode(trusted);
+        return builder.build();
     }
 
     @Override
@@ -0,0 +1,180 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * <p>A {@link ConfigNode} whose values may be <i>unloaded</i>: rather than a {@link ConfigElement}, the node stores an
+ * implementation-defined source object (for example, the location of the value in some input), and only converts it
+ * into an element, using {@link LazyConfigNode#load(Object)}, the first time the value is accessed. Loaded values
+ * replace their source, so each value is loaded at most once.</p>
+ *
+ * <p>This is intended to be used by codecs, which can quickly scan the structure of their input and defer parsing of
+ * individual values until they are needed. Accessing a single value through {@link ConfigNode#get(Object)} or
+ * {@link ConfigElement#at(com.github.steanky.ethylene.core.path.ConfigPath)} only loads that value; operations which
+ * must inspect every value, such as iteration, equality testing, or hashing, load the entire node.</p>
+ *
+ * <p>Since reads may modify the node, instances of this class are not safe for concurrent use by multiple threads,
+ * even if the node is never explicitly modified. Entries are kept in insertion order.</p>
+ */
+public abstract class LazyConfigNode extends AbstractConfigNode {
+    //values are either loaded ConfigElements, or unloaded source objects
+    private final Map<String, Object> mappings;
+
+    private Set<Entry<String, ConfigElement>> entrySet;
+
+    /**
+     * Creates a new, empty instance of this class.
+     *
+     * @param initialCapacity the initial capacity of the node
+     */
+    protected LazyConfigNode(int initialCapacity) {
+        this.mappings = new LinkedHashMap<>(initialCapacity);
+    }
+
+    /**
+     * Loads a value from its source object. Called at most once for each source added to this node through
+     * {@link LazyConfigNode#putUnloaded(String, Object)}.
+     *
+     * @param source the source object
+     * @return the loaded value
+     */
+    protected abstract @NotNull ConfigElement load(@NotNull Object source);
+
+    /**
+     * Adds an unloaded value to this node. The value will be loaded from the given source object when it is first
+     * accessed.
+     *
+     * @param key    the key
+     * @param source the source object; must not be a {@link ConfigElement}
+     * @throws NullPointerException     if any of the arguments are null
+     * @throws IllegalArgumentException if source is a ConfigElement
+     */
+    protected final void putUnloaded(@NotNull String key, @NotNull Object source) {
+        if (Objects.requireNonNull(source) instanceof ConfigElement) {
+            throw new IllegalArgumentException("Source cannot be a ConfigElement");
+        }
+
+        mappings.put(Objects.requireNonNull(key), source);
+    }
+
+    private ConfigElement resolve(Object value) {
+        if (value == null || value instanceof ConfigElement) {
+            return (ConfigElement) value;
+        }
+
+        return Objects.requireNonNull(load(value), "loaded value");
+    }
+
+    @Override
+    public int size() {
+        return mappings.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mappings.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return mappings.containsKey(Objects.requireNonNull(key));
+    }
+
+    @Override
+    public ConfigElement get(Object key) {
+        Object value = mappings.get(Objects.requireNonNull(key));
+        ConfigElement element = resolve(value);
+        if (element != value) {
+            mappings.put((String) key, element);
+        }
+
+        return element;
+    }
+
+    @Override
+    public ConfigElement put(@NotNull String key, @NotNull ConfigElement value) {
+        return resolve(mappings.put(Objects.requireNonNull(key), Objects.requireNonNull(value)));
+    }
+
+    @Override
+    public ConfigElement remove(Object key) {
+        return resolve(mappings.remove(Objects.requireNonNull(key)));
+    }
+
+    @Override
+    public void clear() {
+        mappings.clear();
+    }
+
+    @Override
+    public @NotNull ConfigContainer emptyCopy() {
+        return new LinkedConfigNode(size());
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, ConfigElement>> entrySet() {
+        Set<Entry<String, ConfigElement>> entrySet = this.entrySet;
+        if (entrySet != null) {
+            return entrySet;
+        }
+
+        return this.entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, ConfigElement>> iterator() {
+                Iterator<Entry<String, Object>> iterator = mappings.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, ConfigElement> next() {
+                        Entry<String, Object> entry = iterator.next();
+                        Object value = entry.getValue();
+                        ConfigElement element = resolve(value);
+                        if (element != value) {
+                            entry.setValue(element);
+                        }
+
+                        return new LoadedEntry(entry, element);
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return mappings.size();
+            }
+
+            @Override
+            public void clear() {
+                mappings.clear();
+            }
+        };
+    }
+
+    private static final class LoadedEntry extends AbstractMap.SimpleEntry<String, ConfigElement> {
+        private final Entry<String, Object> underlying;
+
+        private LoadedEntry(Entry<String, Object> underlying, ConfigElement value) {
+            super(underlying.getKey(), value);
+            this.underlying = underlying;
+        }
+
+        @Override
+        public ConfigElement setValue(ConfigElement value) {
+            underlying.setValue(Objects.requireNonNull(value));
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.steanky.ethylene.core.event;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigContainer;
+import com.github.steanky.ethylene.core.collection.LinkedConfigNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A {@link ConfigEventHandler} that builds a {@link ConfigElement} from the events it receives. References are resolved
+ * to the container they refer to, so circular and shared references are reconstructed exactly.
+ * <p>
+ * Nodes are built as {@link LinkedConfigNode}s and lists as {@link ArrayConfigList}s. Scalars are converted using
+ * {@link ConfigPrimitive#of(Object)}.
+ * <p>
+ * Instances of this class are single-use and not thread-safe.
+ */
+public final class ConfigElementBuilder implements ConfigEventHandler {
+    //initial capacity of containers whose size is not known ahead of time
+    private static final int DEFAULT_SIZE = 8;
+
+    private final Deque<ConfigContainer> stack = new ArrayDeque<>();
+    private final List<ConfigContainer> containers = new ArrayList<>();
+
+    private String key;
+    private ConfigElement root;
+
+    /**
+     * Creates a new builder.
+     */
+    public ConfigElementBuilder() {}
+
+    @Override
+    public void startNode(int size) {
+        LinkedConfigNode node = new LinkedConfigNode(size < 0 ? DEFAULT_SIZE : size);
+        add(node);
+        containers.add(node);
+        stack.push(node);
+    }
+
+    @Override
+    public void startList(int size) {
+        ArrayConfigList list = new ArrayConfigList(size < 0 ? DEFAULT_SIZE : size);
+        add(list);
+        containers.add(list);
+        stack.push(list);
+    }
+
+    @Override
+    public void key(@NotNull String key) {
+        ConfigContainer current = stack.peek();
+        if (current == null || !current.isNode()) {
+            throw new IllegalStateException("Keys are only valid inside a node");
+        }
+
+        if (this.key != null) {
+            throw new IllegalStateException("Key '" + this.key + "' has no value");
+        }
+
+        this.key = key;
+    }
+
+    @Override
+    public void scalar(@Nullable Object value) {
+        add(ConfigPrimitive.of(value));
+    }
+
+    @Override
+    public void reference(int id) {
+        if (id < 0 || id >= containers.size()) {
+            throw new IllegalArgumentException("Reference to unknown container " + id);
+        }
+
+        add(containers.get(id));
+    }
+
+    @Override
+    public void endNode() {
+        end(true);
+    }
+
+    @Override
+    public void endList() {
+        end(false);
+    }
+
+    /**
+     * Determines if a complete document has been received.
+     *
+     * @return true if the document is complete, false otherwise
+     */
+    public boolean isComplete() {
+        return root != null && stack.isEmpty();
+    }
+
+    /**
+     * Gets the element built by this builder.
+     *
+     * @return the root element
+     * @throws IllegalStateException if a complete document has not yet been received
+     */
+    public @NotNull ConfigElement build() {
+        if (!isComplete()) {
+            throw new IllegalStateException("Document is incomplete");
+        }
+
+        return root;
+    }
+
+    private void add(ConfigElement element) {
+        ConfigContainer current = stack.peek();
+        if (current == null) {
+            if (root != null) {
+                throw new IllegalStateException("Document already has a root element");
+            }
+
+            root = element;
+            return;
+        }
+
+        if (current.isNode()) {
+            if (key == null) {
+                throw new IllegalStateException("Node values must be preceded by a key");
+            }
+
+            current.asNode().put(key, element);
+            key = null;
+        } else {
+            current.asList().add(element);
+        }
+    }
+
+    private void end(boolean node) {
+        ConfigContainer current = stack.peek();
+        if (current == null || current.isNode() != node) {
+            throw new IllegalStateException("No " + (node ? "node" : "list") + " to end");
+        }
+
+        if (key != null) {
+            throw new IllegalStateException("Key '" + key + "' has no value");
+        }
+
+        stack.pop();
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.steanky.ethylene.core.event;
+
+/**
+ * The kinds of event produced by a {@link ConfigEventReader}. Each constant corresponds to a method of
+ * {@link ConfigEventHandler}, except for {@link ConfigEvent#END_DOCUMENT}.
+ */
+public enum ConfigEvent {
+    /**
+     * The start of a node. Will be followed by zero or more key-value pairs, then {@link ConfigEvent#END_NODE}.
+     */
+    START_NODE,
+
+    /**
+     * The start of a list. Will be followed by zero or more values, then {@link ConfigEvent#END_LIST}.
+     */
+    START_LIST,
+
+    /**
+     * The key of the next value in the current node.
+     */
+    KEY,
+
+    /**
+     * A scalar value.
+     */
+    SCALAR,
+
+    /**
+     * A value which refers to a container that was previously started.
+     */
+    REFERENCE,
+
+    /**
+     * The end of the current node.
+     */
+    END_NODE,
+
+    /**
+     * The end of the current list.
+     */
+    END_LIST,
+
+    /**
+     * The end of the document. Once this is returned, no further events will be produced.
+     */
+    END_DOCUMENT
+}
@@ -0,0 +1,80 @@
+package com.github.steanky.ethylene.core.event;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Receives a document as a sequence of events, rather than as a fully materialized {@link ConfigElement}. A document
+ * consists of exactly one value, which is either a scalar, a reference, or a container; containers are started and
+ * ended by matching calls to {@link ConfigEventHandler#startNode(int)} and {@link ConfigEventHandler#endNode()} (or
+ * {@link ConfigEventHandler#startList(int)} and {@link ConfigEventHandler#endList()}). Inside a node, each value must
+ * be preceded by a call to {@link ConfigEventHandler#key(String)}.
+ * <p>
+ * Containers are implicitly numbered, starting at 0, in the order in which they are started. These numbers are used by
+ * {@link ConfigEventHandler#reference(int)} to represent circular (or shared) references.
+ * <p>
+ * Handlers are used to consume the events produced by {@link ConfigCodec#decode(java.io.InputStream,
+ * ConfigEventHandler)}, and to write events using {@link ConfigCodec#eventWriter(java.io.OutputStream)}.
+ *
+ * @see ConfigEvents
+ */
+public interface ConfigEventHandler {
+    /**
+     * Starts a new node.
+     *
+     * @param size the number of entries in the node, or -1 if unknown
+     * @throws IOException if an IO error occurs
+     */
+    void startNode(int size) throws IOException;
+
+    /**
+     * Starts a new list.
+     *
+     * @param size the number of elements in the list, or -1 if unknown
+     * @throws IOException if an IO error occurs
+     */
+    void startList(int size) throws IOException;
+
+    /**
+     * Provides the key of the next value in the current node.
+     *
+     * @param key the key
+     * @throws IOException if an IO error occurs
+     */
+    void key(@NotNull String key) throws IOException;
+
+    /**
+     * Provides a scalar value. The value should be a type supported by
+     * {@link com.github.steanky.ethylene.core.ConfigPrimitive}: a String, Number, Boolean, Character, or null.
+     *
+     * @param value the scalar value
+     * @throws IOException if an IO error occurs
+     */
+    void scalar(@Nullable Object value) throws IOException;
+
+    /**
+     * Provides a value which is a reference to a previously started container.
+     *
+     * @param id the number of the referenced container
+     * @throws IOException if an IO error occurs, or if references are not supported
+     */
+    void reference(int id) throws IOException;
+
+    /**
+     * Ends the current node.
+     *
+     * @throws IOException if an IO error occurs
+     */
+    void endNode() throws IOException;
+
+    /**
+     * Ends the current list.
+     *
+     * @throws IOException if an IO error occurs
+     */
+    void endList() throws IOException;
+}
@@ -0,0 +1,86 @@
+package com.github.steanky.ethylene.core.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based source of {@link ConfigEvent}s. Each call to {@link ConfigEventReader#next()} advances to the next event;
+ * data associated with the current event is available through the other methods of this interface. The sequence of
+ * events follows the same rules as the calls made to a {@link ConfigEventHandler}.
+ * <p>
+ * Readers may hold resources, such as an underlying stream, which are released by {@link ConfigEventReader#close()}.
+ */
+public interface ConfigEventReader extends Closeable {
+    /**
+     * Advances to the next event.
+     *
+     * @return the next event; {@link ConfigEvent#END_DOCUMENT} once the document has been fully read
+     * @throws IOException if an IO error occurs, or if the input is malformed
+     */
+    @NotNull ConfigEvent next() throws IOException;
+
+    /**
+     * Gets the size of the container that was just started.
+     *
+     * @return the size of the current container, or -1 if unknown
+     * @throws IllegalStateException if the current event is not {@link ConfigEvent#START_NODE} or
+     *                               {@link ConfigEvent#START_LIST}
+     */
+    int size();
+
+    /**
+     * Gets the current key.
+     *
+     * @return the current key
+     * @throws IllegalStateException if the current event is not {@link ConfigEvent#KEY}
+     */
+    @NotNull String key();
+
+    /**
+     * Gets the current scalar value.
+     *
+     * @return the current scalar
+     * @throws IllegalStateException if the current event is not {@link ConfigEvent#SCALAR}
+     */
+    @Nullable Object scalar();
+
+    /**
+     * Gets the number of the referenced container.
+     *
+     * @return the referenced container number
+     * @throws IllegalStateException if the current event is not {@link ConfigEvent#REFERENCE}
+     */
+    int reference();
+
+    /**
+     * Skips the remainder of the container that was just started, including any children it has. After this method
+     * returns, the current event is the {@link ConfigEvent#END_NODE} or {@link ConfigEvent#END_LIST} matching the
+     * container.
+     * <p>
+     * The default implementation reads and discards events until the end of the container is reached. Implementations
+     * may be able to skip data more efficiently.
+     *
+     * @throws IOException           if an IO error occurs, or if the input is malformed
+     * @throws IllegalStateException if the current event is not {@link ConfigEvent#START_NODE} or
+     *                               {@link ConfigEvent#START_LIST}
+     */
+    default void skipContainer() throws IOException {
+        size();
+
+        int depth = 1;
+        while (depth > 0) {
+            switch (next()) {
+                case START_NODE, START_LIST -> depth++;
+                case END_NODE, END_LIST -> depth--;
+                case END_DOCUMENT -> throw new IOException("Unexpected end of document");
+                default -> {}
+            }
+        }
+    }
+
+    @Override
+    default void close() throws IOException {}
+}
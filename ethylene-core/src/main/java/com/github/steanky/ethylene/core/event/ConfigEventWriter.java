@@ -0,0 +1,18 @@
+package com.github.steanky.ethylene.core.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A {@link ConfigEventHandler} which writes the events it receives to some destination. The document is finished, and
+ * any underlying resources released, when the writer is closed.
+ */
+public interface ConfigEventWriter extends ConfigEventHandler, Closeable {
+    /**
+     * Finishes writing the document and closes the underlying destination.
+     *
+     * @throws IOException if an IO error occurs, or if the document is incomplete
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,428 @@
+package com.github.steanky.ethylene.core.event;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ConfigContainer;
+import com.github.steanky.ethylene.core.collection.ConfigEntry;
+import com.github.steanky.ethylene.core.path.ConfigPath;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Static utilities for working with {@link ConfigEvent}s, including adapters between the event API and
+ * {@link ConfigElement}s.
+ */
+public final class ConfigEvents {
+    private ConfigEvents() {
+        throw new AssertionError("Why?");
+    }
+
+    /**
+     * Creates a {@link ConfigEventReader} which produces the events making up the given element. Circular references
+     * are represented using {@link ConfigEvent#REFERENCE}; containers which are shared, but not circular, are produced
+     * in full each time they occur.
+     *
+     * @param element the element to read
+     * @return a new reader
+     */
+    public static @NotNull ConfigEventReader reader(@NotNull ConfigElement element) {
+        return reader(element, false);
+    }
+
+    /**
+     * Creates a {@link ConfigEventReader} which produces the events making up the given element.
+     *
+     * @param element        the element to read
+     * @param preserveShared if true, every container which has already been produced is represented by a
+     *                       {@link ConfigEvent#REFERENCE} when encountered again; if false, only circular references
+     *                       are
+     * @return a new reader
+     */
+    public static @NotNull ConfigEventReader reader(@NotNull ConfigElement element, boolean preserveShared) {
+        return new ElementReader(Objects.requireNonNull(element), preserveShared);
+    }
+
+    /**
+     * Sends every event making up the given element to a handler. Equivalent to calling
+     * {@link ConfigEvents#pipe(ConfigEventReader, ConfigEventHandler)} with a reader created by
+     * {@link ConfigEvents#reader(ConfigElement)}.
+     *
+     * @param element the element
+     * @param handler the handler to receive events
+     * @throws IOException if the handler throws an IOException
+     */
+    public static void emit(@NotNull ConfigElement element, @NotNull ConfigEventHandler handler) throws IOException {
+        pipe(reader(element), handler);
+    }
+
+    /**
+     * Reads every remaining event from the reader, sending each to the handler. The reader is not closed.
+     *
+     * @param reader  the reader to read from
+     * @param handler the handler to receive events
+     * @throws IOException if the reader or handler throws an IOException
+     */
+    public static void pipe(@NotNull ConfigEventReader reader, @NotNull ConfigEventHandler handler)
+        throws IOException {
+        while (true) {
+            switch (reader.next()) {
+                case START_NODE -> handler.startNode(reader.size());
+                case START_LIST -> handler.startList(reader.size());
+                case KEY -> handler.key(reader.key());
+                case SCALAR -> handler.scalar(reader.scalar());
+                case REFERENCE -> handler.reference(reader.reference());
+                case END_NODE -> handler.endNode();
+                case END_LIST -> handler.endList();
+                case END_DOCUMENT -> {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a complete {@link ConfigElement} from the given reader. The reader is not closed.
+     *
+     * @param reader the reader to read from
+     * @return the element
+     * @throws IOException if the reader throws an IOException, or if the events do not form a valid document
+     */
+    public static @NotNull ConfigElement read(@NotNull ConfigEventReader reader) throws IOException {
+        ConfigElementBuilder builder = new ConfigElementBuilder();
+
+        try {
+            pipe(reader, builder);
+            return builder.build();
+        } catch (IllegalStateException | IllegalArgumentException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Reads the element located at the given {@link ConfigPath} from the reader, skipping all data that is not on the
+     * path. Only the requested element is materialized, so the cost of reading it is mostly proportional to its size,
+     * as long as the reader can efficiently skip containers (see {@link ConfigEventReader#skipContainer()}). The reader
+     * is not closed, and is left positioned somewhere inside the document.
+     * <p>
+     * Paths are followed in the same way as {@link ConfigElement#at(ConfigPath)}.
+     *
+     * @param reader the reader to read from
+     * @param path   the path of the element to read
+     * @return the element at the path, or null if no such element exists
+     * @throws IOException if the reader throws an IOException, if the events do not form a valid document, or if the
+     *                     path passes through a {@link ConfigEvent#REFERENCE}
+     */
+    public static @Nullable ConfigElement read(@NotNull ConfigEventReader reader, @NotNull ConfigPath path)
+        throws IOException {
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(path);
+
+        ConfigEvent event = reader.next();
+        for (ConfigPath.Node node : path.nodes()) {
+            switch (node.nodeType()) {
+                case CURRENT -> {
+                    continue;
+                }
+                case PREVIOUS -> {
+                    return null;
+                }
+            }
+
+            if (event == ConfigEvent.START_NODE) {
+                event = null;
+                ConfigEvent next;
+                while ((next = reader.next()) == ConfigEvent.KEY) {
+                    if (reader.key().equals(node.name())) {
+                        event = reader.next();
+                        break;
+                    }
+
+                    skipValue(reader);
+                }
+
+                if (event == null) {
+                    if (next != ConfigEvent.END_NODE) {
+                        throw new IOException("Unexpected event " + next);
+                    }
+
+                    return null;
+                }
+            } else if (event == ConfigEvent.START_LIST) {
+                if (node.nodeType() != ConfigPath.NodeType.INDEX) {
+                    return null;
+                }
+
+                for (int i = 0; i < node.index(); i++) {
+                    if (skipValue(reader) == ConfigEvent.END_LIST) {
+                        return null;
+                    }
+                }
+
+                event = reader.next();
+                if (event == ConfigEvent.END_LIST) {
+                    return null;
+                }
+            } else if (event == ConfigEvent.REFERENCE) {
+                throw new IOException("Cannot follow reference to container " + reader.reference());
+            } else {
+                return null;
+            }
+        }
+
+        return switch (event) {
+            case SCALAR -> ConfigPrimitive.of(reader.scalar());
+            case START_NODE, START_LIST -> readContainer(reader, event);
+            case REFERENCE -> throw new IOException("Cannot follow reference to container " + reader.reference());
+            default -> throw new IOException("Unexpected event " + event);
+        };
+    }
+
+    //reads the next value, skipping it if it is a container, and returns the first event
+    private static ConfigEvent skipValue(ConfigEventReader reader) throws IOException {
+        ConfigEvent event = reader.next();
+        if (event == ConfigEvent.START_NODE || event == ConfigEvent.START_LIST) {
+            reader.skipContainer();
+        }
+
+        return event;
+    }
+
+    private static ConfigElement readContainer(ConfigEventReader reader, ConfigEvent start) throws IOException {
+        ConfigElementBuilder builder = new ConfigElementBuilder();
+
+        try {
+            if (start == ConfigEvent.START_NODE) {
+                builder.startNode(reader.size());
+            } else {
+                builder.startList(reader.size());
+            }
+
+            while (!builder.isComplete()) {
+                switch (reader.next()) {
+                    case START_NODE -> builder.startNode(reader.size());
+                    case START_LIST -> builder.startList(reader.size());
+                    case KEY -> builder.key(reader.key());
+                    case SCALAR -> builder.scalar(reader.scalar());
+                    case REFERENCE -> throw new IOException("Cannot resolve reference to container " +
+                        reader.reference() + " outside of the full document");
+                    case END_NODE -> builder.endNode();
+                    case END_LIST -> builder.endList();
+                    case END_DOCUMENT -> throw new IOException("Unexpected end of document");
+                }
+            }
+
+            return builder.build();
+        } catch (IllegalStateException | IllegalArgumentException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Creates a {@link ConfigEventWriter} which builds a {@link ConfigElement} from the events it receives, then encodes
+     * it using the given codec when closed. This is used to implement
+     * {@link ConfigCodec#eventWriter(OutputStream)} for codecs that are unable to write events directly.
+     *
+     * @param codec  the codec used to encode the element
+     * @param output the stream to write to
+     * @return a new writer
+     */
+    public static @NotNull ConfigEventWriter treeWriter(@NotNull ConfigCodec codec, @NotNull OutputStream output) {
+        return new TreeWriter(Objects.requireNonNull(codec), Objects.requireNonNull(output));
+    }
+
+    private static final class ElementReader implements ConfigEventReader {
+        private final ConfigElement root;
+        private final boolean preserveShared;
+
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private final Map<ConfigContainer, Integer> ids = new IdentityHashMap<>();
+
+        private ConfigEvent current;
+        private boolean started;
+        private int nextId;
+
+        private ConfigElement pendingValue;
+
+        private int size;
+        private String key;
+        private Object scalar;
+        private int reference;
+
+        private ElementReader(ConfigElement root, boolean preserveShared) {
+            this.root = root;
+            this.preserveShared = preserveShared;
+        }
+
+        @Override
+        public @NotNull ConfigEvent next() {
+            if (!started) {
+                started = true;
+                return current = value(root);
+            }
+
+            ConfigElement pendingValue = this.pendingValue;
+            if (pendingValue != null) {
+                this.pendingValue = null;
+                return current = value(pendingValue);
+            }
+
+            Frame frame = stack.peek();
+            if (frame == null) {
+                return current = ConfigEvent.END_DOCUMENT;
+            }
+
+            if (frame.entries.hasNext()) {
+                ConfigEntry entry = frame.entries.next();
+                if (frame.isNode) {
+                    this.pendingValue = entry.getValue();
+                    this.key = entry.getKey();
+                    return current = ConfigEvent.KEY;
+                }
+
+                return current = value(entry.getValue());
+            }
+
+            stack.pop();
+            if (!preserveShared) {
+                ids.remove(frame.container);
+            }
+
+            return current = frame.isNode ? ConfigEvent.END_NODE : ConfigEvent.END_LIST;
+        }
+
+        private ConfigEvent value(ConfigElement element) {
+            if (!element.isContainer()) {
+                scalar = element.asScalar();
+                return ConfigEvent.SCALAR;
+            }
+
+            ConfigContainer container = element.asContainer();
+            Integer id = ids.get(container);
+            if (id != null) {
+                reference = id;
+                return ConfigEvent.REFERENCE;
+            }
+
+            ids.put(container, nextId++);
+
+            boolean isNode = container.isNode();
+            Collection<ConfigEntry> entries = container.entryCollection();
+            stack.push(new Frame(container, entries.iterator(), isNode));
+            size = entries.size();
+            return isNode ? ConfigEvent.START_NODE : ConfigEvent.START_LIST;
+        }
+
+        private void check(ConfigEvent first, ConfigEvent second) {
+            if (current != first && current != second) {
+                throw new IllegalStateException("Current event is " + current);
+            }
+        }
+
+        @Override
+        public int size() {
+            check(ConfigEvent.START_NODE, ConfigEvent.START_LIST);
+            return size;
+        }
+
+        @Override
+        public @NotNull String key() {
+            check(ConfigEvent.KEY, ConfigEvent.KEY);
+            return key;
+        }
+
+        @Override
+        public @Nullable Object scalar() {
+            check(ConfigEvent.SCALAR, ConfigEvent.SCALAR);
+            return scalar;
+        }
+
+        @Override
+        public int reference() {
+            check(ConfigEvent.REFERENCE, ConfigEvent.REFERENCE);
+            return reference;
+        }
+
+        @Override
+        public void skipContainer() {
+            size();
+
+            Frame frame = stack.pop();
+            pendingValue = null;
+            if (!preserveShared) {
+                ids.remove(frame.container);
+            }
+
+            current = frame.isNode ? ConfigEvent.END_NODE : ConfigEvent.END_LIST;
+        }
+
+        private record Frame(ConfigContainer container, Iterator<ConfigEntry> entries, boolean isNode) {}
+    }
+
+    private static final class TreeWriter implements ConfigEventWriter {
+        private final ConfigCodec codec;
+        private final OutputStream output;
+        private final ConfigElementBuilder builder = new ConfigElementBuilder();
+
+        private boolean closed;
+
+        private TreeWriter(ConfigCodec codec, OutputStream output) {
+            this.codec = codec;
+            this.output = output;
+        }
+
+        @Override
+        public void startNode(int size) {
+            builder.startNode(size);
+        }
+
+        @Override
+        public void startList(int size) {
+            builder.startList(size);
+        }
+
+        @Override
+        public void key(@NotNull String key) {
+            builder.key(key);
+        }
+
+        @Override
+        public void scalar(@Nullable Object value) {
+            builder.scalar(value);
+        }
+
+        @Override
+        public void reference(int id) {
+            builder.reference(id);
+        }
+
+        @Override
+        public void endNode() {
+            builder.endNode();
+        }
+
+        @Override
+        public void endList() {
+            builder.endList();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            if (!builder.isComplete()) {
+                output.close();
+                throw new IOException("Document is incomplete");
+            }
+
+            codec.encode(builder.build(), output);
+        }
+    }
+}
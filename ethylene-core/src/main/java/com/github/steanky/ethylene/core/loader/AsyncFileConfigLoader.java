@@ -1,18 +1,17 @@
 package com.github.steanky.ethylene.core.loader;
 
 import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.bridge.Configuration;
 import com.github.steanky.ethylene.core.processor.ConfigProcessor;
-import com.github.steanky.ethylene.core.util.FutureUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
-import java.util.Objects;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 /**
- * Asynchronous specialization of {@link FileConfigLoader}.
+ * Asynchronous specialization of {@link FileConfigLoader}. Files are read and written using
+ * {@link Configuration#channelSourceFromPath(Path, ConfigCodec, Executor)}, so the executor is only used to decode and
+ * encode data.
  *
  * @param <TData> the type of data object
  */
@@ -25,17 +24,10 @@ public class AsyncFileConfigLoader<TData> extends FileConfigLoader<TData> {
      * @param defaultData the default data object
      * @param path        the path to read data from and write defaults to
      * @param codec       the {@link ConfigCodec} used to decode the file data
-     * @param executor    the executor used to perform read and write operations asynchronously
+     * @param executor    the executor used to decode and encode data asynchronously
      */
     public AsyncFileConfigLoader(@NotNull ConfigProcessor<TData> processor, @NotNull TData defaultData,
         @NotNull Path path, @NotNull ConfigCodec codec, @NotNull Executor executor) {
-        super(processor, defaultData, new FileCodecConfigSource(path, codec) {
-            @Override
-            protected @NotNull <TReturn> CompletableFuture<TReturn> makeFuture(@NotNull Callable<TReturn> callable) {
-                return FutureUtils.completeCallableAsync(callable, executor);
-            }
-        }, path);
-
-        Objects.requireNonNull(executor);
+        super(processor, defaultData, Configuration.channelSourceFromPath(path, codec, executor), path);
     }
 }
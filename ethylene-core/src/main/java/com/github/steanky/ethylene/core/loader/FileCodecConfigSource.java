@@ -3,6 +3,7 @@ package com.github.steanky.ethylene.core.loader;
 import com.github.steanky.ethylene.core.ConfigCodec;
 import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.bridge.ConfigSource;
+import com.github.steanky.ethylene.core.util.BufferUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Files;
@@ -12,7 +13,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Internal {@link ConfigSource} implementation used by {@link AsyncFileConfigLoader} and {@link SyncFileConfigLoader}.
+ * Internal {@link ConfigSource} implementation used by {@link SyncFileConfigLoader}.
  */
 abstract class FileCodecConfigSource implements ConfigSource {
     private final Path path;
@@ -31,7 +32,7 @@ abstract class FileCodecConfigSource implements ConfigSource {
 
     @Override
     public @NotNull CompletableFuture<ConfigElement> read() {
-        return makeFuture(() -> codec.decode(Files.newInputStream(path)));
+        return makeFuture(() -> BufferUtils.decode(path, codec));
     }
 
     @Override
@@ -51,4 +52,4 @@ abstract class FileCodecConfigSource implements ConfigSource {
      * @return a {@link CompletableFuture} object which may represent a synchronous or asynchronous call
      */
     protected abstract <TReturn> @NotNull CompletableFuture<TReturn> makeFuture(@NotNull Callable<TReturn> callable);
-}
+}
\ No newline at end of file
@@ -5,12 +5,12 @@ import com.github.steanky.ethylene.core.ConfigPrimitive;
 import com.github.steanky.ethylene.core.collection.ConfigContainer;
 import com.github.steanky.ethylene.core.collection.ConfigList;
 import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.util.StringPool;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.*;
 import java.util.function.IntFunction;
 
@@ -177,28 +177,35 @@ public final class Parser {
         }
 
         private void finish() {
+            if (create()) {
+                populate();
+            }
+        }
+
+        private boolean create() {
             if (container != null) {
-                return;
+                return false;
             }
 
+            int size = children == null ? 0 : children.size();
+            container = type == ContainerType.LIST ? listFunction.apply(size) : nodeFunction.apply(size);
+            return true;
+        }
+
+        private void populate() {
             if (children == null) {
-                container = type == ContainerType.LIST ? listFunction.apply(0) : nodeFunction.apply(0);
                 return;
             }
 
             switch (type) {
                 case LIST -> {
-                    ConfigList list = listFunction.apply(children.size());
-                    this.container = list;
-
+                    ConfigList list = container.asList();
                     for (Token token : children) {
                         list.add(token.element());
                     }
                 }
                 case NODE -> {
-                    ConfigNode node = nodeFunction.apply(children.size());
-                    this.container = node;
-
+                    ConfigNode node = container.asNode();
                     for (int i = 0; i < children.size(); i += 2) {
                         Token key = children.get(i);
                         Token value = children.get(i + 1);
@@ -259,10 +266,89 @@ public final class Parser {
 
     private static final Scalar EOF = new Scalar(TokenType.EOF, TerminalType.NONE, null);
 
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Open-addressing hash table mapping non-negative reference tags to containers, to avoid boxing keys.
+     */
+    private static final class ReferenceTable {
+        private int[] keys;
+        private Container[] values;
+        private int size;
+
+        private ReferenceTable() {
+            this.keys = new int[8];
+            this.values = new Container[8];
+        }
+
+        private static int index(int key, int mask) {
+            int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private Container get(int key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+
+            return null;
+        }
+
+        private Container putIfAbsent(int key, Container value) {
+            Container existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            if (++size * 2 > keys.length) {
+                int[] oldKeys = keys;
+                Container[] oldValues = values;
+
+                keys = new int[oldKeys.length * 2];
+                values = new Container[oldValues.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldValues[i] != null) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+
+            insert(key, value);
+            return null;
+        }
+
+        private void insert(int key, Container value) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            values[i] = value;
+        }
+    }
+
     private static final class Tokenizer {
+        //null when reading directly from a string
         private final Reader reader;
+
+        //holds the parts of literals that cannot be sliced directly from the buffer
         private final StringBuilder sharedBuffer;
 
+        //deduplicates keys and strings, which are often repeated; null if strings should not be pooled
+        private final StringPool strings;
+
+        private final char[] buffer;
+        private int position;
+        private int limit;
+
+        //the index in buffer at which the current literal starts, or -1 if no literal is being read
+        private int literalStart;
+
         private final IntFunction<? extends ConfigNode> nodeFunction;
         private final IntFunction<? extends ConfigList> listFunction;
 
@@ -278,16 +364,22 @@ public final class Parser {
         private boolean isFloatingPoint;
         private boolean isNegative;
 
-        private Map<Integer, Container> referenceMap;
+        private ReferenceTable referenceMap;
 
         private ContainerType referenceTargetType;
         private int lastReferenceTag;
 
         private List<Container> deferred;
 
-        private Tokenizer(Reader reader, IntFunction<? extends ConfigNode> nodeFunction, IntFunction<? extends ConfigList> listFunction) {
+        private Tokenizer(Reader reader, char[] buffer, int limit, IntFunction<? extends ConfigNode> nodeFunction,
+            IntFunction<? extends ConfigList> listFunction, boolean poolStrings) {
             this.reader = reader;
             this.sharedBuffer = new StringBuilder();
+            this.strings = poolStrings ? StringPool.local() : null;
+
+            this.buffer = buffer;
+            this.limit = limit;
+            this.literalStart = -1;
 
             this.nodeFunction = nodeFunction;
             this.listFunction = listFunction;
@@ -298,18 +390,102 @@ public final class Parser {
             this.lastReferenceTag = -1;
         }
 
-        private String consumeBuffer() {
-            String buffer = sharedBuffer.toString();
-            sharedBuffer.setLength(0);
-            return buffer;
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+
+            return buffer[position++];
+        }
+
+        private boolean fill() throws IOException {
+            if (reader == null) {
+                return false;
+            }
+
+            //the buffer is about to be overwritten, so save the part of the current literal that has been read so far
+            if (literalStart > -1) {
+                sharedBuffer.append(buffer, literalStart, limit - literalStart);
+                literalStart = 0;
+            }
+
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            }
+            while (read == 0);
+
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+
+        private void startLiteral(int index) {
+            literalStart = index;
+        }
+
+        private void dropLastCharacter() {
+            int index = position - 1;
+            sharedBuffer.append(buffer, literalStart, index - literalStart);
+            literalStart = position;
+        }
+
+        private String consumeLiteral(boolean terminated) {
+            //if terminated, the last character read is not part of the literal
+            int end = terminated ? position - 1 : position;
+
+            String literal;
+            if (sharedBuffer.length() == 0) {
+                literal = new String(buffer, literalStart, end - literalStart);
+            }
+            else {
+                sharedBuffer.append(buffer, literalStart, end - literalStart);
+                literal = sharedBuffer.toString();
+                sharedBuffer.setLength(0);
+            }
+
+            literalStart = -1;
+            return literal;
         }
 
-        private void append(char c) {
-            sharedBuffer.append(c);
+        //like consumeLiteral, but returns a pooled string (if pooling), which is only created if it is not already pooled
+        private String consumePooledLiteral(boolean terminated, boolean trim) {
+            int end = terminated ? position - 1 : position;
+
+            String literal;
+            if (sharedBuffer.length() == 0) {
+                int start = literalStart;
+                if (trim) {
+                    //same as String#trim
+                    while (start < end && buffer[start] <= ' ') {
+                        start++;
+                    }
+
+                    while (end > start && buffer[end - 1] <= ' ') {
+                        end--;
+                    }
+                }
+
+                literal = strings == null ? new String(buffer, start, end - start) :
+                    strings.string(buffer, start, end - start);
+            }
+            else {
+                sharedBuffer.append(buffer, literalStart, end - literalStart);
+                String string = sharedBuffer.toString();
+                if (trim) {
+                    string = string.trim();
+                }
+
+                literal = strings == null ? string : strings.string(string);
+                sharedBuffer.setLength(0);
+            }
+
+            literalStart = -1;
+            return literal;
         }
 
-        private Map<Integer, Container> referenceMap() {
-            return Objects.requireNonNullElseGet(referenceMap, () -> referenceMap = new HashMap<>(4));
+        private ReferenceTable referenceMap() {
+            return Objects.requireNonNullElseGet(referenceMap, () -> referenceMap = new ReferenceTable());
         }
 
         private void acceptReferenceTag(int identifier) {
@@ -367,7 +543,10 @@ public final class Parser {
                 if (token.type() == TokenType.REFERENCE) {
                     int reference = ((Scalar)token).reference;
                     Container referred;
-                    if (referenceMap == null || (referred = referenceMap.get(reference)) == null) {
+
+                    //references to enclosing containers (other than the current one) must wait until they're created
+                    if (referenceMap == null || (referred = referenceMap.get(reference)) == null ||
+                        (referred.container == null && referred != currentContainer)) {
                         Container container = currentContainer;
                         do {
                             container.defer = true;
@@ -484,8 +663,13 @@ public final class Parser {
                     }
                 }
 
+                //create every container before populating any, since they may refer to each other
+                for (Container container : deferred) {
+                    container.create();
+                }
+
                 for (Container container : deferred) {
-                    container.finish();
+                    container.populate();
                 }
             }
 
@@ -502,7 +686,7 @@ public final class Parser {
                 return initializeNewContainer(type, referenceTag);
             }
 
-            int read = reader.read();
+            int read = read();
             if (read == -1) {
                 return EOF;
             }
@@ -514,7 +698,7 @@ public final class Parser {
 
             if (isDigit(character)) {
                 state = TokenizerState.PARSE_NUMBER;
-                append(character);
+                startLiteral(position - 1);
                 if (character == MINUS_SIGN) {
                     isNegative = true;
                 }
@@ -526,6 +710,7 @@ public final class Parser {
                 case LITERAL_DELIMITER -> null;
                 case STRING_DELIMITER -> {
                     state = TokenizerState.PARSE_STRING;
+                    startLiteral(position);
                     yield string();
                 }
                 case NODE_START, LIST_START -> initializeNewContainer(character == NODE_START ? ContainerType.NODE : ContainerType.LIST, -1);
@@ -544,18 +729,18 @@ public final class Parser {
                 }
                 default -> {
                     state = TokenizerState.PARSE_SIMPLE_LITERAL;
-                    append(character);
+                    startLiteral(position - 1);
                     yield simpleLiteral();
                 }
             };
         }
 
         private Scalar number() throws IOException {
-            int read = reader.read();
+            int read = read();
 
             char character;
             if (read == -1 || shouldSimpleLiteralTerminate((character = (char)read))) {
-                String buffer = consumeBuffer().trim();
+                String buffer = consumeLiteral(read != -1).trim();
 
                 int offset = isNegative ? 1 : 0;
 
@@ -590,8 +775,8 @@ public final class Parser {
                 return new Scalar(type, determineTerminalType(read), buffer);
             }
 
-            if (character != NUMBER_SEPARATOR) {
-                append(character);
+            if (character == NUMBER_SEPARATOR) {
+                dropLastCharacter();
             }
 
             if (character == FLOATING_POINT_INDICATOR) {
@@ -602,11 +787,10 @@ public final class Parser {
         }
 
         private Scalar simpleLiteral() throws IOException {
-            int read = reader.read();
+            int read = read();
 
-            char character;
-            if (read == -1 || shouldSimpleLiteralTerminate(character = (char)read)) {
-                String buffer = consumeBuffer().trim();
+            if (read == -1 || shouldSimpleLiteralTerminate((char)read)) {
+                String buffer = consumePooledLiteral(read != -1, true);
                 if (buffer.equalsIgnoreCase("true")) {
                     return new Scalar(TokenType.BOOLEAN_TRUE, determineTerminalType(read), buffer);
                 }
@@ -632,18 +816,24 @@ public final class Parser {
                         return new Scalar(TokenType.REFERENCE_TAG, determineTerminalType(read), buffer);
                     }
 
-                    return new Scalar(TokenType.REFERENCE, determineTerminalType(read), buffer);
+                    //the reference must be known before the token is accepted, so that it can be resolved immediately
+                    Scalar reference = new Scalar(TokenType.REFERENCE, determineTerminalType(read), buffer);
+                    reference.reference = parseReference(buffer);
+                    if (reference.reference < 0) {
+                        return INVALID_REFERENCE_TAG;
+                    }
+
+                    return reference;
                 }
 
                 return INVALID_LITERAL;
             }
 
-            append(character);
             return null;
         }
 
         private Scalar string() throws IOException {
-            int read = reader.read();
+            int read = read();
 
             if (read == -1) {
                 return UNCLOSED_STRING_LITERAL;
@@ -652,32 +842,32 @@ public final class Parser {
             char character = (char) read;
             return switch (character) {
                 case STRING_DELIMITER -> {
+                    //an escaped delimiter is kept as part of the literal
                     if (escape) {
-                        append(STRING_DELIMITER);
                         escape = false;
                         yield null;
                     }
 
-                    yield new Scalar(TokenType.STRING, TerminalType.NONE, consumeBuffer());
+                    yield new Scalar(TokenType.STRING, TerminalType.NONE, consumePooledLiteral(true, false));
                 }
                 case ESCAPE -> {
                     if (escape) {
-                        append(ESCAPE);
                         escape = false;
                     }
                     else {
+                        dropLastCharacter();
                         escape = true;
                     }
 
                     yield null;
                 }
                 default -> {
+                    //escapes before any other character are preserved
                     if (escape) {
-                        append(ESCAPE);
+                        sharedBuffer.append(ESCAPE);
                         escape = false;
                     }
 
-                    append(character);
                     yield null;
                 }
             };
@@ -685,7 +875,8 @@ public final class Parser {
     }
 
     /**
-     * Convenience overload of {@link Parser#fromReader(Reader, IntFunction, IntFunction)} that reads from the provided string.
+     * Equivalent to {@link Parser#fromReader(Reader, IntFunction, IntFunction)}, but reads from the provided string.
+     * The characters of the string are scanned directly, without the overhead of a {@link Reader}.
      * @param string the string from which to read from
      * @param nodeFunction a function used to construct mutable, empty {@link ConfigNode}s given a size hint
      * @param listFunction  a function used to construct mutable, empty {@link ConfigList}s given a size hint
@@ -694,11 +885,28 @@ public final class Parser {
      */
     public static @NotNull ConfigElement fromString(@NotNull String string, @NotNull IntFunction<? extends ConfigNode> nodeFunction,
         @NotNull IntFunction<? extends ConfigList> listFunction) throws IOException {
-        return fromReader(new StringReader(string), nodeFunction, listFunction);
+        return fromString(string, nodeFunction, listFunction, true);
+    }
+
+    /**
+     * Equivalent to {@link Parser#fromString(String, IntFunction, IntFunction)}, but allows deduplication of keys and
+     * strings using the current thread's {@link StringPool} to be disabled.
+     * @param string the string from which to read from
+     * @param nodeFunction a function used to construct mutable, empty {@link ConfigNode}s given a size hint
+     * @param listFunction  a function used to construct mutable, empty {@link ConfigList}s given a size hint
+     * @param poolStrings whether keys and strings should be pooled
+     * @return a ConfigElement created from parsing the string, which must contain valid Propylene configuration data
+     * @throws IOException if there is a syntax error
+     */
+    public static @NotNull ConfigElement fromString(@NotNull String string, @NotNull IntFunction<? extends ConfigNode> nodeFunction,
+        @NotNull IntFunction<? extends ConfigList> listFunction, boolean poolStrings) throws IOException {
+        return parse(new Tokenizer(null, string.toCharArray(), string.length(), nodeFunction, listFunction,
+            poolStrings));
     }
 
     /**
-     * Extracts a single {@link ConfigElement} from the reader. Does not close it.
+     * Extracts a single {@link ConfigElement} from the reader. Does not close it. The reader is internally buffered, so
+     * there is no need to wrap it in a {@link java.io.BufferedReader}.
      *
      * @param reader the reader from which to read Propylene configuration data
      * @param nodeFunction a function used to construct mutable, empty {@link ConfigNode}s given a size hint
@@ -708,7 +916,26 @@ public final class Parser {
      */
     public static @NotNull ConfigElement fromReader(@NotNull Reader reader, @NotNull IntFunction<? extends ConfigNode> nodeFunction,
         @NotNull IntFunction<? extends ConfigList> listFunction) throws IOException {
-        Tokenizer tokenizer = new Tokenizer(reader, nodeFunction, listFunction);
+        return fromReader(reader, nodeFunction, listFunction, true);
+    }
+
+    /**
+     * Equivalent to {@link Parser#fromReader(Reader, IntFunction, IntFunction)}, but allows deduplication of keys and
+     * strings using the current thread's {@link StringPool} to be disabled.
+     *
+     * @param reader the reader from which to read Propylene configuration data
+     * @param nodeFunction a function used to construct mutable, empty {@link ConfigNode}s given a size hint
+     * @param listFunction  a function used to construct mutable, empty {@link ConfigList}s given a size hint
+     * @param poolStrings whether keys and strings should be pooled
+     * @return a ConfigElement
+     * @throws IOException if an IOException was thrown by the underlying reader while reading, or there is a syntax error
+     */
+    public static @NotNull ConfigElement fromReader(@NotNull Reader reader, @NotNull IntFunction<? extends ConfigNode> nodeFunction,
+        @NotNull IntFunction<? extends ConfigList> listFunction, boolean poolStrings) throws IOException {
+        return parse(new Tokenizer(reader, new char[BUFFER_SIZE], 0, nodeFunction, listFunction, poolStrings));
+    }
+
+    private static ConfigElement parse(Tokenizer tokenizer) throws IOException {
         Scalar token;
         do {
             token = parseScalar(tokenizer.next(), tokenizer);
@@ -730,7 +957,8 @@ public final class Parser {
         return switch (scalar.type) {
             case NODE, LIST -> throw new IllegalStateException();
             case STRING -> {
-                scalar.element = ConfigPrimitive.of(scalar.raw);
+                scalar.element = tokenizer.strings == null ? ConfigPrimitive.of(scalar.raw) :
+                    tokenizer.strings.primitive(scalar.raw);
                 yield scalar;
             }
             case BOOLEAN_TRUE -> {
@@ -747,33 +975,15 @@ public final class Parser {
             }
             case KEY, ERROR, EOF -> scalar;
             case REFERENCE_TAG -> {
-                try {
-                    int value = Integer.parseInt(scalar.raw.substring(1));
-                    if (value < 0) {
-                        yield INVALID_REFERENCE_TAG;
-                    }
-
-                    tokenizer.acceptReferenceTag(value);
-                    yield scalar;
-                }
-                catch (NumberFormatException ignored) {
+                int value = parseReference(scalar.raw);
+                if (value < 0) {
                     yield INVALID_REFERENCE_TAG;
                 }
-            }
-            case REFERENCE -> {
-                try {
-                    int value = Integer.parseInt(scalar.raw.substring(1));
-                    if (value < 0) {
-                        yield INVALID_REFERENCE_TAG;
-                    }
 
-                    scalar.reference = value;
-                    yield scalar;
-                }
-                catch (NumberFormatException ignored) {
-                    yield INVALID_REFERENCE_TAG;
-                }
+                tokenizer.acceptReferenceTag(value);
+                yield scalar;
             }
+            case REFERENCE -> scalar;
             case NUMBER_LONG ->
                 parseNumericLiteral((s, r) -> ConfigPrimitive.of(Long.parseLong(s, r)), scalar, true, true);
             case NUMBER_DOUBLE ->
@@ -789,6 +999,15 @@ public final class Parser {
         };
     }
 
+    private static int parseReference(String raw) {
+        try {
+            return Integer.parseInt(raw, 1, raw.length(), 10);
+        }
+        catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
     private static Scalar parseNumericLiteral(NumericParseFunction function, Scalar scalar, boolean chopEnd, boolean hasRadix) {
         try  {
             String raw = scalar.raw;
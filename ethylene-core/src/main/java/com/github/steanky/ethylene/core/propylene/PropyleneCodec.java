@@ -5,6 +5,7 @@ import com.github.steanky.ethylene.core.ConfigCodec;
 import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.ElementType;
 import com.github.steanky.ethylene.core.collection.*;
+import com.github.steanky.ethylene.core.util.StringPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
@@ -13,7 +14,7 @@ import java.util.EnumSet;
 import java.util.Set;
 
 /**
- * A basic {@link ConfigCodec} implementation for Propylene. The singleton instance can be obtained by referencing
+ * A basic {@link ConfigCodec} implementation for Propylene. The shared instance can be obtained by referencing
  * {@link PropyleneCodec#INSTANCE}.
  * <p>
  * This class does not extend from {@link AbstractConfigCodec}, as Propylene directly deserializes to
@@ -23,15 +24,23 @@ import java.util.Set;
  */
 public class PropyleneCodec implements ConfigCodec {
     /**
-     * The singleton instance for {@link PropyleneCodec}.
+     * The shared instance for {@link PropyleneCodec}, which pools strings.
      */
-    public static final PropyleneCodec INSTANCE = new PropyleneCodec();
+    public static final PropyleneCodec INSTANCE = new PropyleneCodec(true);
 
     private static final String PREFERRED_EXTENSION = "propylene";
     private static final Set<String> PREFERRED_EXTENSIONS = Set.of(PREFERRED_EXTENSION);
 
-    private PropyleneCodec() {
+    private final boolean poolStrings;
 
+    /**
+     * Creates a new instance of this class. Most users should use {@link PropyleneCodec#INSTANCE} instead.
+     *
+     * @param poolStrings whether keys and short string values should be deduplicated during decoding, using the
+     *                    current thread's {@link StringPool}
+     */
+    public PropyleneCodec(boolean poolStrings) {
+        this.poolStrings = poolStrings;
     }
 
     @Override
@@ -43,8 +52,8 @@ public class PropyleneCodec implements ConfigCodec {
 
     @Override
     public @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException {
-        try (Reader reader = new BufferedReader(new InputStreamReader(input))) {
-            return Parser.fromReader(reader, this::makeNode, this::makeList);
+        try (Reader reader = new InputStreamReader(input)) {
+            return Parser.fromReader(reader, this::makeNode, this::makeList, poolStrings);
         }
     }
 
@@ -89,4 +98,4 @@ public class PropyleneCodec implements ConfigCodec {
     public @NotNull ConfigList makeList(int sizeHint) {
         return new ArrayConfigList(sizeHint);
     }
-}
+}
\ No newline at end of file
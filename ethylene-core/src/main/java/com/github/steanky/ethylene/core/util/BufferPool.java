@@ -0,0 +1,81 @@
+package com.github.steanky.ethylene.core.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of heap {@link ByteBuffer}s which may be shared between threads. Unlike {@link ThreadLocalPool}, a
+ * buffer may be acquired on one thread and released on another, which makes this pool suitable for asynchronous I/O,
+ * where completion handlers generally run on different threads than the ones which started the operation.
+ * <p>
+ * Only buffers up to a maximum capacity are retained, so that reading an occasional large file does not permanently
+ * pin a large amount of memory.
+ */
+@ApiStatus.Internal
+public final class BufferPool {
+    private static final int MIN_CAPACITY = 8192;
+
+    private final Queue<ByteBuffer> buffers;
+    private final int maxPooledCapacity;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param maxPooled         the maximum number of idle buffers retained by the pool
+     * @param maxPooledCapacity the maximum capacity of a buffer retained by the pool
+     * @throws IllegalArgumentException if maxPooled is less than 1, or maxPooledCapacity is negative
+     */
+    public BufferPool(int maxPooled, int maxPooledCapacity) {
+        if (maxPooled < 1) {
+            throw new IllegalArgumentException("maxPooled < 1");
+        }
+
+        if (maxPooledCapacity < 0) {
+            throw new IllegalArgumentException("maxPooledCapacity < 0");
+        }
+
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+        this.maxPooledCapacity = maxPooledCapacity;
+    }
+
+    /**
+     * Acquires a cleared buffer with at least the given capacity. A pooled buffer is used if one is available and large
+     * enough, otherwise a new buffer is allocated.
+     *
+     * @param minCapacity the minimum capacity of the buffer
+     * @return a cleared buffer
+     * @throws IllegalArgumentException if minCapacity is negative
+     */
+    public @NotNull ByteBuffer acquire(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("minCapacity < 0");
+        }
+
+        ByteBuffer buffer = buffers.poll();
+        if (buffer != null && buffer.capacity() >= minCapacity) {
+            return buffer.clear();
+        }
+
+        //pooled buffers which are too small are discarded, they will be replaced by larger ones when released
+        return ByteBuffer.allocate(Math.max(minCapacity, MIN_CAPACITY));
+    }
+
+    /**
+     * Returns a buffer to this pool. The buffer is discarded if the pool is full, or it is too large to be retained. The
+     * buffer must not be used after it is released.
+     *
+     * @param buffer the buffer to release
+     */
+    public void release(@NotNull ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+
+        if (buffer.capacity() <= maxPooledCapacity && buffer.hasArray()) {
+            buffers.offer(buffer);
+        }
+    }
+}
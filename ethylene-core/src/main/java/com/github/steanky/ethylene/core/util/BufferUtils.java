@@ -0,0 +1,148 @@
+package com.github.steanky.ethylene.core.util;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Contains utility methods for decoding {@link ConfigElement}s from {@link ByteBuffer}s and files.
+ */
+@ApiStatus.Internal
+public final class BufferUtils {
+    /**
+     * Files smaller than this many bytes are read into a heap buffer rather than being mapped. Mapping a file has a
+     * fixed cost that is only worth paying for larger files.
+     */
+    public static final int MAPPING_THRESHOLD = 1 << 16;
+
+    private BufferUtils() {
+        throw new AssertionError("No.");
+    }
+
+    /**
+     * Creates an {@link InputStream} which reads the remaining bytes of the given {@link ByteBuffer}, advancing its
+     * position as bytes are read. If the buffer is backed by an accessible array, the array is read from directly.
+     *
+     * @param buffer the buffer to read from
+     * @return an InputStream reading from the buffer
+     */
+    public static @NotNull InputStream asInputStream(@NotNull ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            int remaining = buffer.remaining();
+            buffer.position(buffer.limit());
+            return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + position, remaining);
+        }
+
+        return new ByteBufferInputStream(buffer);
+    }
+
+    /**
+     * Decodes the file at the given {@link Path} using {@link ConfigCodec#decode(ByteBuffer)}. If the codec
+     * {@link ConfigCodec#supportsMappedBuffers() supports mapped buffers}, large files are mapped into memory, so that
+     * they are decoded without first being copied. Otherwise, files are read into a heap buffer. Files too large to be
+     * represented by a single buffer are decoded as a stream instead.
+     *
+     * @param path  the path of the file to decode
+     * @param codec the codec to use to decode the file
+     * @return the decoded element
+     * @throws IOException if an IO error occurs
+     */
+    public static @NotNull ConfigElement decode(@NotNull Path path, @NotNull ConfigCodec codec) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(codec);
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                buffer = null;
+            }
+            else if (size >= MAPPING_THRESHOLD && codec.supportsMappedBuffers()) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            else {
+                buffer = readFully(channel, (int) size);
+            }
+        }
+
+        if (buffer == null) {
+            return codec.decode(new BufferedInputStream(Files.newInputStream(path)));
+        }
+
+        return codec.decode(buffer);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        //one extra byte, so that reaching the end of an unchanged file does not require growing the buffer
+        ByteBuffer buffer = ByteBuffer.allocate(size + 1);
+
+        //the reported size is only a hint, the file may change while it is being read
+        int read;
+        while ((read = channel.read(buffer)) >= 0) {
+            if (read > 0 && !buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, 8192));
+                larger.put(buffer.flip());
+                buffer = larger;
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte @NotNull [] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) {
+                return 0;
+            }
+
+            int remaining = buffer.remaining();
+            if (remaining == 0) {
+                return -1;
+            }
+
+            int count = Math.min(length, remaining);
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
\ No newline at end of file
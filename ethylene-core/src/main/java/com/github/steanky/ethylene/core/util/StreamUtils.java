@@ -0,0 +1,343 @@
+package com.github.steanky.ethylene.core.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.Objects;
+
+/**
+ * Contains utility methods for creating character streams over byte streams. The returned {@link Reader}s and
+ * {@link Writer}s are drawn from a {@link ThreadLocalPool}, so their buffers and charset coders are reused across
+ * calls. They behave like {@link InputStreamReader} and {@link OutputStreamWriter} respectively (malformed input is
+ * replaced rather than reported), except that they are already buffered and are not safe for concurrent use.
+ * <p>
+ * Closing a pooled reader or writer closes the underlying stream and returns the reader or writer to the pool of the
+ * closing thread. It must not be used after it is closed.
+ */
+@ApiStatus.Internal
+public final class StreamUtils {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_IDLE = 4;
+
+    private static final ThreadLocalPool<PooledReader> READERS = new ThreadLocalPool<>(PooledReader::new, MAX_IDLE);
+    private static final ThreadLocalPool<PooledWriter> WRITERS = new ThreadLocalPool<>(PooledWriter::new, MAX_IDLE);
+
+    private StreamUtils() {
+        throw new AssertionError("Nope.");
+    }
+
+    /**
+     * Creates a pooled {@link Reader} which decodes the given input using the default charset.
+     *
+     * @param input the input stream
+     * @return a pooled reader
+     */
+    public static @NotNull Reader reader(@NotNull InputStream input) {
+        return reader(input, Charset.defaultCharset());
+    }
+
+    /**
+     * Creates a pooled {@link Reader} which decodes the given input using the given charset.
+     *
+     * @param input   the input stream
+     * @param charset the charset used to decode the input
+     * @return a pooled reader
+     */
+    public static @NotNull Reader reader(@NotNull InputStream input, @NotNull Charset charset) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(charset);
+
+        PooledReader reader = READERS.acquire();
+        reader.open(input, charset);
+        return reader;
+    }
+
+    /**
+     * Creates a pooled {@link Writer} which encodes to the given output using the default charset.
+     *
+     * @param output the output stream
+     * @return a pooled writer
+     */
+    public static @NotNull Writer writer(@NotNull OutputStream output) {
+        return writer(output, Charset.defaultCharset());
+    }
+
+    /**
+     * Creates a pooled {@link Writer} which encodes to the given output using the given charset.
+     *
+     * @param output  the output stream
+     * @param charset the charset used to encode characters
+     * @return a pooled writer
+     */
+    public static @NotNull Writer writer(@NotNull OutputStream output, @NotNull Charset charset) {
+        Objects.requireNonNull(output);
+        Objects.requireNonNull(charset);
+
+        PooledWriter writer = WRITERS.acquire();
+        writer.open(output, charset);
+        return writer;
+    }
+
+    private static final class PooledReader extends Reader {
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+        private CharsetDecoder decoder;
+        private InputStream input;
+        private boolean endOfInput;
+        private boolean flushing;
+        private boolean finished;
+
+        private void open(InputStream input, Charset charset) {
+            if (decoder == null || !decoder.charset().equals(charset)) {
+                decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            } else {
+                decoder.reset();
+            }
+
+            //both buffers start empty, in read mode
+            bytes.clear().flip();
+            chars.clear().flip();
+
+            this.input = input;
+            endOfInput = false;
+            flushing = false;
+            finished = false;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (input == null) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        //decodes at least one character into the buffer, returning false if there are none left
+        private boolean fill() throws IOException {
+            chars.clear();
+            while (!finished) {
+                CoderResult result = flushing ? decoder.flush(chars) : decoder.decode(bytes, chars, endOfInput);
+                if (result.isOverflow()) {
+                    break;
+                }
+
+                if (result.isError()) {
+                    result.throwException();
+                }
+
+                if (flushing) {
+                    finished = true;
+                    break;
+                }
+
+                if (endOfInput) {
+                    flushing = true;
+                    continue;
+                }
+
+                if (chars.position() > 0) {
+                    break;
+                }
+
+                bytes.compact();
+                int read = input.read(bytes.array(), bytes.position(), bytes.remaining());
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    bytes.position(bytes.position() + read);
+                }
+
+                bytes.flip();
+            }
+
+            chars.flip();
+            return chars.hasRemaining();
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            return chars.get();
+        }
+
+        @Override
+        public int read(char @NotNull [] cbuf, int off, int len) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            int count = Math.min(len, chars.remaining());
+            chars.get(cbuf, off, count);
+            return count;
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+            ensureOpen();
+            return chars.hasRemaining() || bytes.hasRemaining() || input.available() > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            InputStream input = this.input;
+            if (input == null) {
+                return;
+            }
+
+            this.input = null;
+            try {
+                input.close();
+            } finally {
+                READERS.release(this);
+            }
+        }
+    }
+
+    private static final class PooledWriter extends Writer {
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+        private CharsetEncoder encoder;
+        private OutputStream output;
+
+        private void open(OutputStream output, Charset charset) {
+            if (encoder == null || !encoder.charset().equals(charset)) {
+                encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            } else {
+                encoder.reset();
+            }
+
+            bytes.clear();
+            chars.clear();
+            this.output = output;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (output == null) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        private void drain() throws IOException {
+            if (bytes.position() > 0) {
+                output.write(bytes.array(), 0, bytes.position());
+                bytes.clear();
+            }
+        }
+
+        //encodes buffered characters; an unpaired high surrogate at the end of the buffer is kept until more input
+        private void encode(boolean endOfInput) throws IOException {
+            chars.flip();
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    drain();
+                    continue;
+                }
+
+                if (result.isError()) {
+                    result.throwException();
+                }
+
+                break;
+            }
+
+            chars.compact();
+
+            if (endOfInput) {
+                while (encoder.flush(bytes).isOverflow()) {
+                    drain();
+                }
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            ensureOpen();
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+
+            chars.put((char) c);
+        }
+
+        @Override
+        public void write(char @NotNull [] cbuf, int off, int len) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+
+            while (len > 0) {
+                if (!chars.hasRemaining()) {
+                    encode(false);
+                }
+
+                int count = Math.min(len, chars.remaining());
+                chars.put(cbuf, off, count);
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void write(@NotNull String str, int off, int len) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(off, len, str.length());
+
+            while (len > 0) {
+                if (!chars.hasRemaining()) {
+                    encode(false);
+                }
+
+                int count = Math.min(len, chars.remaining());
+                chars.put(str, off, off + count);
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            encode(false);
+            drain();
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            OutputStream output = this.output;
+            if (output == null) {
+                return;
+            }
+
+            boolean success = false;
+            try (output) {
+                encode(true);
+                drain();
+                success = true;
+            } finally {
+                this.output = null;
+
+                //buffers may hold stale data if writing failed, so don't reuse this writer
+                if (success) {
+                    WRITERS.release(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.steanky.ethylene.core.util;
+
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A bounded, direct-mapped cache of canonical {@link String} instances and their corresponding {@link ConfigPrimitive}s.
+ * Decoders use this to deduplicate keys and short string values which occur repeatedly in a document, such as
+ * {@code name} or {@code type}, so that the decoded tree retains a single instance of each.
+ * <p>
+ * Each string maps to exactly one slot; a string which hashes to an occupied slot replaces the previous one. This keeps
+ * lookups cheap and memory usage fixed, at the cost of occasionally missing a duplicate. Strings longer than a maximum
+ * length are never pooled, as they are unlikely to repeat.
+ * <p>
+ * Instances are not thread-safe. {@link StringPool#local()} provides a separate pool per thread.
+ */
+@ApiStatus.Internal
+public final class StringPool {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_MAX_LENGTH = 64;
+
+    private static final ThreadLocal<StringPool> LOCAL =
+        ThreadLocal.withInitial(() -> new StringPool(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH));
+
+    private final String[] strings;
+    private final ConfigPrimitive[] primitives;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param capacity  the number of slots; rounded up to the next power of two
+     * @param maxLength the maximum length of a string which will be pooled
+     * @throws IllegalArgumentException if capacity is less than 1 or greater than 2^30, or maxLength is negative
+     */
+    public StringPool(int capacity, int maxLength) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength < 0");
+        }
+
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.strings = new String[size];
+        this.primitives = new ConfigPrimitive[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Gets the pool belonging to the current thread.
+     *
+     * @return the current thread's pool
+     */
+    public static @NotNull StringPool local() {
+        return LOCAL.get();
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static boolean contentEquals(String string, char[] chars, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the canonical instance of the given string. If no equal string is pooled, the given string is pooled and
+     * returned.
+     *
+     * @param string the string to canonicalize
+     * @return a string equal to the given string
+     */
+    public @NotNull String string(@NotNull String string) {
+        if (string.length() > maxLength) {
+            return string;
+        }
+
+        int slot = slot(string.hashCode());
+        String existing = strings[slot];
+        if (string.equals(existing)) {
+            return existing;
+        }
+
+        strings[slot] = string;
+        primitives[slot] = null;
+        return string;
+    }
+
+    /**
+     * Gets the canonical string containing the given range of characters. A new string is only created if no such
+     * string is pooled.
+     *
+     * @param chars  the character array
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return a string containing the given characters
+     * @throws IndexOutOfBoundsException if the range is out of bounds of the array
+     */
+    public @NotNull String string(char @NotNull [] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+
+        //same as String#hashCode
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int slot = slot(hash);
+        String existing = strings[slot];
+        if (existing != null && contentEquals(existing, chars, offset, length)) {
+            return existing;
+        }
+
+        String string = new String(chars, offset, length);
+        strings[slot] = string;
+        primitives[slot] = null;
+        return string;
+    }
+
+    /**
+     * Gets a {@link ConfigPrimitive} containing the canonical instance of the given string. Repeated calls with equal
+     * strings return the same primitive, as long as it has not been displaced from the pool.
+     *
+     * @param string the string
+     * @return a ConfigPrimitive containing a string equal to the given string
+     */
+    public @NotNull ConfigPrimitive primitive(@NotNull String string) {
+        if (string.length() > maxLength) {
+            return ConfigPrimitive.of(string);
+        }
+
+        int slot = slot(string.hashCode());
+        String existing = strings[slot];
+        if (!string.equals(existing)) {
+            strings[slot] = existing = string;
+            primitives[slot] = null;
+        }
+
+        ConfigPrimitive primitive = primitives[slot];
+        if (primitive == null) {
+            primitives[slot] = primitive = ConfigPrimitive.of(existing);
+        }
+
+        return primitive;
+    }
+}
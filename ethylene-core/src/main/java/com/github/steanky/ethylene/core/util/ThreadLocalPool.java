@@ -0,0 +1,73 @@
+package com.github.steanky.ethylene.core.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A simple thread-confined object pool. Each thread keeps its own bounded stack of idle objects, so acquiring and
+ * releasing never requires synchronization. Objects are created using a {@link Supplier} when no idle object is
+ * available, which includes nested (re-entrant) acquisitions on the same thread.
+ * <p>
+ * This is intended for codecs, which can use it to reuse expensive parser or emitter state and I/O buffers across calls
+ * rather than re-creating them for every document. Objects must not be used after they have been released.
+ *
+ * @param <T> the type of pooled object
+ */
+@ApiStatus.Internal
+public final class ThreadLocalPool<T> {
+    private final Supplier<? extends T> factory;
+    private final int maxIdle;
+    private final ThreadLocal<Deque<T>> idle;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param factory the supplier used to create new objects
+     * @param maxIdle the maximum number of idle objects retained per thread
+     * @throws IllegalArgumentException if maxIdle is negative
+     */
+    public ThreadLocalPool(@NotNull Supplier<? extends T> factory, int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle < 0");
+        }
+
+        this.factory = Objects.requireNonNull(factory);
+        this.maxIdle = maxIdle;
+        this.idle = ThreadLocal.withInitial(() -> new ArrayDeque<>(Math.min(maxIdle, 16)));
+    }
+
+    /**
+     * Takes an idle object from the current thread's pool, or creates a new one if none are available.
+     *
+     * @return the pooled object
+     */
+    public @NotNull T acquire() {
+        T object = idle.get().pollFirst();
+        if (object != null) {
+            return object;
+        }
+
+        return Objects.requireNonNull(factory.get(), "factory value");
+    }
+
+    /**
+     * Returns an object to the current thread's pool. If the pool is full, the object is discarded. Callers should not
+     * release objects which may be in an inconsistent state, for example after an exception was thrown while using
+     * them.
+     *
+     * @param object the object to release
+     */
+    public void release(@NotNull T object) {
+        Objects.requireNonNull(object);
+
+        Deque<T> idle = this.idle.get();
+        if (idle.size() < maxIdle) {
+            idle.offerFirst(object);
+        }
+    }
+}
@@ -118,4 +118,55 @@ class ConfigPrimitiveTest {
             assertEquals(firstChar.asString(), Character.toString((char)i));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void unboxedNumbers() {
+        ConfigPrimitive longPrimitive = ConfigPrimitive.of(10_000_000_000L);
+        ConfigPrimitive intPrimitive = ConfigPrimitive.of(100_000);
+        ConfigPrimitive doublePrimitive = ConfigPrimitive.of(2.75D);
+
+        assertEquals(10_000_000_000L, longPrimitive.asLong());
+        assertEquals((int) 10_000_000_000L, longPrimitive.asInt());
+        assertEquals(100_000, intPrimitive.asInt());
+        assertEquals(100_000D, intPrimitive.asDouble());
+        assertEquals(2, doublePrimitive.asInt());
+        assertEquals(2.75D, doublePrimitive.asDouble());
+
+        assertEquals(Long.class, longPrimitive.scalarType());
+        assertEquals(Double.class, doublePrimitive.scalarType());
+        assertEquals(10_000_000_000L, longPrimitive.asScalar());
+        assertEquals(2.75D, doublePrimitive.asNumber());
+        assertTrue(doublePrimitive.isNumber());
+        assertFalse(doublePrimitive.isNull());
+        assertFalse(doublePrimitive.isString());
+        assertThrows(IllegalStateException.class, doublePrimitive::asString);
+        assertThrows(IllegalStateException.class, longPrimitive::asBoolean);
+    }
+
+    @Test
+    void unboxedNumberEquality() {
+        assertEquals(ConfigPrimitive.of(2.75D), ConfigPrimitive.of((Object) 2.75D));
+        assertEquals(ConfigPrimitive.of(1000), ConfigPrimitive.of((Number) 1000));
+        assertEquals(Double.hashCode(2.75D), ConfigPrimitive.of(2.75D).hashCode());
+        assertEquals(Long.hashCode(1000L), ConfigPrimitive.of(1000L).hashCode());
+
+        //boxed values of different types are not equal, so neither are unboxed ones
+        assertNotEquals(ConfigPrimitive.of(1000), ConfigPrimitive.of(1000L));
+        assertNotEquals(ConfigPrimitive.of(1000L), ConfigPrimitive.of(1000D));
+        assertNotEquals(ConfigPrimitive.NULL, ConfigPrimitive.of(1000L));
+        assertNotEquals(ConfigPrimitive.of(0.0D), ConfigPrimitive.of(-0.0D));
+        assertEquals(ConfigPrimitive.of(Double.NaN), ConfigPrimitive.of(Double.NaN));
+
+        assertEquals("1000L", ConfigPrimitive.of(1000L).toString());
+        assertEquals("2.75", ConfigPrimitive.of(2.75D).toString());
+    }
+
+    @Test
+    void floatsStayFloats() {
+        ConfigPrimitive floatPrimitive = ConfigPrimitive.of(1.5F);
+
+        assertEquals(Float.class, floatPrimitive.scalarType());
+        assertEquals(1.5D, floatPrimitive.asDouble());
+        assertEquals("1.5F", floatPrimitive.toString());
+    }
+}
@@ -0,0 +1,354 @@
+package com.github.steanky.ethylene.core;
+
+import com.github.steanky.ethylene.core.collection.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphTest {
+    private static final int DEPTH = 1000;
+
+    private static ConfigNode[] chain() {
+        ConfigNode[] nodes = new ConfigNode[DEPTH];
+        nodes[0] = new LinkedConfigNode(2);
+        for (int i = 1; i < DEPTH; i++) {
+            nodes[i] = new LinkedConfigNode(2);
+            nodes[i - 1].put("child", nodes[i]);
+        }
+
+        return nodes;
+    }
+
+    private static ConfigNode copyDepthFirst(ConfigNode root) {
+        return (ConfigNode) Graph.process((ConfigElement) root, (ConfigElement element) -> {
+            ConfigNode out = new LinkedConfigNode(2);
+            return Graph.node(Graph.iterator(element.asNode().entrySet().iterator()),
+                Graph.output(out, (String key, ConfigElement value, boolean circular) -> out.put(key, value)));
+        }, ConfigElement::isContainer, Function.identity(),
+            Graph.Options.DEPTH_FIRST | Graph.Options.TRACK_REFERENCES | Graph.Options.LAZY_ACCUMULATION);
+    }
+
+    private static void assertCircularChain(ConfigNode copy) {
+        ConfigNode current = copy;
+        ConfigNode middle = null;
+        for (int i = 1; i < DEPTH; i++) {
+            current = current.get("child").asNode();
+            if (i == DEPTH / 2) {
+                middle = current;
+            }
+        }
+
+        assertSame(copy, current.get("root"));
+        assertSame(middle, current.get("middle"));
+        assertFalse(current.containsKey("child"));
+    }
+
+    @Test
+    void deepCircularReferencesBreadthFirst() {
+        ConfigNode[] nodes = chain();
+        nodes[DEPTH - 1].put("root", nodes[0]);
+        nodes[DEPTH - 1].put("middle", nodes[DEPTH / 2]);
+
+        assertCircularChain(nodes[0].copy().asNode());
+    }
+
+    @Test
+    void deepCircularReferencesDepthFirst() {
+        ConfigNode[] nodes = chain();
+        nodes[DEPTH - 1].put("root", nodes[0]);
+        nodes[DEPTH - 1].put("middle", nodes[DEPTH / 2]);
+
+        assertCircularChain(copyDepthFirst(nodes[0]));
+    }
+
+    @Test
+    void deepSiblingsAreNotAncestors() {
+        ConfigNode[] nodes = chain();
+        ConfigNode shared = ConfigNode.of("value", 10);
+
+        //these nodes share a container, but neither is an ancestor of the other
+        nodes[DEPTH - 1].put("first", shared);
+        nodes[DEPTH / 2].put("second", shared);
+
+        ConfigNode copy = nodes[0].copy().asNode();
+
+        ConfigNode current = copy;
+        ConfigNode second = null;
+        for (int i = 1; i < DEPTH; i++) {
+            current = current.get("child").asNode();
+            if (i == DEPTH / 2) {
+                second = current.get("second").asNode();
+            }
+        }
+
+        ConfigNode first = current.get("first").asNode();
+        assertNotNull(second);
+        assertEquals(10, first.get("value").asNumber());
+        assertEquals(10, second.get("value").asNumber());
+        assertNotSame(shared, first);
+    }
+
+    @Test
+    void sharedContainersPreservedByCopy() {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigNode root = ConfigNode.of("first", shared, "second", ConfigNode.of("nested", shared));
+
+        ConfigNode copy = root.copy().asNode();
+        ConfigElement first = copy.get("first");
+
+        assertNotSame(shared, first);
+        assertSame(first, copy.get("second").asNode().get("nested"));
+
+        ConfigNode immutableCopy = root.immutableCopy().asNode();
+        assertSame(immutableCopy.get("first"), immutableCopy.get("second").asNode().get("nested"));
+    }
+
+    @Test
+    void sharedReferencesAreNotCircular() {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigNode root = ConfigNode.of("first", shared, "second", shared);
+        root.put("self", root);
+
+        int[] counts = new int[2];
+        Graph.process((ConfigElement) root, (ConfigElement element) -> Graph.node(
+                Graph.iterator(element.asNode().entrySet().iterator()),
+                Graph.output(element, (String key, ConfigElement value, boolean circular) ->
+                    counts[circular ? 1 : 0]++)),
+            ConfigElement::isContainer, Function.identity(), Graph.Options.PRESERVE_SHARED);
+
+        //"first" and "second" are non-circular; the shared node is only processed once, so "value" is seen once
+        assertEquals(3, counts[0]);
+        assertEquals(1, counts[1]);
+    }
+
+    @Test
+    void accumulatorsFinishedOnceComplete() {
+        ConfigNode root = ConfigNode.of("a", ConfigNode.of("b", 1, "c", ConfigList.of(1, 2)), "d", ConfigList.of(),
+            "e", ConfigNode.of("f", ConfigNode.of()));
+
+        for (int flags : new int[] {Graph.Options.NONE, Graph.Options.DEPTH_FIRST, Graph.Options.PRESERVE_SHARED,
+            Graph.Options.PARALLEL}) {
+            AtomicInteger finished = new AtomicInteger();
+            Graph.process((ConfigElement) root, (ConfigElement element) -> {
+                ConfigContainer input = element.asContainer();
+                int expected = input.entryCollection().size();
+                return Graph.node(Graph.iterator(input.entryCollection().iterator()),
+                    Graph.output(element, new Graph.Accumulator<String, ConfigElement>() {
+                        private int accepted;
+
+                        @Override
+                        public void accept(String key, ConfigElement out, boolean circular) {
+                            accepted++;
+                        }
+
+                        @Override
+                        public void finish() {
+                            assertEquals(expected, accepted);
+                            finished.incrementAndGet();
+                        }
+                    }));
+            }, ConfigElement::isContainer, Function.identity(), Function.identity(), ArrayDeque::new, flags);
+
+            assertEquals(6, finished.get());
+        }
+    }
+
+    private static ConfigNode wideTree() {
+        ConfigList entries = new ArrayConfigList(10000);
+        for (int i = 0; i < 10000; i++) {
+            entries.add(ConfigNode.of("id", i, "tags", ConfigList.of("a", "b"), "nested", ConfigNode.of("value", i)));
+        }
+
+        return ConfigNode.of("name", "catalog", "entries", entries, "empty", new LinkedConfigNode());
+    }
+
+    @Test
+    void parallelCopiesWideTree() {
+        ConfigNode root = wideTree();
+
+        ConfigContainer copy = root.parallelCopy();
+        assertEquals(root, copy);
+        assertNotSame(root.get("entries"), copy.asNode().get("entries"));
+
+        ConfigContainer immutableCopy = root.parallelImmutableCopy();
+        assertEquals(root, immutableCopy);
+        assertInstanceOf(Immutable.class, immutableCopy.asNode().get("entries"));
+    }
+
+    @Test
+    void parallelCopiesDeepChain() {
+        ConfigNode[] nodes = chain();
+        nodes[DEPTH - 1].put("leaf", ConfigPrimitive.of("value"));
+
+        assertEquals(nodes[0], nodes[0].parallelImmutableCopy());
+    }
+
+    @Test
+    void parallelFastExit() {
+        Object result = Graph.process((ConfigElement) wideTree(), (ConfigElement element) -> {
+            Iterator<ConfigEntry> entries = element.asContainer().entryCollection().iterator();
+            return Graph.node(new Iterator<Graph.InputEntry<String, ConfigElement, Object>>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Graph.InputEntry<String, ConfigElement, Object> next() {
+                    ConfigEntry entry = entries.next();
+                    if (entry.getValue().isNumber() && entry.getValue().asNumber().intValue() == 5000) {
+                        return Graph.fastExit("exit");
+                    }
+
+                    return Graph.entry(entry.getKey(), entry.getValue());
+                }
+            }, Graph.output(element, Graph.emptyAccumulator()));
+        }, ConfigElement::isContainer, Function.identity(), Graph.Options.PARALLEL);
+
+        assertEquals("exit", result);
+    }
+
+    @Test
+    void parallelRejectsCircularReferences() {
+        ConfigNode self = new LinkedConfigNode(1);
+        self.put("self", self);
+        assertThrows(IllegalArgumentException.class, self::parallelCopy);
+
+        ConfigNode[] nodes = chain();
+        nodes[DEPTH - 1].put("middle", nodes[DEPTH / 2]);
+        assertThrows(IllegalArgumentException.class, nodes[0]::parallelImmutableCopy);
+
+        //cycles below the point where tasks are forked
+        ConfigNode root = wideTree();
+        ConfigNode entry = root.get("entries").asList().get(5000).asNode();
+        entry.put("parent", root);
+        assertThrows(IllegalArgumentException.class, root::parallelCopy);
+        assertThrows(IllegalArgumentException.class, root::parallelImmutableCopy);
+    }
+
+    @Test
+    void parallelAllowsSharedReferences() {
+        ConfigNode shared = ConfigNode.of("value", 1);
+        ConfigNode root = ConfigNode.of("first", shared, "second", ConfigNode.of("nested", shared));
+
+        ConfigNode copy = root.parallelCopy().asNode();
+        assertEquals(root, copy);
+        assertNotSame(copy.get("first"), copy.get("second").asNode().get("nested"));
+    }
+
+    @Test
+    void parallelRejectsReferenceTracking() {
+        assertThrows(IllegalArgumentException.class, () -> Graph.process((ConfigElement) wideTree(),
+            (ConfigElement element) -> Graph.node(Graph.iterator(element.asContainer().entryCollection().iterator())),
+            ConfigElement::isContainer, Function.identity(), Graph.Options.PARALLEL | Graph.Options.TRACK_REFERENCES));
+    }
+
+    private static ConfigElement copyWithContext(ConfigElement root, Graph.Context context, int flags) {
+        return Graph.process(root, (ConfigElement element) -> {
+            ConfigContainer out = element.isNode() ? new LinkedConfigNode() : new ArrayConfigList();
+            return context.node(context.iterator(element.asContainer().entryCollection().iterator()),
+                context.output(out, (String key, ConfigElement value, boolean circular) -> {
+                    if (out.isNode()) {
+                        out.asNode().put(key, value);
+                    } else {
+                        out.asList().add(value);
+                    }
+                }));
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), context, flags);
+    }
+
+    @Test
+    void reusedContextProducesSameResults() {
+        Graph.Context context = Graph.context();
+        ConfigNode tree = wideTree();
+        ConfigNode[] nodes = chain();
+        nodes[DEPTH - 1].put("root", nodes[0]);
+        nodes[DEPTH - 1].put("middle", nodes[DEPTH / 2]);
+
+        int[] flags = new int[] {Graph.Options.NONE, Graph.Options.DEPTH_FIRST, Graph.Options.TRACK_REFERENCES,
+            Graph.Options.PRESERVE_SHARED | Graph.Options.DEPTH_FIRST};
+        for (int i = 0; i < 3; i++) {
+            for (int flag : flags) {
+                assertEquals(tree, copyWithContext(tree, context, flag));
+            }
+
+            assertCircularChain(copyWithContext(nodes[0], context, Graph.Options.TRACK_REFERENCES).asNode());
+        }
+    }
+
+    @Test
+    void nestedUseOfContext() {
+        Graph.Context context = Graph.context();
+        ConfigNode inner = ConfigNode.of("value", 10);
+        ConfigNode root = ConfigNode.of("first", ConfigNode.of("a", 1), "second", ConfigList.of(1, 2, 3));
+
+        //the context is already in use by the outer call, so the inner call must not disturb its state
+        ConfigElement copy = Graph.process((ConfigElement) root, (ConfigElement element) -> {
+            assertEquals(inner, copyWithContext(inner, context, Graph.Options.NONE));
+
+            ConfigContainer out = element.isNode() ? new LinkedConfigNode() : new ArrayConfigList();
+            return context.node(context.iterator(element.asContainer().entryCollection().iterator()),
+                context.output(out, (String key, ConfigElement value, boolean circular) -> {
+                    if (out.isNode()) {
+                        out.asNode().put(key, value);
+                    } else {
+                        out.asList().add(value);
+                    }
+                }));
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), context, Graph.Options.NONE);
+
+        assertEquals(root, copy);
+        assertEquals(root, copyWithContext(root, context, Graph.Options.NONE));
+    }
+
+    @Test
+    void contextUsableAfterFastExit() {
+        Graph.Context context = Graph.context();
+        ConfigNode tree = wideTree();
+
+        Object result = Graph.process((ConfigElement) tree, (ConfigElement element) -> {
+            Iterator<ConfigEntry> entries = element.asContainer().entryCollection().iterator();
+            return context.node(new Iterator<Graph.InputEntry<String, ConfigElement, Object>>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Graph.InputEntry<String, ConfigElement, Object> next() {
+                    ConfigEntry entry = entries.next();
+                    if (entry.getValue().isNumber() && entry.getValue().asNumber().intValue() == 500) {
+                        return Graph.fastExit("exit");
+                    }
+
+                    return Graph.entry(entry.getKey(), entry.getValue());
+                }
+            }, context.output(element, Graph.emptyAccumulator()));
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), context, Graph.Options.NONE);
+
+        assertEquals("exit", result);
+        assertEquals(tree, copyWithContext(tree, context, Graph.Options.NONE));
+    }
+
+    @Test
+    void contextFallsBackWhenParallel() {
+        ConfigNode tree = wideTree();
+        assertEquals(tree, Graph.process((ConfigElement) tree, (ConfigElement element) -> {
+            ConfigContainer out = element.isNode() ? new LinkedConfigNode() : new ArrayConfigList();
+            return Graph.node(Graph.iterator(element.asContainer().entryCollection().iterator()),
+                Graph.output(out, (String key, ConfigElement value, boolean circular) -> {
+                    if (out.isNode()) {
+                        out.asNode().put(key, value);
+                    } else {
+                        out.asList().add(value);
+                    }
+                }));
+        }, ConfigElement::isContainer, Function.identity(), Function.identity(), Graph.context(),
+            Graph.Options.PARALLEL));
+    }
+}
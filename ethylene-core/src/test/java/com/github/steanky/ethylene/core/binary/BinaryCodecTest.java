@@ -0,0 +1,108 @@
+package com.github.steanky.ethylene.core.binary;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+    private static byte[] encode(ConfigElement element) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryCodec.INSTANCE.encode(element, output);
+        return output.toByteArray();
+    }
+
+    private static ConfigElement decode(byte[] bytes) throws IOException {
+        return BinaryCodec.INSTANCE.decode(new ByteArrayInputStream(bytes));
+    }
+
+    private static ConfigElement roundTrip(ConfigElement element) throws IOException {
+        return decode(encode(element));
+    }
+
+    @Test
+    void preservesScalarTypes() throws IOException {
+        Object[] values = {null, true, false, (byte) -5, (short) 300, 'c', -1, Integer.MAX_VALUE, Long.MIN_VALUE, 1.5F,
+            -2.25, Double.NaN, new BigInteger("123456789012345678901234567890"), new BigDecimal("-1.000"), "", "text"};
+
+        for (Object value : values) {
+            ConfigElement decoded = roundTrip(ConfigPrimitive.of(value));
+            assertEquals(value, decoded.asScalar());
+        }
+    }
+
+    @Test
+    void roundTripsContainers() throws IOException {
+        ConfigNode node = ConfigNode.of("list", ConfigList.of(1, 2L, "three"), "empty", ConfigNode.of(), "nested",
+            ConfigNode.of("key", ConfigList.of()));
+
+        assertEquals(node, roundTrip(node));
+        assertEquals(ConfigList.of(), roundTrip(ConfigList.of()));
+    }
+
+    @Test
+    void preservesSharedAndCircularReferences() throws IOException {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigList list = ConfigList.of(shared, shared);
+        list.add(list);
+
+        ConfigList decoded = roundTrip(list).asList();
+        assertSame(decoded.get(0), decoded.get(1));
+        assertSame(decoded, decoded.get(2));
+    }
+
+    @Test
+    void deduplicatesStrings() throws IOException {
+        ConfigList unique = ConfigList.of();
+        ConfigList repeated = ConfigList.of();
+        for (int i = 0; i < 100; i++) {
+            unique.add(ConfigNode.of("key_" + i, "value_" + i));
+            repeated.add(ConfigNode.of("key", "value"));
+        }
+
+        assertTrue(encode(repeated).length < encode(unique).length / 2);
+    }
+
+    @Test
+    void deepNesting() throws IOException {
+        ConfigNode root = ConfigNode.of();
+        ConfigNode current = root;
+        for (int i = 0; i < 100_000; i++) {
+            ConfigNode child = ConfigNode.of();
+            current.put("child", child);
+            current = child;
+        }
+
+        assertDoesNotThrow(() -> roundTrip(root));
+    }
+
+    @Test
+    void rejectsInvalidInput() throws IOException {
+        byte[] bytes = encode(ConfigNode.of("key", "value"));
+
+        assertThrows(IOException.class, () -> decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IOException.class, () -> decode(Arrays.copyOf(bytes, bytes.length + 1)));
+        assertThrows(IOException.class, () -> decode("not binary".getBytes()));
+    }
+
+    @Test
+    void decodesDirectBuffers() throws IOException {
+        ConfigNode node = ConfigNode.of("key", "value", "list", ConfigList.of(1, 2, 3));
+        byte[] bytes = encode(node);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        assertEquals(node, BinaryCodec.INSTANCE.decode(buffer));
+    }
+}
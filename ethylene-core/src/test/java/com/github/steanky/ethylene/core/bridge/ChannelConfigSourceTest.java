@@ -0,0 +1,89 @@
+package com.github.steanky.ethylene.core.bridge;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.binary.BinaryCodec;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelConfigSourceTest {
+    @Test
+    void readsAndWritesFiles(@TempDir Path directory) throws Exception {
+        ConfigList large = ConfigList.of();
+        for (int i = 0; i < 20_000; i++) {
+            large.add(ConfigNode.of("key", "value_" + i));
+        }
+
+        ConfigSource source = Configuration.channelSourceFromPath(directory.resolve("large.ethb"),
+            BinaryCodec.INSTANCE);
+        source.write(large).get();
+        assertEquals(large, source.read().get());
+
+        //overwriting with a smaller element must truncate the file
+        ConfigNode small = ConfigNode.of("key", "value");
+        source.write(small).get();
+        assertEquals(small, source.read().get());
+        assertEquals(small, Configuration.read(directory.resolve("large.ethb"), BinaryCodec.INSTANCE));
+    }
+
+    @Test
+    void readsConcurrently(@TempDir Path directory) throws Exception {
+        List<ConfigSource> sources = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Path path = directory.resolve(i + ".ethb");
+            Configuration.write(path, ConfigNode.of("index", i), BinaryCodec.INSTANCE);
+            sources.add(Configuration.channelSourceFromPath(path, BinaryCodec.INSTANCE));
+        }
+
+        List<CompletableFuture<ConfigElement>> futures = new ArrayList<>();
+        for (ConfigSource source : sources) {
+            futures.add(source.read());
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(ConfigNode.of("index", i), futures.get(i).get());
+        }
+    }
+
+    @Test
+    void reportsMissingFiles(@TempDir Path directory) {
+        ConfigSource source = Configuration.channelSourceFromPath(directory.resolve("missing.ethb"),
+            BinaryCodec.INSTANCE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> source.read().get());
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void dependentsRunOnExecutor(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("file.ethb");
+        Configuration.write(path, ConfigNode.of("key", "value"), BinaryCodec.INSTANCE);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "decode"));
+        try {
+            ConfigSource source = Configuration.channelSourceFromPath(path, BinaryCodec.INSTANCE, executor);
+            for (int i = 0; i < 10; i++) {
+                String thread = source.read().thenApply(element -> Thread.currentThread().getName()).get();
+                assertNotEquals("ethylene-file-io", thread);
+
+                thread = source.write(ConfigNode.of("index", i)).thenApply(ignored -> Thread.currentThread().getName())
+                    .get();
+                assertNotEquals("ethylene-file-io", thread);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
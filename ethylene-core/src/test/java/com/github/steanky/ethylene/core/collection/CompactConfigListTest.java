@@ -0,0 +1,90 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactConfigListTest {
+    @Test
+    void homogeneousIntegersUsePrimitiveArray() {
+        CompactConfigList.Builder builder = CompactConfigList.builder(2);
+        for (int i = 0; i < 10; i++) {
+            builder.add(ConfigPrimitive.of(i));
+        }
+
+        CompactConfigList list = (CompactConfigList) builder.build();
+        assertEquals(int.class, list.primitiveType());
+        assertEquals(10, list.size());
+        assertEquals(ConfigPrimitive.of(7), list.get(7));
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, list.toIntArray());
+        assertArrayEquals(new long[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, list.toLongArray());
+    }
+
+    @Test
+    void mixedElementsInflate() {
+        CompactConfigList.Builder builder = CompactConfigList.builder(0);
+        builder.add(ConfigPrimitive.of(1.5D)).add(ConfigPrimitive.of(2.5D)).add(ConfigPrimitive.of(3L));
+
+        CompactConfigList list = (CompactConfigList) builder.build();
+        assertNull(list.primitiveType());
+        assertEquals(ConfigList.of(1.5D, 2.5D, 3L), list);
+        assertArrayEquals(new double[] {1.5, 2.5, 3}, list.toDoubleArray());
+    }
+
+    @Test
+    void equalToBoxedList() {
+        ConfigList longs = CompactConfigList.ofLongs(1, 2, Long.MAX_VALUE);
+        ConfigList boxed = ConfigList.of(1L, 2L, Long.MAX_VALUE);
+
+        assertEquals(boxed, longs);
+        assertEquals(longs, boxed);
+        assertEquals(boxed.hashCode(), longs.hashCode());
+    }
+
+    @Test
+    void factoriesCopyArray() {
+        double[] values = {1, 2, 3};
+        ConfigList list = CompactConfigList.ofDoubles(values);
+        values[0] = 10;
+
+        assertEquals(ConfigPrimitive.of(1D), list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+    }
+
+    @Test
+    void immutableCopyUsesPrimitiveArray() {
+        ConfigList copy = ConfigList.of(1, 2, 3).immutableCopy();
+
+        assertEquals(int.class, assertInstanceOf(CompactConfigList.class, copy).primitiveType());
+        assertEquals(ConfigList.of(1, 2, 3), copy);
+    }
+
+    @Test
+    void bulkAccessorsRejectNonNumbers() {
+        ConfigList list = ConfigList.of(1, "two");
+
+        assertThrows(IllegalStateException.class, list::toIntArray);
+        assertThrows(IllegalStateException.class, () -> list.immutableCopy().toIntArray());
+    }
+
+    @Test
+    void emptyBuilder() {
+        ConfigList list = CompactConfigList.builder(4).build();
+
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new int[0], list.toIntArray());
+    }
+
+    @Test
+    void buildReleasesExcessCapacity() {
+        CompactConfigList.Builder builder = CompactConfigList.builder(8);
+        builder.add(ConfigPrimitive.of(1)).add(ConfigPrimitive.of(2));
+        assertEquals(2, ((CompactConfigList) builder.build()).capacity());
+
+        //switching away from a primitive array grows the list beyond its expected size
+        CompactConfigList mixed = (CompactConfigList) ConfigList.of(1, "two", 3).immutableCopy();
+        assertNull(mixed.primitiveType());
+        assertEquals(3, mixed.capacity());
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactConfigNodeTest {
+    private static ConfigNode build(int size) {
+        CompactConfigNode.Builder builder = CompactConfigNode.builder(2);
+        for (int i = 0; i < size; i++) {
+            builder.put("key" + i, ConfigPrimitive.of(i));
+        }
+
+        return builder.build();
+    }
+
+    @Test
+    void smallAndIndexedLookups() {
+        for (int size : new int[] {0, 1, 8, 9, 100}) {
+            ConfigNode node = build(size);
+            assertEquals(size, node.size());
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, node.get("key" + i).asNumber().intValue());
+                assertTrue(node.containsKey("key" + i));
+            }
+
+            assertNull(node.get("missing"));
+            assertNull(node.get(10));
+            assertFalse(node.containsKey("key" + size));
+        }
+    }
+
+    @Test
+    void preservesInsertionOrder() {
+        ConfigNode node = build(20);
+        List<String> keys = new ArrayList<>(node.keySet());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("key" + i, keys.get(i));
+        }
+    }
+
+    @Test
+    void duplicateKeysReplaceValue() {
+        ConfigNode node = CompactConfigNode.builder(2).put("a", ConfigPrimitive.of(1)).put("b", ConfigPrimitive.of(2))
+            .put("a", ConfigPrimitive.of(3)).build();
+
+        assertEquals(2, node.size());
+        assertEquals(3, node.get("a").asNumber().intValue());
+        assertEquals("a", node.keySet().iterator().next());
+    }
+
+    @Test
+    void equalToLinkedNode() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            map.put("key" + i, i);
+        }
+
+        ConfigNode linked = new LinkedConfigNode();
+        map.forEach((key, value) -> linked.put(key, ConfigPrimitive.of(value)));
+
+        ConfigNode compact = build(50);
+        assertEquals(linked, compact);
+        assertEquals(compact, linked);
+        assertEquals(linked.hashCode(), compact.hashCode());
+    }
+
+    @Test
+    void isImmutable() {
+        ConfigNode node = build(3);
+        assertInstanceOf(Immutable.class, node);
+        assertThrows(UnsupportedOperationException.class, () -> node.put("key0", ConfigPrimitive.of(1)));
+        assertThrows(UnsupportedOperationException.class, () -> node.remove("key0"));
+        assertThrows(UnsupportedOperationException.class, () -> node.entrySet().iterator().next().setValue(null));
+    }
+
+    @Test
+    void builderCannotBeReused() {
+        CompactConfigNode.Builder builder = CompactConfigNode.builder(0);
+        builder.build();
+        assertThrows(IllegalStateException.class, () -> builder.put("key", ConfigPrimitive.NULL));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void immutableCopyProducesCompactContainers() {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigNode root = ConfigNode.of("first", shared, "second", shared, "list", ConfigList.of(1, shared));
+        root.put("self", root);
+
+        ConfigNode copy = root.immutableCopy();
+        assertInstanceOf(CompactConfigNode.class, copy);
+        assertInstanceOf(CompactConfigList.class, copy.get("list"));
+        assertSame(copy, copy.get("self"));
+        assertSame(copy.get("first"), copy.get("second"));
+        assertSame(copy.get("first"), copy.get("list").asList().get(1));
+
+        assertInstanceOf(CompactConfigNode.class, ConfigNode.immutable("a", 1, "b", 2));
+        assertEquals(ConfigNode.of("a", 1, "b", 2), ConfigNode.immutable("a", 1, "b", 2));
+    }
+
+    @Test
+    void listBuilderGrows() {
+        CompactConfigList.Builder builder = CompactConfigList.builder(1);
+        for (int i = 0; i < 10; i++) {
+            builder.add(ConfigPrimitive.of(i));
+        }
+
+        ConfigList list = builder.build();
+        assertEquals(10, list.size());
+        assertEquals(ConfigList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10));
+    }
+
+    @Test
+    void buildReleasesExcessCapacity() {
+        CompactConfigNode.Builder builder = CompactConfigNode.builder(8);
+        builder.put("a", ConfigPrimitive.of(1)).put("b", ConfigPrimitive.of(2));
+        assertEquals(2, ((CompactConfigNode) builder.build()).capacity());
+
+        CompactConfigNode grown = (CompactConfigNode) build(10);
+        assertEquals(10, grown.capacity());
+    }
+}
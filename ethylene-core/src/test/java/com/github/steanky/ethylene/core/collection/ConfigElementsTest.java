@@ -282,6 +282,19 @@ class ConfigElementsTest {
         assertEquals("&0[0, 1, 2, &0]", ConfigElements.toString(list));
     }
 
+    @Test
+    void innerTagAssignedFirst() {
+        ConfigNode node = ConfigNode.of();
+        ConfigList list = ConfigList.of();
+        list.add(list);
+        list.add(node);
+        node.put("a", list);
+
+        String string = ConfigElements.toString(node);
+        assertEquals("&1{a=&0[&0, &1]}", string);
+        assertEquals(node, ConfigElement.of(string));
+    }
+
     @Test
     void wtf() {
         ConfigNode node = ConfigNode.of("pain", ConfigList.of());
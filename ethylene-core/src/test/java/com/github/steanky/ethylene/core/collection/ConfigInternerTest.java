@@ -0,0 +1,102 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigInternerTest {
+    private static ConfigNode tenant(String name) {
+        return ConfigNode.of("name", name, "limits", ConfigNode.of("memory", 512, "cpus", ConfigList.of(1, 2)),
+            "tags", ConfigList.of("a", "b"));
+    }
+
+    @Test
+    void equalSubtreesShared() {
+        ConfigInterner interner = new ConfigInterner();
+
+        ConfigNode first = tenant("first").internedImmutableCopy(interner).asNode();
+        ConfigNode second = tenant("second").internedImmutableCopy(interner).asNode();
+
+        assertNotSame(first, second);
+        assertSame(first.get("limits"), second.get("limits"));
+        assertSame(first.get("tags"), second.get("tags"));
+        assertSame(first.get("limits").asNode().get("cpus"), second.get("limits").asNode().get("cpus"));
+    }
+
+    @Test
+    void equalTreesShared() {
+        ConfigInterner interner = new ConfigInterner();
+
+        ConfigElement first = interner.intern(tenant("same"));
+        ConfigElement second = interner.intern(tenant("same"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void copyEqualToOriginal() {
+        ConfigNode original = tenant("original");
+        ConfigContainer copy = original.internedImmutableCopy(new ConfigInterner());
+
+        assertInstanceOf(Immutable.class, copy);
+        assertEquals(original, copy);
+        assertEquals(original.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    void entryOrderSignificant() {
+        ConfigInterner interner = new ConfigInterner();
+
+        ConfigElement first = interner.intern(ConfigNode.of("a", 1, "b", 2));
+        ConfigElement second = interner.intern(ConfigNode.of("b", 2, "a", 1));
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void nodesAndListsDistinct() {
+        ConfigInterner interner = new ConfigInterner();
+
+        ConfigElement list = interner.intern(ConfigList.of(1));
+        ConfigElement node = interner.intern(ConfigNode.of("0", 1));
+
+        assertTrue(list.isList());
+        assertTrue(node.isNode());
+    }
+
+    @Test
+    void sharedReferencesPreserved() {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigNode original = ConfigNode.of("first", shared, "second", shared);
+
+        ConfigNode copy = original.internedImmutableCopy(new ConfigInterner()).asNode();
+        assertSame(copy.get("first"), copy.get("second"));
+    }
+
+    @Test
+    void circularReferencesRejected() {
+        ConfigNode node = new LinkedConfigNode(1);
+        node.put("self", node);
+
+        ConfigInterner interner = new ConfigInterner();
+        assertThrows(IllegalArgumentException.class, () -> node.internedImmutableCopy(interner));
+    }
+
+    @Test
+    void scalarsUnchanged() {
+        ConfigPrimitive primitive = ConfigPrimitive.of("value");
+
+        assertSame(primitive, new ConfigInterner().intern(primitive));
+    }
+
+    @Test
+    void emptyContainersNotStored() {
+        ConfigInterner interner = new ConfigInterner();
+        interner.intern(ConfigNode.of("empty", ConfigNode.of(), "list", ConfigList.of()));
+
+        assertEquals(1, interner.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.steanky.ethylene.core.collection;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyConfigNodeTest {
+    private static final class TestNode extends LazyConfigNode {
+        private final List<String> loaded = new ArrayList<>();
+
+        private TestNode(String... keys) {
+            super(keys.length);
+            for (String key : keys) {
+                putUnloaded(key, new StringBuilder(key));
+            }
+        }
+
+        @Override
+        protected @NotNull ConfigElement load(@NotNull Object source) {
+            String value = source.toString();
+            loaded.add(value);
+            return ConfigPrimitive.of(value);
+        }
+    }
+
+    @Test
+    void loadsOnFirstAccess() {
+        TestNode node = new TestNode("first", "second");
+        assertEquals(2, node.size());
+        assertTrue(node.containsKey("second"));
+        assertTrue(node.loaded.isEmpty());
+
+        assertEquals("first", node.get("first").asString());
+        assertSame(node.get("first"), node.get("first"));
+        assertEquals(List.of("first"), node.loaded);
+        assertNull(node.get("missing"));
+    }
+
+    @Test
+    void iterationLoadsInOrder() {
+        TestNode node = new TestNode("a", "b", "c");
+        node.get("b");
+
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, ConfigElement> entry : node.entrySet()) {
+            keys.add(entry.getKey());
+            assertEquals(entry.getKey(), entry.getValue().asString());
+        }
+
+        assertEquals(List.of("a", "b", "c"), keys);
+        assertEquals(List.of("b", "a", "c"), node.loaded);
+        assertEquals(ConfigNode.of("a", "a", "b", "b", "c", "c"), node);
+    }
+
+    @Test
+    void modification() {
+        TestNode node = new TestNode("a", "b", "c");
+
+        assertEquals("a", node.put("a", ConfigPrimitive.of(1)).asString());
+        assertEquals(1, node.get("a").asNumber());
+        assertEquals("b", node.remove("b").asString());
+        assertFalse(node.containsKey("b"));
+
+        node.entrySet().removeIf(entry -> entry.getKey().equals("c"));
+        assertEquals(ConfigNode.of("a", 1), node);
+        assertEquals(ConfigNode.of("a", 1), node.copy());
+    }
+}
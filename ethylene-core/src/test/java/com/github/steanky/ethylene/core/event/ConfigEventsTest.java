@@ -0,0 +1,135 @@
+package com.github.steanky.ethylene.core.event;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.path.ConfigPath;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigEventsTest {
+    private static List<ConfigEvent> events(ConfigEventReader reader) throws IOException {
+        List<ConfigEvent> events = new ArrayList<>();
+        ConfigEvent event;
+        while ((event = reader.next()) != ConfigEvent.END_DOCUMENT) {
+            events.add(event);
+        }
+
+        return events;
+    }
+
+    @Test
+    void readsEventsInOrder() throws IOException {
+        ConfigNode root = ConfigNode.of("name", "value", "list", ConfigList.of(1, 2));
+        ConfigEventReader reader = ConfigEvents.reader(root);
+
+        assertEquals(ConfigEvent.START_NODE, reader.next());
+        assertEquals(2, reader.size());
+        assertEquals(ConfigEvent.KEY, reader.next());
+        assertEquals("name", reader.key());
+        assertEquals(ConfigEvent.SCALAR, reader.next());
+        assertEquals("value", reader.scalar());
+        assertThrows(IllegalStateException.class, reader::key);
+
+        assertEquals(List.of(ConfigEvent.KEY, ConfigEvent.START_LIST, ConfigEvent.SCALAR, ConfigEvent.SCALAR,
+            ConfigEvent.END_LIST, ConfigEvent.END_NODE), events(reader));
+        assertEquals(ConfigEvent.END_DOCUMENT, reader.next());
+    }
+
+    @Test
+    void roundTripsElements() throws IOException {
+        ConfigElement[] elements = new ConfigElement[] {ConfigPrimitive.of("scalar"), ConfigPrimitive.NULL,
+            ConfigList.of(), ConfigNode.of(), ConfigNode.of("nested", ConfigNode.of("list", ConfigList.of(1, "a",
+            ConfigNode.of("deep", true))), "empty", ConfigList.of())};
+
+        for (ConfigElement element : elements) {
+            assertEquals(element, ConfigEvents.read(ConfigEvents.reader(element)));
+        }
+    }
+
+    @Test
+    void circularReferences() throws IOException {
+        ConfigNode root = ConfigNode.of("child", ConfigNode.of());
+        root.get("child").asNode().put("root", root);
+        root.get("child").asNode().put("self", root.get("child"));
+
+        ConfigEventReader reader = ConfigEvents.reader(root);
+        assertEquals(List.of(ConfigEvent.START_NODE, ConfigEvent.KEY, ConfigEvent.START_NODE, ConfigEvent.KEY,
+            ConfigEvent.REFERENCE, ConfigEvent.KEY, ConfigEvent.REFERENCE, ConfigEvent.END_NODE, ConfigEvent.END_NODE),
+            events(reader));
+
+        ConfigNode copy = ConfigEvents.read(ConfigEvents.reader(root)).asNode();
+        ConfigNode child = copy.get("child").asNode();
+        assertSame(copy, child.get("root"));
+        assertSame(child, child.get("self"));
+    }
+
+    @Test
+    void sharedReferences() throws IOException {
+        ConfigNode shared = ConfigNode.of("value", 10);
+        ConfigNode root = ConfigNode.of("first", shared, "second", shared);
+
+        ConfigNode copy = ConfigEvents.read(ConfigEvents.reader(root)).asNode();
+        assertEquals(root, copy);
+        assertNotSame(copy.get("first"), copy.get("second"));
+
+        ConfigNode sharedCopy = ConfigEvents.read(ConfigEvents.reader(root, true)).asNode();
+        assertEquals(root, sharedCopy);
+        assertSame(sharedCopy.get("first"), sharedCopy.get("second"));
+    }
+
+    @Test
+    void builderRejectsInvalidSequences() {
+        assertThrows(IllegalStateException.class, () -> new ConfigElementBuilder().key("key"));
+        assertThrows(IllegalStateException.class, () -> new ConfigElementBuilder().build());
+        assertThrows(IllegalArgumentException.class, () -> new ConfigElementBuilder().reference(0));
+
+        ConfigElementBuilder builder = new ConfigElementBuilder();
+        builder.startNode(-1);
+        assertThrows(IllegalStateException.class, () -> builder.scalar(10));
+        assertThrows(IllegalStateException.class, builder::endList);
+        assertFalse(builder.isComplete());
+
+        builder.key("key");
+        builder.scalar(10);
+        builder.endNode();
+        assertTrue(builder.isComplete());
+        assertEquals(ConfigNode.of("key", 10), builder.build());
+        assertThrows(IllegalStateException.class, () -> builder.scalar(10));
+    }
+
+    @Test
+    void readsPaths() throws IOException {
+        ConfigNode root = ConfigNode.of("server", ConfigNode.of("name", "test", "limits", ConfigNode.of("max", 10)),
+            "list", ConfigList.of(ConfigNode.of("a", 1), ConfigList.of(2, 3), "last"));
+
+        String[] paths = new String[] {"", ".", "server/limits", "server/limits/max", "list/0", "list/1/1", "list/2",
+            "server/missing", "list/3", "list/name", "server/name/child", ".."};
+        for (String path : paths) {
+            ConfigPath configPath = ConfigPath.of(path);
+            assertEquals(root.at(configPath), ConfigEvents.read(ConfigEvents.reader(root), configPath), path);
+        }
+    }
+
+    @Test
+    void pathReadsSkipContainers() throws IOException {
+        ConfigNode root = ConfigNode.of("skipped", ConfigNode.of("nested", ConfigList.of(1, 2)), "target", "value");
+        ConfigEventReader reader = ConfigEvents.reader(root);
+
+        assertEquals(ConfigEvent.START_NODE, reader.next());
+        assertEquals(ConfigEvent.KEY, reader.next());
+        assertEquals(ConfigEvent.START_NODE, reader.next());
+        reader.skipContainer();
+        assertEquals(ConfigEvent.KEY, reader.next());
+        assertEquals("target", reader.key());
+        assertEquals(ConfigEvent.SCALAR, reader.next());
+        assertEquals(ConfigEvent.END_NODE, reader.next());
+        assertEquals(ConfigEvent.END_DOCUMENT, reader.next());
+    }
+}
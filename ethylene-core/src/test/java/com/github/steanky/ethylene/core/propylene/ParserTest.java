@@ -10,13 +10,46 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.Reader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ParserTest {
     static @NotNull ConfigElement fromString(String string) throws IOException {
-        return Parser.fromString(string, LinkedConfigNode::new, ArrayConfigList::new);
+        ConfigElement element;
+        try {
+            element = Parser.fromString(string, LinkedConfigNode::new, ArrayConfigList::new);
+        } catch (IOException exception) {
+            assertThrows(IOException.class, () -> fromSlowReader(string));
+            throw exception;
+        }
+
+        //reading one character at a time forces every literal to span buffer refills
+        assertEquals(element, fromSlowReader(string));
+        return element;
+    }
+
+    static @NotNull ConfigElement fromSlowReader(String string) throws IOException {
+        return Parser.fromReader(new Reader() {
+            private int index;
+
+            @Override
+            public int read(char @NotNull [] buffer, int offset, int length) {
+                if (index == string.length()) {
+                    return -1;
+                }
+
+                buffer[offset] = string.charAt(index++);
+                return 1;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, LinkedConfigNode::new, ArrayConfigList::new);
     }
 
     @Test
@@ -103,4 +136,54 @@ class ParserTest {
         assertEquals(ConfigNode.of("a", ConfigNode.of()), fromString("{a={}}"));
         assertEquals(ConfigNode.of("a", ConfigNode.of("a", ConfigNode.of())), fromString("{a={a={}}}"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void escapedStrings() throws IOException {
+        assertEquals(ConfigPrimitive.of("it's"), fromString("'it\\'s'"));
+        assertEquals(ConfigPrimitive.of("back\\slash"), fromString("'back\\\\slash'"));
+        assertEquals(ConfigPrimitive.of("\\n"), fromString("'\\n'"));
+        assertEquals(ConfigPrimitive.of("'"), fromString("'\\''"));
+        assertThrows(IOException.class, () -> fromString("'unclosed\\'"));
+    }
+
+    @Test
+    void manyReferences() throws IOException {
+        ConfigList expected = ConfigList.of();
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            ConfigNode node = ConfigNode.of("value", "'" + "x".repeat(i * 10) + "'");
+            expected.add(node);
+            expected.add(node);
+
+            builder.append('&').append(i * 31).append("{value='\\'").append("x".repeat(i * 10)).append("\\''}, ");
+            builder.append('&').append(i * 31).append(", ");
+        }
+
+        builder.append(']');
+        assertEquals(expected, fromString(builder.toString()));
+    }
+
+    @Test
+    void repeatedKeysAndStringsAreShared() throws IOException {
+        ConfigList list = fromString("[{ name = 'a', type='item' }, {name='b', type = 'item' }]").asList();
+        ConfigNode first = list.get(0).asNode();
+        ConfigNode second = list.get(1).asNode();
+
+        assertEquals(ConfigNode.of("name", "a", "type", "item"), first);
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+        assertSame(first.get("type"), second.get("type"));
+    }
+
+    @Test
+    void poolingCanBeDisabled() throws IOException {
+        String string = "[{ name = 'a', type='item' }, {name='b', type = 'item' }]";
+        ConfigList list = Parser.fromString(string, LinkedConfigNode::new, ArrayConfigList::new, false).asList();
+        ConfigNode first = list.get(0).asNode();
+        ConfigNode second = list.get(1).asNode();
+
+        assertEquals(fromString(string), list);
+        assertNotSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+        assertNotSame(first.get("type"), second.get("type"));
+        assertNotSame(first.get("type").asString(), second.get("type").asString());
+    }
+}
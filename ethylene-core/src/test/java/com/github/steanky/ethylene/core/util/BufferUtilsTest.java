@@ -0,0 +1,124 @@
+package com.github.steanky.ethylene.core.util;
+
+import com.github.steanky.ethylene.core.ConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ElementType;
+import com.github.steanky.ethylene.core.binary.BinaryCodec;
+import com.github.steanky.ethylene.core.bridge.Configuration;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferUtilsTest {
+    private static ConfigList largeList() {
+        ConfigList large = ConfigList.of();
+        for (int i = 0; i < 20_000; i++) {
+            large.add(ConfigNode.of("key", "value_" + i));
+        }
+
+        return large;
+    }
+
+    //delegates to BinaryCodec, recording whether the last buffer it was given was direct
+    private static final class RecordingCodec implements ConfigCodec {
+        private final boolean mapped;
+        private Boolean lastDirect;
+
+        private RecordingCodec(boolean mapped) {
+            this.mapped = mapped;
+        }
+
+        @Override
+        public void encode(@NotNull ConfigElement element, @NotNull OutputStream output) throws IOException {
+            BinaryCodec.INSTANCE.encode(element, output);
+        }
+
+        @Override
+        public @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException {
+            return BinaryCodec.INSTANCE.decode(input);
+        }
+
+        @Override
+        public @NotNull ConfigElement decode(@NotNull ByteBuffer input) throws IOException {
+            lastDirect = input.isDirect();
+            return BinaryCodec.INSTANCE.decode(input);
+        }
+
+        @Override
+        public boolean supportsMappedBuffers() {
+            return mapped;
+        }
+
+        @Override
+        public @NotNull Set<String> getPreferredExtensions() {
+            return BinaryCodec.INSTANCE.getPreferredExtensions();
+        }
+
+        @Override
+        public @NotNull String getPreferredExtension() {
+            return BinaryCodec.INSTANCE.getPreferredExtension();
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return "Recording";
+        }
+
+        @Override
+        public @NotNull Set<ElementType> supportedTopLevelTypes() {
+            return BinaryCodec.INSTANCE.supportedTopLevelTypes();
+        }
+    }
+
+    @Test
+    void readsSmallAndMappedFiles(@TempDir Path directory) throws IOException {
+        ConfigNode small = ConfigNode.of("key", "value");
+        ConfigList large = largeList();
+
+        Path smallPath = directory.resolve("small.ethb");
+        Path largePath = directory.resolve("large.ethb");
+        Configuration.write(smallPath, small, BinaryCodec.INSTANCE);
+        Configuration.write(largePath, large, BinaryCodec.INSTANCE);
+
+        assertEquals(small, Configuration.read(smallPath, BinaryCodec.INSTANCE));
+        assertEquals(large, Configuration.read(largePath, BinaryCodec.INSTANCE));
+        assertEquals(large, Configuration.sourceFromPath(largePath, BinaryCodec.INSTANCE).read().join());
+    }
+
+    @Test
+    void onlyMapsForSupportingCodecs(@TempDir Path directory) throws IOException {
+        ConfigList large = largeList();
+        Path path = directory.resolve("large.ethb");
+        Configuration.write(path, large, BinaryCodec.INSTANCE);
+
+        RecordingCodec mapping = new RecordingCodec(true);
+        assertEquals(large, BufferUtils.decode(path, mapping));
+        assertTrue(mapping.lastDirect);
+
+        RecordingCodec buffering = new RecordingCodec(false);
+        assertEquals(large, BufferUtils.decode(path, buffering));
+        assertFalse(buffering.lastDirect);
+    }
+
+    @Test
+    void readsFilesOfExactSize(@TempDir Path directory) throws IOException {
+        ConfigNode node = ConfigNode.of("key", "value");
+        Path path = directory.resolve("exact.ethb");
+        Configuration.write(path, node, BinaryCodec.INSTANCE);
+
+        RecordingCodec codec = new RecordingCodec(false);
+        assertEquals(node, BufferUtils.decode(path, codec));
+        assertFalse(codec.lastDirect);
+    }
+}
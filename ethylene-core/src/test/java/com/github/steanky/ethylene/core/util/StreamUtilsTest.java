@@ -0,0 +1,125 @@
+package com.github.steanky.ethylene.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamUtilsTest {
+    //long enough to span several buffers, with multibyte characters and surrogate pairs crossing buffer boundaries
+    private static String text() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("ab\u00e9\uD83D\uDE00").append(i);
+        }
+
+        return builder.toString();
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[37];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+
+        return builder.toString();
+    }
+
+    @Test
+    void readsText() throws IOException {
+        String text = text();
+        try (Reader reader = StreamUtils.reader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8)) {
+            assertEquals(text, readAll(reader));
+            assertEquals(-1, reader.read());
+        }
+    }
+
+    @Test
+    void readsSingleCharacters() throws IOException {
+        String text = "x\uD83D\uDE00y";
+        try (Reader reader = StreamUtils.reader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8)) {
+            for (int i = 0; i < text.length(); i++) {
+                assertEquals(text.charAt(i), reader.read());
+            }
+
+            assertEquals(-1, reader.read());
+        }
+    }
+
+    @Test
+    void writesText() throws IOException {
+        String text = text();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (Writer writer = StreamUtils.writer(output, StandardCharsets.UTF_8)) {
+            //write one character at a time so surrogate pairs are split between calls
+            for (int i = 0; i < 100; i++) {
+                writer.write(text.charAt(i));
+            }
+
+            writer.write(text, 100, text.length() - 100);
+        }
+
+        assertEquals(text, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void flushWritesBufferedCharacters() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Writer writer = StreamUtils.writer(output, StandardCharsets.UTF_8);
+        writer.write("test");
+        assertEquals(0, output.size());
+
+        writer.flush();
+        assertEquals("test", output.toString(StandardCharsets.UTF_8));
+        writer.close();
+    }
+
+    @Test
+    void reusedAfterClose() throws IOException {
+        Reader first = StreamUtils.reader(new ByteArrayInputStream("first".getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8);
+        assertEquals("first", readAll(first));
+        first.close();
+        assertThrows(IOException.class, first::read);
+
+        Reader second = StreamUtils.reader(new ByteArrayInputStream("second".getBytes(StandardCharsets.ISO_8859_1)),
+            StandardCharsets.ISO_8859_1);
+        assertSame(first, second);
+        assertEquals("second", readAll(second));
+        second.close();
+    }
+
+    @Test
+    void nestedReadersAreDistinct() throws IOException {
+        try (Reader outer = StreamUtils.reader(new ByteArrayInputStream("outer".getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8); Reader inner = StreamUtils.reader(
+            new ByteArrayInputStream("inner".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)) {
+            assertNotSame(outer, inner);
+            assertEquals("inner", readAll(inner));
+            assertEquals("outer", readAll(outer));
+        }
+    }
+
+    @Test
+    void closesUnderlyingStream() throws IOException {
+        boolean[] closed = new boolean[1];
+        OutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        Writer writer = StreamUtils.writer(output);
+        writer.close();
+        writer.close();
+        assertTrue(closed[0]);
+        assertThrows(IOException.class, () -> writer.write("test"));
+    }
+}
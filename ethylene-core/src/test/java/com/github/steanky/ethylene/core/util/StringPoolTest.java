@@ -0,0 +1,57 @@
+package com.github.steanky.ethylene.core.util;
+
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+    @Test
+    void canonicalizesEqualStrings() {
+        StringPool pool = new StringPool(16, 8);
+        String first = pool.string(new String("name"));
+        String second = pool.string(new String("name"));
+
+        assertEquals("name", first);
+        assertSame(first, second);
+        assertSame(first, pool.string("xnamex".toCharArray(), 1, 4));
+    }
+
+    @Test
+    void longStringsAreNotPooled() {
+        StringPool pool = new StringPool(16, 4);
+        String first = pool.string(new String("longer"));
+        String second = pool.string(new String("longer"));
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void collisionsReplaceSlot() {
+        //a single slot, so every distinct string displaces the previous one
+        StringPool pool = new StringPool(1, 8);
+        String first = pool.string(new String("a"));
+        pool.string("b");
+
+        assertNotSame(first, pool.string(new String("a")));
+    }
+
+    @Test
+    void sharesPrimitives() {
+        StringPool pool = new StringPool(16, 8);
+        String key = pool.string(new String("type"));
+        ConfigPrimitive primitive = pool.primitive(new String("type"));
+
+        assertSame(primitive, pool.primitive("type"));
+        assertSame(key, primitive.asString());
+        assertEquals(ConfigPrimitive.of("a very long string"), pool.primitive("a very long string"));
+    }
+
+    @Test
+    void checksBounds() {
+        StringPool pool = new StringPool(16, 8);
+        assertThrows(IndexOutOfBoundsException.class, () -> pool.string(new char[2], 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(0, 8));
+    }
+}
@@ -4,6 +4,7 @@ import com.github.steanky.ethylene.core.AbstractConfigCodec;
 import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.ConfigPrimitive;
 import com.github.steanky.ethylene.core.Graph;
+import com.github.steanky.ethylene.core.util.StreamUtils;
 import org.hjson.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -15,13 +16,14 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
- * Provides support for HJSON.
+ * Provides support for HJSON. Readers and writers, along with their buffers, are pooled per thread using
+ * {@link StreamUtils}.
  */
 public class HjsonCodec extends AbstractConfigCodec {
     private static final String NAME = "HJSON";
     private static final String PREFERRED_EXTENSION = "hjson";
     private static final Set<String> EXTENSIONS = Set.of(PREFERRED_EXTENSION);
-    private static final int ENCODE_OPTIONS = Graph.Options.TRACK_REFERENCES;
+    private static final int ENCODE_OPTIONS = Graph.Options.PRESERVE_SHARED;
     private static final int DECODE_OPTIONS = Graph.Options.NONE;
     private final HjsonOptions readOptions;
     private final HjsonOptions writeOptions;
@@ -47,8 +49,8 @@ public class HjsonCodec extends AbstractConfigCodec {
 
     @Override
     protected @NotNull Object readObject(@NotNull InputStream input) throws IOException {
-        try {
-            return JsonValue.readHjson(new InputStreamReader(input), readOptions);
+        try (Reader reader = StreamUtils.reader(input)) {
+            return JsonValue.readHjson(reader, readOptions);
         } catch (ParseException exception) {
             throw new IOException(exception);
         }
@@ -59,7 +61,7 @@ public class HjsonCodec extends AbstractConfigCodec {
         if (target instanceof JsonObject object) {
             Graph.InputEntry<String, Object, ConfigElement> inputEntry = INPUT_ENTRY.get();
 
-            return Graph.node(new Iterator<>() {
+            return GRAPH_CONTEXT.get().node(new Iterator<>() {
                 private final Iterator<JsonObject.Member> iterator = object.iterator();
 
                 @Override
@@ -78,7 +80,7 @@ public class HjsonCodec extends AbstractConfigCodec {
         } else if (target instanceof JsonArray array) {
             Graph.InputEntry<String, Object, ConfigElement> inputEntry = INPUT_ENTRY.get();
 
-            return Graph.node(new Iterator<>() {
+            return GRAPH_CONTEXT.get().node(new Iterator<>() {
                 private final Iterator<JsonValue> backing = array.iterator();
 
                 @Override
@@ -107,7 +109,7 @@ public class HjsonCodec extends AbstractConfigCodec {
             } else if (value.isNumber()) {
                 return ConfigPrimitive.of(value.asDouble());
             } else if (value.isString()) {
-                return ConfigPrimitive.of(value.asString());
+                return super.deserializeObject(value.asString());
             }
         }
 
@@ -116,13 +118,10 @@ public class HjsonCodec extends AbstractConfigCodec {
 
     @Override
     protected void writeObject(@NotNull Object object, @NotNull OutputStream output) throws IOException {
-        Writer outputWriter = new OutputStreamWriter(output);
-        BufferedWriter bufferedWriter = new BufferedWriter(outputWriter);
-        ((JsonObject) object).writeTo(bufferedWriter, writeOptions);
-
-        //ensure everything gets written to the OutputStream before it is closed
-        bufferedWriter.flush();
-        outputWriter.flush();
+        //pooled writers are already buffered; closing ensures everything gets written to the OutputStream
+        try (Writer writer = StreamUtils.writer(output)) {
+            ((JsonObject) object).writeTo(writer, writeOptions);
+        }
     }
 
     @Override
@@ -150,13 +149,13 @@ public class HjsonCodec extends AbstractConfigCodec {
     @Override
     protected @NotNull Graph.Output<Object, String> makeEncodeMap(int size) {
         JsonObject object = new JsonObject();
-        return Graph.output(object, (k, v, b) -> object.add(k, (JsonValue) v));
+        return GRAPH_CONTEXT.get().output(object, (k, v, b) -> object.add(k, (JsonValue) v));
     }
 
     @Override
     protected @NotNull Graph.Output<Object, String> makeEncodeCollection(int size) {
         JsonArray array = new JsonArray();
-        return Graph.output(array, (k, v, b) -> array.add((JsonValue) v));
+        return GRAPH_CONTEXT.get().output(array, (k, v, b) -> array.add((JsonValue) v));
     }
 
     @Override
@@ -1,19 +1,64 @@
 package com.github.steanky.ethylene.codec.json;
 
 import com.github.steanky.ethylene.core.AbstractConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ElementType;
 import com.github.steanky.ethylene.core.Graph;
+import com.github.steanky.ethylene.core.collection.ConfigContainer;
+import com.github.steanky.ethylene.core.collection.ConfigEntry;
+import com.github.steanky.ethylene.core.collection.LazyConfigNode;
+import com.github.steanky.ethylene.core.event.ConfigEvent;
+import com.github.steanky.ethylene.core.event.ConfigEventHandler;
+import com.github.steanky.ethylene.core.event.ConfigEventReader;
+import com.github.steanky.ethylene.core.event.ConfigEventWriter;
+import com.github.steanky.ethylene.core.event.ConfigEvents;
+import com.github.steanky.ethylene.core.path.ConfigPath;
+import com.github.steanky.ethylene.core.util.StreamUtils;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.*;
-import java.util.Objects;
-import java.util.Set;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 /**
  * Provides support for the JSON format.
+ * <p>
+ * This codec may operate in <i>streaming</i> mode. When streaming, decoding pulls tokens directly from a
+ * {@link JsonReader} and builds the resulting {@link ConfigElement} in a single pass, and encoding writes elements
+ * directly to a {@link JsonWriter}; in neither case is an intermediate tree of maps and lists materialized. Streaming
+ * mode does not consult the {@link Gson} instance's type adapters or number policy: numbers are always read as
+ * {@link Double}, which is consistent with the default Gson behavior. Writer settings such as pretty printing, HTML
+ * escaping and null serialization are still respected.
+ * <p>
+ * Since JSON has no way to represent them, attempting to encode an element containing circular references will throw
+ * an {@link IOException} when streaming.
+ * <p>
+ * When streaming, {@link JsonCodec#eventReader(InputStream)} and {@link JsonCodec#eventWriter(OutputStream)} also read
+ * and write events incrementally, so documents can be processed using a constant amount of memory relative to their
+ * size. {@link ConfigEventHandler#reference(int)} is not supported by the writer. Likewise,
+ * {@link JsonCodec#decode(InputStream, ConfigPath)} skips over everything not on the requested path without building
+ * it.
+ * <p>
+ * The codec may also decode <i>lazily</i>. In this mode, decoding only performs a fast structural scan of the input,
+ * and returns {@link LazyConfigNode}s whose values are parsed the first time they are accessed. This is useful when
+ * only a small part of a large document is needed. The entire input is retained in memory for as long as any node
+ * decoded from it is reachable; direct buffers passed to {@link JsonCodec#decode(ByteBuffer)}, such as mapped files,
+ * are first copied onto the heap. Like streaming mode, lazy decoding does not consult the Gson instance, and all numbers
+ * are read as {@link Double}. Unlike streaming mode, lazy decoding requires strict JSON (comments and other lenient
+ * syntax are not supported). Errors in the structure of the document, such as mismatched brackets or missing
+ * separators, are reported by the decode method, but errors inside string or number values are only detected when the
+ * value is accessed, in which case an {@link UncheckedIOException} is thrown.
+ * <p>
+ * Readers and writers, along with their buffers, are pooled per thread using {@link StreamUtils}, so decoding or
+ * encoding many small documents does not repeatedly allocate I/O infrastructure.
  */
 public class JsonCodec extends AbstractConfigCodec {
     /**
@@ -24,32 +69,315 @@ public class JsonCodec extends AbstractConfigCodec {
     private static final String NAME = "JSON";
     private static final String PREFERRED_EXTENSION = "json";
     private static final Set<String> EXTENSIONS = Set.of(PREFERRED_EXTENSION);
-    private static final int ENCODE_OPTIONS = Graph.Options.TRACK_REFERENCES;
+    private static final int ENCODE_OPTIONS = Graph.Options.PRESERVE_SHARED;
     private static final int DECODE_OPTIONS = Graph.Options.NONE;
+
+    //initial capacity of containers created when streaming, since the final size is not known ahead of time
+    private static final int STREAMING_SIZE_HINT = 8;
+
     private final Gson gson;
+    private final boolean streaming;
+    private final boolean lazy;
 
     /**
      * Creates a new JsonCodec using the provided {@link Gson} instance to read and write data.
      *
-     * @param gson the Gson instance to use
+     * @param gson      the Gson instance to use
+     * @param streaming whether this codec should operate in streaming mode
+     * @param lazy      whether this codec should decode lazily
      * @throws NullPointerException if gson is null
      */
-    public JsonCodec(@NotNull Gson gson) {
+    public JsonCodec(@NotNull Gson gson, boolean streaming, boolean lazy) {
         super(ENCODE_OPTIONS, DECODE_OPTIONS);
         this.gson = Objects.requireNonNull(gson);
+        this.streaming = streaming;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Creates a new JsonCodec using the provided {@link Gson} instance to read and write data. The codec will not
+     * decode lazily.
+     *
+     * @param gson      the Gson instance to use
+     * @param streaming whether this codec should operate in streaming mode
+     * @throws NullPointerException if gson is null
+     */
+    public JsonCodec(@NotNull Gson gson, boolean streaming) {
+        this(gson, streaming, false);
+    }
+
+    /**
+     * Creates a new JsonCodec using the provided {@link Gson} instance to read and write data. The codec will not
+     * operate in streaming mode, so any customizations present on the Gson instance are respected.
+     *
+     * @param gson the Gson instance to use
+     * @throws NullPointerException if gson is null
+     */
+    public JsonCodec(@NotNull Gson gson) {
+        this(gson, false);
     }
 
     /**
      * Creates a new JsonCodec using the default {@link Gson} ({@link JsonCodec#DEFAULT_GSON}) to read and write data.
+     * The codec will operate in streaming mode.
      */
     public JsonCodec() {
-        super(ENCODE_OPTIONS, DECODE_OPTIONS);
-        this.gson = DEFAULT_GSON;
+        this(DEFAULT_GSON, true);
+    }
+
+    @Override
+    public @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException {
+        if (lazy) {
+            try (input) {
+                return new LazyJsonDecoder(ByteBuffer.wrap(input.readAllBytes())).decode();
+            }
+        }
+
+        if (!streaming) {
+            return super.decode(input);
+        }
+
+        try (input) {
+            Objects.requireNonNull(input);
+
+            try (JsonReader reader = gson.newJsonReader(StreamUtils.reader(input))) {
+                //Gson#fromJson is always lenient, so match its behavior
+                reader.setLenient(true);
+                return readElement(reader);
+            }
+        }
+    }
+
+    @Override
+    public void encode(@NotNull ConfigElement element, @NotNull OutputStream output) throws IOException {
+        if (!streaming) {
+            super.encode(element, output);
+            return;
+        }
+
+        try (output) {
+            Objects.requireNonNull(element);
+            Objects.requireNonNull(output);
+
+            ElementType type = element.type();
+            if (!supportedTopLevelTypes().contains(type)) {
+                throw new IOException(
+                    "Top-level elements of type '" + type + "' not supported by '" + getName() + "' codec");
+            }
+
+            try (JsonWriter writer = gson.newJsonWriter(StreamUtils.writer(output))) {
+                writeElement(element, writer);
+            }
+        }
+    }
+
+    @Override
+    public @NotNull ConfigEventReader eventReader(@NotNull InputStream input) throws IOException {
+        if (!streaming) {
+            return super.eventReader(input);
+        }
+
+        JsonReader reader = gson.newJsonReader(StreamUtils.reader(input));
+        reader.setLenient(true);
+        return new JsonEventReader(reader);
+    }
+
+    @Override
+    public @NotNull ConfigEventWriter eventWriter(@NotNull OutputStream output) throws IOException {
+        if (!streaming) {
+            return super.eventWriter(output);
+        }
+
+        return new JsonEventWriter(gson.newJsonWriter(StreamUtils.writer(output)));
+    }
+
+    @Override
+    public @NotNull ConfigElement decode(@NotNull ByteBuffer input) throws IOException {
+        if (lazy) {
+            if (input.isDirect()) {
+                /*
+                lazy nodes retain their input indefinitely. direct buffers may be file mappings, which would otherwise
+                observe later writes to the file, or fault if it is truncated, so copy them onto the heap
+                 */
+                byte[] bytes = new byte[input.remaining()];
+                input.get(bytes);
+                return new LazyJsonDecoder(ByteBuffer.wrap(bytes)).decode();
+            }
+
+            return new LazyJsonDecoder(input.slice()).decode();
+        }
+
+        return super.decode(input);
+    }
+
+    @Override
+    public @Nullable ConfigElement decode(@NotNull InputStream input, @NotNull ConfigPath path) throws IOException {
+        if (!streaming) {
+            return super.decode(input, path);
+        }
+
+        Objects.requireNonNull(path);
+        try (input; ConfigEventReader reader = eventReader(input)) {
+            return ConfigEvents.read(reader, path);
+        }
+    }
+
+    @Override
+    public boolean supportsStreaming() {
+        return streaming;
+    }
+
+    private ConfigElement readElement(JsonReader reader) throws IOException {
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException ignored) {
+            //empty documents are treated as null, consistent with Gson#fromJson
+            return deserializeObject(null);
+        }
+
+        //JSON cannot contain references, so containers are only added to their parent once they are complete
+        Deque<ReadFrame> stack = new ArrayDeque<>();
+        ConfigElement root = null;
+        String name = null;
+
+        while (true) {
+            ConfigElement element;
+            switch (token) {
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    stack.push(new ReadFrame(name, makeDecodeMap(STREAMING_SIZE_HINT)));
+                    token = reader.peek();
+                    continue;
+                }
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    stack.push(new ReadFrame(name, makeDecodeCollection(STREAMING_SIZE_HINT)));
+                    token = reader.peek();
+                    continue;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        reader.endObject();
+                    } else {
+                        reader.endArray();
+                    }
+
+                    ReadFrame frame = stack.pop();
+                    name = frame.name;
+                    element = finishDecodeContainer(frame.output);
+                }
+                case NAME -> {
+                    name = reader.nextName();
+                    token = reader.peek();
+                    continue;
+                }
+                case STRING -> element = deserializeObject(reader.nextString());
+                case NUMBER -> element = deserializeObject(reader.nextDouble());
+                case BOOLEAN -> element = deserializeObject(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    element = deserializeObject(null);
+                }
+                default -> throw new IOException("Unexpected token " + token + " at " + reader.getPath());
+            }
+
+            ReadFrame parent = stack.peek();
+            if (parent == null) {
+                root = element;
+                break;
+            }
+
+            parent.output.accumulator().accept(name, element, false);
+            token = reader.peek();
+        }
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("JSON document was not fully consumed");
+        }
+
+        return root;
+    }
+
+    private void writeElement(ConfigElement root, JsonWriter writer) throws IOException {
+        if (!root.isContainer()) {
+            writeScalar(root, writer);
+            return;
+        }
+
+        Deque<Frame> stack = new ArrayDeque<>();
+
+        //only the containers currently being written are tracked; shared references are written once per occurrence
+        Set<ConfigContainer> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+        beginContainer(root.asContainer(), writer, stack, ancestors);
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (!frame.entries.hasNext()) {
+                if (frame.isNode) {
+                    writer.endObject();
+                } else {
+                    writer.endArray();
+                }
+
+                ancestors.remove(frame.container);
+                stack.pop();
+                continue;
+            }
+
+            ConfigEntry entry = frame.entries.next();
+            if (frame.isNode) {
+                writer.name(entry.getKey());
+            }
+
+            ConfigElement value = entry.getValue();
+            if (value.isContainer()) {
+                beginContainer(value.asContainer(), writer, stack, ancestors);
+            } else {
+                writeScalar(value, writer);
+            }
+        }
+    }
+
+    private void beginContainer(ConfigContainer container, JsonWriter writer, Deque<Frame> stack,
+        Set<ConfigContainer> ancestors) throws IOException {
+        if (!ancestors.add(container)) {
+            throw new IOException("Circular references are not supported by '" + getName() + "' codec");
+        }
+
+        boolean isNode = container.isNode();
+        if (isNode) {
+            writer.beginObject();
+        } else {
+            writer.beginArray();
+        }
+
+        stack.push(new Frame(container, container.entryCollection().iterator(), isNode));
+    }
+
+    private void writeScalar(ConfigElement element, JsonWriter writer) throws IOException {
+        writeScalar(serializeElement(element), writer);
+    }
+
+    private static void writeScalar(Object scalar, JsonWriter writer) throws IOException {
+        if (scalar == null) {
+            writer.nullValue();
+        } else if (scalar instanceof String string) {
+            writer.value(string);
+        } else if (scalar instanceof Number number) {
+            writer.value(number);
+        } else if (scalar instanceof Boolean bool) {
+            writer.value(bool);
+        } else if (scalar instanceof Character character) {
+            writer.value(character.toString());
+        } else {
+            throw new IOException("Unsupported scalar type " + scalar.getClass().getTypeName());
+        }
     }
 
     @Override
     protected @NotNull Object readObject(@NotNull InputStream input) throws IOException {
-        try (InputStreamReader reader = new InputStreamReader(input)) {
+        try (Reader reader = StreamUtils.reader(input)) {
             return gson.fromJson(reader, Object.class);
         } catch (JsonIOException | JsonSyntaxException exception) {
             throw new IOException(exception);
@@ -58,7 +386,7 @@ public class JsonCodec extends AbstractConfigCodec {
 
     @Override
     protected void writeObject(@NotNull Object object, @NotNull OutputStream output) throws IOException {
-        try (OutputStreamWriter writer = new OutputStreamWriter(output)) {
+        try (Writer writer = StreamUtils.writer(output)) {
             gson.toJson(object, writer);
         } catch (JsonIOException exception) {
             throw new IOException(exception);
@@ -79,4 +407,222 @@ public class JsonCodec extends AbstractConfigCodec {
     public @NotNull String getName() {
         return NAME;
     }
-}
+
+    private record Frame(ConfigContainer container, Iterator<ConfigEntry> entries, boolean isNode) {}
+
+    private record ReadFrame(String name, Graph.Output<ConfigElement, String> output) {}
+
+    private static final class JsonEventReader implements ConfigEventReader {
+        private final JsonReader reader;
+
+        private ConfigEvent current;
+        private boolean started;
+        private boolean empty;
+        private int depth;
+
+        private String key;
+        private Object scalar;
+
+        private JsonEventReader(JsonReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public @NotNull ConfigEvent next() throws IOException {
+            if (current == ConfigEvent.END_DOCUMENT) {
+                return current;
+            }
+
+            if (started && depth == 0) {
+                if (!empty && reader.peek() != JsonToken.END_DOCUMENT) {
+                    throw new IOException("JSON document was not fully consumed");
+                }
+
+                return current = ConfigEvent.END_DOCUMENT;
+            }
+
+            JsonToken token;
+            try {
+                token = reader.peek();
+            } catch (EOFException exception) {
+                if (started) {
+                    throw exception;
+                }
+
+                //empty documents are treated as null, consistent with Gson#fromJson
+                started = true;
+                empty = true;
+                scalar = null;
+                return current = ConfigEvent.SCALAR;
+            }
+
+            started = true;
+            return current = switch (token) {
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    depth++;
+                    yield ConfigEvent.START_NODE;
+                }
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    depth++;
+                    yield ConfigEvent.START_LIST;
+                }
+                case END_OBJECT -> {
+                    reader.endObject();
+                    depth--;
+                    yield ConfigEvent.END_NODE;
+                }
+                case END_ARRAY -> {
+                    reader.endArray();
+                    depth--;
+                    yield ConfigEvent.END_LIST;
+                }
+                case NAME -> {
+                    key = reader.nextName();
+                    yield ConfigEvent.KEY;
+                }
+                case STRING -> scalar(reader.nextString());
+                case NUMBER -> scalar(reader.nextDouble());
+                case BOOLEAN -> scalar(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    yield scalar(null);
+                }
+                case END_DOCUMENT -> throw new EOFException("Unexpected end of JSON document");
+            };
+        }
+
+        private ConfigEvent scalar(Object value) {
+            scalar = value;
+            return ConfigEvent.SCALAR;
+        }
+
+        private void check(ConfigEvent event) {
+            if (current != event) {
+                throw new IllegalStateException("Current event is " + current);
+            }
+        }
+
+        @Override
+        public int size() {
+            if (current != ConfigEvent.START_NODE) {
+                check(ConfigEvent.START_LIST);
+            }
+
+            return -1;
+        }
+
+        @Override
+        public @NotNull String key() {
+            check(ConfigEvent.KEY);
+            return key;
+        }
+
+        @Override
+        public @Nullable Object scalar() {
+            check(ConfigEvent.SCALAR);
+            return scalar;
+        }
+
+        @Override
+        public int reference() {
+            check(ConfigEvent.REFERENCE);
+            return 0;
+        }
+
+        @Override
+        public void skipContainer() throws IOException {
+            boolean node = current == ConfigEvent.START_NODE;
+            if (!node) {
+                check(ConfigEvent.START_LIST);
+            }
+
+            while (reader.hasNext()) {
+                if (node) {
+                    reader.nextName();
+                }
+
+                reader.skipValue();
+            }
+
+            if (node) {
+                reader.endObject();
+            } else {
+                reader.endArray();
+            }
+
+            depth--;
+            current = node ? ConfigEvent.END_NODE : ConfigEvent.END_LIST;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private final class JsonEventWriter implements ConfigEventWriter {
+        private final JsonWriter writer;
+
+        private boolean started;
+
+        private JsonEventWriter(JsonWriter writer) {
+            this.writer = writer;
+        }
+
+        private void start(ElementType type) throws IOException {
+            if (!started) {
+                started = true;
+                if (!supportedTopLevelTypes().contains(type)) {
+                    throw new IOException(
+                        "Top-level elements of type '" + type + "' not supported by '" + getName() + "' codec");
+                }
+            }
+        }
+
+        @Override
+        public void startNode(int size) throws IOException {
+            start(ElementType.NODE);
+            writer.beginObject();
+        }
+
+        @Override
+        public void startList(int size) throws IOException {
+            start(ElementType.LIST);
+            writer.beginArray();
+        }
+
+        @Override
+        public void key(@NotNull String key) throws IOException {
+            writer.name(key);
+        }
+
+        @Override
+        public void scalar(@Nullable Object value) throws IOException {
+            start(ElementType.SCALAR);
+            writeScalar(value, writer);
+        }
+
+        @Override
+        public void reference(int id) throws IOException {
+            throw new IOException("References are not supported by '" + getName() + "' codec");
+        }
+
+        @Override
+        public void endNode() throws IOException {
+            writer.endObject();
+        }
+
+        @Override
+        public void endList() throws IOException {
+            writer.endArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            //JsonWriter#close throws if the document is incomplete
+            writer.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,435 @@
+package com.github.steanky.ethylene.codec.json;
+
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.LazyConfigNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decodes JSON into {@link LazyConfigNode}s. Decoding performs a structural scan of the input, which validates the
+ * brackets and separators of the entire document and locates the keys and values of the root object without parsing
+ * the values themselves. Values are parsed from the input the first time
+ * they are accessed; objects are themselves decoded lazily.
+ * <p>
+ * The input buffer is retained by every lazy node created from it, and must not be modified.
+ */
+final class LazyJsonDecoder {
+    private static final int INITIAL_LIST_SIZE = 8;
+    private static final int INITIAL_DEPTH = 16;
+
+    private final ByteBuffer source;
+    private final int limit;
+
+    LazyJsonDecoder(@NotNull ByteBuffer source) {
+        this.source = source;
+        this.limit = source.limit();
+    }
+
+    @NotNull ConfigElement decode() throws IOException {
+        int start = whitespace(skipByteOrderMark());
+        if (start == limit) {
+            //empty documents are treated as null, consistent with Gson#fromJson
+            return ConfigPrimitive.NULL;
+        }
+
+        int end = skipValue(start);
+        if (whitespace(end) != limit) {
+            throw error("JSON document was not fully consumed", end);
+        }
+
+        return value(start, end);
+    }
+
+    private int skipByteOrderMark() {
+        if (limit >= 3 && (source.get(0) & 0xFF) == 0xEF && (source.get(1) & 0xFF) == 0xBB &&
+            (source.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+
+        return 0;
+    }
+
+    private IOException error(String message, int offset) {
+        return new IOException(message + " at offset " + offset);
+    }
+
+    private byte get(int offset) throws IOException {
+        if (offset >= limit) {
+            throw error("Unexpected end of JSON document", offset);
+        }
+
+        return source.get(offset);
+    }
+
+    private int whitespace(int offset) {
+        while (offset < limit) {
+            switch (source.get(offset)) {
+                case ' ', '\t', '\n', '\r' -> offset++;
+                default -> {
+                    return offset;
+                }
+            }
+        }
+
+        return offset;
+    }
+
+    //returns the offset just past the closing quote of the string starting at the given offset
+    private int skipString(int offset) throws IOException {
+        int i = offset + 1;
+        while (true) {
+            byte b = get(i++);
+            if (b == '"') {
+                return i;
+            }
+
+            if (b == '\\') {
+                get(i++);
+            }
+        }
+    }
+
+    //returns the offset just past the end of the value starting at the given offset
+    private int skipValue(int offset) throws IOException {
+        byte first = get(offset);
+        if (first == '"') {
+            return skipString(offset);
+        }
+
+        if (first == '{' || first == '[') {
+            return skipContainer(offset);
+        }
+
+        int i = offset;
+        while (i < limit) {
+            switch (source.get(i)) {
+                case ',', ':', '{', '}', '[', ']', '"', ' ', '\t', '\n', '\r' -> {
+                    if (i == offset) {
+                        throw error("Unexpected character '" + (char) source.get(i) + "'", i);
+                    }
+
+                    return i;
+                }
+                default -> i++;
+            }
+        }
+
+        return i;
+    }
+
+    //returns the offset just past the end of the container starting at the given offset; the structure of the entire
+    //container is validated, but the contents of scalar values are not
+    private int skipContainer(int offset) throws IOException {
+        byte[] stack = new byte[INITIAL_DEPTH];
+        int depth = 0;
+        int i = offset;
+        while (true) {
+            byte first = get(i);
+            if (first == '{' || first == '[') {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+
+                stack[depth++] = first;
+                i = whitespace(i + 1);
+                if (get(i) != closing(first)) {
+                    if (first == '{') {
+                        i = skipName(i);
+                    }
+
+                    continue;
+                }
+
+                depth--;
+                i++;
+            } else {
+                i = skipValue(i);
+            }
+
+            //i is just past a value; close containers until another value is expected
+            while (true) {
+                if (depth == 0) {
+                    return i;
+                }
+
+                byte open = stack[depth - 1];
+                i = whitespace(i);
+                byte b = get(i);
+                if (b == closing(open)) {
+                    depth--;
+                    i++;
+                    continue;
+                }
+
+                if (b != ',') {
+                    throw error("Expected ',' or '" + (char) closing(open) + "'", i);
+                }
+
+                i = whitespace(i + 1);
+                if (open == '{') {
+                    i = skipName(i);
+                }
+
+                break;
+            }
+        }
+    }
+
+    //returns the offset of the value following the name starting at the given offset
+    private int skipName(int offset) throws IOException {
+        if (get(offset) != '"') {
+            throw error("Expected name", offset);
+        }
+
+        int i = whitespace(skipString(offset));
+        if (get(i) != ':') {
+            throw error("Expected ':'", i);
+        }
+
+        return whitespace(i + 1);
+    }
+
+    private static byte closing(byte open) {
+        return open == '{' ? (byte) '}' : (byte) ']';
+    }
+
+    private ConfigElement value(int start, int end) throws IOException {
+        return switch (get(start)) {
+            case '{' -> new LazyJsonNode(this, start, end);
+            case '[' -> list(start, end);
+            case '"' -> ConfigPrimitive.of(string(start, end));
+            default -> literal(start, end);
+        };
+    }
+
+    private ConfigElement valueUnchecked(Range range) {
+        try {
+            return value(range.start, range.end);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private ConfigList list(int start, int end) throws IOException {
+        ArrayConfigList list = new ArrayConfigList(INITIAL_LIST_SIZE);
+
+        int i = whitespace(start + 1);
+        if (get(i) == ']') {
+            return checkEnd(list, i, end);
+        }
+
+        while (true) {
+            int valueEnd = skipValue(i);
+            list.add(value(i, valueEnd));
+
+            i = whitespace(valueEnd);
+            byte b = get(i);
+            if (b == ']') {
+                list.trimToSize();
+                return checkEnd(list, i, end);
+            }
+
+            if (b != ',') {
+                throw error("Expected ',' or ']'", i);
+            }
+
+            i = whitespace(i + 1);
+        }
+    }
+
+    private <T> T checkEnd(T container, int closing, int end) throws IOException {
+        if (closing != end - 1) {
+            throw error("Mismatched brackets", closing);
+        }
+
+        return container;
+    }
+
+    private String string(int start, int end) throws IOException {
+        int length = end - start - 2;
+        byte[] bytes;
+        int offset;
+        if (source.hasArray()) {
+            bytes = source.array();
+            offset = source.arrayOffset() + start + 1;
+        } else {
+            bytes = new byte[length];
+            offset = 0;
+            source.get(start + 1, bytes);
+        }
+
+        String raw = new String(bytes, offset, length, StandardCharsets.UTF_8);
+        int escape = raw.indexOf('\\');
+        if (escape == -1) {
+            return raw;
+        }
+
+        StringBuilder builder = new StringBuilder(raw.length());
+        builder.append(raw, 0, escape);
+        for (int i = escape; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+
+            char escaped = raw.charAt(++i);
+            switch (escaped) {
+                case '"', '\\', '/', '\'' -> builder.append(escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= raw.length()) {
+                        throw error("Unterminated escape sequence", start);
+                    }
+
+                    try {
+                        builder.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                    } catch (NumberFormatException exception) {
+                        throw error("Invalid escape sequence", start);
+                    }
+
+                    i += 4;
+                }
+                default -> throw error("Invalid escape sequence", start);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private ConfigElement literal(int start, int end) throws IOException {
+        byte[] bytes = new byte[end - start];
+        source.get(start, bytes);
+        String literal = new String(bytes, StandardCharsets.US_ASCII);
+
+        return switch (literal) {
+            case "true" -> ConfigPrimitive.TRUE;
+            case "false" -> ConfigPrimitive.FALSE;
+            case "null" -> ConfigPrimitive.NULL;
+            default -> {
+                //Double#parseDouble also accepts Java syntax such as NaN, hexadecimal or suffixed literals
+                if (!isNumber(literal)) {
+                    throw error("Invalid literal '" + literal + "'", start);
+                }
+
+                //consistent with streaming mode, all numbers are read as Double
+                yield ConfigPrimitive.of(Double.parseDouble(literal));
+            }
+        };
+    }
+
+    //checks against the JSON number grammar: -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+    private static boolean isNumber(String literal) {
+        int length = literal.length();
+        int i = 0;
+        if (i < length && literal.charAt(i) == '-') {
+            i++;
+        }
+
+        if (i < length && literal.charAt(i) == '0') {
+            i++;
+        } else {
+            int digitsStart = i;
+            i = digits(literal, i);
+            if (i == digitsStart) {
+                return false;
+            }
+        }
+
+        if (i < length && literal.charAt(i) == '.') {
+            int fractionStart = ++i;
+            i = digits(literal, i);
+            if (i == fractionStart) {
+                return false;
+            }
+        }
+
+        if (i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-')) {
+                i++;
+            }
+
+            int exponentStart = i;
+            i = digits(literal, i);
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+
+        return i == length;
+    }
+
+    private static int digits(String literal, int i) {
+        while (i < literal.length() && literal.charAt(i) >= '0' && literal.charAt(i) <= '9') {
+            i++;
+        }
+
+        return i;
+    }
+
+    private record Range(int start, int end) {}
+
+    private static final class LazyJsonNode extends LazyConfigNode {
+        private final LazyJsonDecoder decoder;
+
+        private LazyJsonNode(LazyJsonDecoder decoder, int start, int end) throws IOException {
+            super(8);
+            this.decoder = decoder;
+
+            int i = decoder.whitespace(start + 1);
+            if (decoder.get(i) == '}') {
+                decoder.checkEnd(this, i, end);
+                return;
+            }
+
+            while (true) {
+                if (decoder.get(i) != '"') {
+                    throw decoder.error("Expected name", i);
+                }
+
+                int keyEnd = decoder.skipString(i);
+                String key = decoder.string(i, keyEnd);
+
+                i = decoder.whitespace(keyEnd);
+                if (decoder.get(i) != ':') {
+                    throw decoder.error("Expected ':'", i);
+                }
+
+                int valueStart = decoder.whitespace(i + 1);
+                int valueEnd = decoder.skipValue(valueStart);
+                putUnloaded(key, new Range(valueStart, valueEnd));
+
+                i = decoder.whitespace(valueEnd);
+                byte b = decoder.get(i);
+                if (b == '}') {
+                    decoder.checkEnd(this, i, end);
+                    return;
+                }
+
+                if (b != ',') {
+                    throw decoder.error("Expected ',' or '}'", i);
+                }
+
+                i = decoder.whitespace(i + 1);
+            }
+        }
+
+        @Override
+        protected @NotNull ConfigElement load(@NotNull Object source) {
+            return decoder.valueUnchecked((Range) source);
+        }
+    }
+}
@@ -1,12 +1,35 @@
 package com.github.steanky.ethylene.codec.json;
 
+import com.github.steanky.ethylene.core.ConfigCodec;
 import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.binary.BinaryCodec;
+import com.github.steanky.ethylene.core.bridge.Configuration;
+import com.github.steanky.ethylene.core.collection.ArrayConfigList;
+import com.github.steanky.ethylene.core.collection.CompactConfigList;
+import com.github.steanky.ethylene.core.collection.CompactConfigNode;
+import com.github.steanky.ethylene.core.collection.ConfigList;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
+import com.github.steanky.ethylene.core.collection.Immutable;
+import com.github.steanky.ethylene.core.collection.LazyConfigNode;
+import com.github.steanky.ethylene.core.collection.LinkedConfigNode;
+import com.github.steanky.ethylene.core.event.ConfigEvent;
+import com.github.steanky.ethylene.core.event.ConfigEventReader;
+import com.github.steanky.ethylene.core.event.ConfigEventWriter;
+import com.github.steanky.ethylene.core.event.ConfigEvents;
+import com.google.gson.Gson;
 import com.github.steanky.ethylene.core.path.ConfigPath;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +65,17 @@ class JsonCodecTest {
         """;
 
     private final JsonCodec codec = new JsonCodec();
+    private final JsonCodec treeCodec = new JsonCodec(new Gson(), false);
+
+    private static ConfigElement decode(JsonCodec codec, String json) throws IOException {
+        return codec.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String encode(JsonCodec codec, ConfigElement element) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.encode(element, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
 
     @Test
     void throwsFormatErrorOnBadJson() {
@@ -71,4 +105,312 @@ class JsonCodecTest {
         assertEquals("vegetals", element.at(ConfigPath.of("0/test")).asString());
         assertEquals("vegetals2", element.at(ConfigPath.of("0/test2")).asString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamingMatchesTreeDecode() throws IOException {
+        assertEquals(decode(treeCodec, GOOD_JSON), decode(codec, GOOD_JSON));
+        assertEquals(decode(treeCodec, GOOD_JSON_LIST), decode(codec, GOOD_JSON_LIST));
+        assertEquals(decode(treeCodec, "[[], {}, [null, true, -1.5e3]]"),
+            decode(codec, "[[], {}, [null, true, -1.5e3]]"));
+    }
+
+    @Test
+    void streamingDecodesScalarsAndEmptyInput() throws IOException {
+        assertEquals("value", decode(codec, "\"value\"").asString());
+        assertEquals(10, decode(codec, "10").asNumber().intValue());
+        assertTrue(decode(codec, "").isNull());
+        assertTrue(decode(treeCodec, "").isNull());
+    }
+
+    @Test
+    void streamingThrowsOnTrailingData() {
+        assertThrows(IOException.class, () -> decode(codec, "{} {}"));
+        assertThrows(IOException.class, () -> decode(codec, "[1, 2"));
+    }
+
+    @Test
+    void streamingEncodeMatchesTreeEncode() throws IOException {
+        ConfigElement element = decode(treeCodec, GOOD_JSON);
+        assertEquals(element, decode(codec, encode(codec, element)));
+
+        //the default Gson does not serialize nulls
+        element.asNode().put("null", ConfigPrimitive.NULL);
+        element.asNode().put("character", ConfigPrimitive.of('c'));
+        assertEquals(encode(treeCodec, element), encode(codec, element));
+    }
+
+    @Test
+    void streamingEncodeWritesSharedReferences() throws IOException {
+        ConfigNode shared = new LinkedConfigNode(1);
+        shared.putNumber("value", 10);
+
+        ConfigList list = new ArrayConfigList(2);
+        list.add(shared);
+        list.add(shared);
+
+        ConfigNode root = new LinkedConfigNode(1);
+        root.put("list", list);
+
+        assertEquals("{\"list\":[{\"value\":10},{\"value\":10}]}", encode(codec, root));
+    }
+
+    @Test
+    void streamingEncodeThrowsOnCircularReference() {
+        ConfigNode root = new LinkedConfigNode(1);
+        ConfigNode child = new LinkedConfigNode(1);
+        root.put("child", child);
+        child.put("parent", root);
+
+        assertThrows(IOException.class, () -> encode(codec, root));
+    }
+
+    @Test
+    void eventReaderMatchesDecode() throws IOException {
+        for (String json : new String[] {GOOD_JSON, GOOD_JSON_LIST, "[[], {}, [null, true, -1.5e3]]", "\"value\"", ""}) {
+            for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec}) {
+                try (ConfigEventReader reader = codec.eventReader(
+                    new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+                    assertEquals(decode(treeCodec, json), ConfigEvents.read(reader));
+                    assertEquals(ConfigEvent.END_DOCUMENT, reader.next());
+                }
+            }
+        }
+    }
+
+    @Test
+    void eventReaderThrowsOnTrailingData() throws IOException {
+        try (ConfigEventReader reader = codec.eventReader(
+            new ByteArrayInputStream("{} {}".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals(ConfigEvent.START_NODE, reader.next());
+            assertEquals(ConfigEvent.END_NODE, reader.next());
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void eventWriterMatchesEncode() throws IOException {
+        ConfigElement element = decode(treeCodec, GOOD_JSON);
+
+        for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec}) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ConfigEventWriter writer = codec.eventWriter(output)) {
+                ConfigEvents.emit(element, writer);
+            }
+
+            assertEquals(encode(codec, element), output.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void eventWriterRejectsInvalidDocuments() {
+        assertThrows(IOException.class, () -> {
+            try (ConfigEventWriter writer = codec.eventWriter(new ByteArrayOutputStream())) {
+                writer.startNode(-1);
+            }
+        });
+
+        assertThrows(IOException.class, () -> {
+            try (ConfigEventWriter writer = codec.eventWriter(new ByteArrayOutputStream())) {
+                writer.scalar("value");
+            }
+        });
+
+        assertThrows(IOException.class, () -> {
+            try (ConfigEventWriter writer = codec.eventWriter(new ByteArrayOutputStream())) {
+                writer.startNode(-1);
+                writer.key("self");
+                writer.reference(0);
+            }
+        });
+    }
+
+    @Test
+    void streamingTranscodeUsesEvents() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ConfigEventWriter writer = codec.eventWriter(output)) {
+            codec.decode(new ByteArrayInputStream(GOOD_JSON.getBytes(StandardCharsets.UTF_8)), writer);
+        }
+
+        assertEquals(decode(treeCodec, GOOD_JSON), decode(codec, output.toString(StandardCharsets.UTF_8)));
+    }
+
+    private static String transcode(String input, ConfigCodec inputCodec, ConfigCodec outputCodec)
+        throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Configuration.transcode(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), inputCodec, output,
+            outputCodec);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void transcodesBetweenCodecs() throws IOException {
+        ConfigElement element = decode(treeCodec, GOOD_JSON);
+        String expected = encode(codec, element);
+
+        assertEquals(expected, transcode(GOOD_JSON, codec, codec));
+        assertEquals(expected, transcode(GOOD_JSON, treeCodec, codec));
+        assertEquals(encode(treeCodec, element), transcode(GOOD_JSON, codec, treeCodec));
+        assertEquals(encode(treeCodec, element), transcode(GOOD_JSON, treeCodec, treeCodec));
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        Configuration.transcode(new ByteArrayInputStream(GOOD_JSON.getBytes(StandardCharsets.UTF_8)), codec, binary,
+            BinaryCodec.INSTANCE);
+        assertEquals(element, BinaryCodec.INSTANCE.decode(new ByteArrayInputStream(binary.toByteArray())));
+    }
+
+    @Test
+    void transcodeThrowsOnInvalidInput() {
+        assertThrows(IOException.class, () -> transcode(BAD_JSON, codec, codec));
+        assertThrows(IOException.class, () -> transcode(BAD_JSON, codec, BinaryCodec.INSTANCE));
+        assertThrows(IOException.class, () -> transcode("[1, 2]", codec, codec));
+    }
+
+    @Test
+    void transcodesFiles(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Files.writeString(input, GOOD_JSON);
+
+        Configuration.transcode(input, codec, output, codec);
+        assertEquals(decode(treeCodec, GOOD_JSON), Configuration.read(output, codec));
+    }
+
+    @Test
+    void decodesPaths() throws IOException {
+        ConfigElement element = decode(treeCodec, GOOD_JSON);
+
+        String[] paths = new String[] {"", "number", "child", "child/child_array", "child/child_array/0/value",
+            "child/child_array/3", "child/child_array/4", "child/missing", "number/child", "child/child_array/name"};
+        for (String path : paths) {
+            ConfigPath configPath = ConfigPath.of(path);
+            for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec}) {
+                assertEquals(element.at(configPath), codec.decode(
+                    new ByteArrayInputStream(GOOD_JSON.getBytes(StandardCharsets.UTF_8)), configPath), path);
+            }
+        }
+    }
+
+    @Test
+    void readsPathsFromFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("config.json");
+        Files.writeString(file, GOOD_JSON);
+
+        ConfigPath path = ConfigPath.of("child/child_array/0");
+        assertEquals(decode(treeCodec, GOOD_JSON).at(path), Configuration.read(file, codec, path));
+        assertEquals(decode(treeCodec, GOOD_JSON).at(path), Configuration.read(file, treeCodec, path));
+        assertNull(Configuration.read(file, codec, ConfigPath.of("missing")));
+    }
+
+    @Test
+    void lazyMatchesTreeDecode() throws IOException {
+        JsonCodec lazyCodec = new JsonCodec(new Gson(), true, true);
+
+        String[] documents = new String[] {GOOD_JSON, GOOD_JSON_LIST, "[[], {}, [null, true, -1.5e3]]", "\"value\"",
+            "", "{\"escaped \\\"key\\\"\": \"line\\nbreak \\u00e9\", \"nested\": {\"a\": [{}, []]}}"};
+        for (String json : documents) {
+            assertEquals(decode(treeCodec, json), decode(lazyCodec, json), json);
+            assertEquals(decode(treeCodec, json), lazyCodec.decode(
+                ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8))), json);
+        }
+
+        ConfigElement element = decode(lazyCodec, GOOD_JSON);
+        assertInstanceOf(LazyConfigNode.class, element);
+        assertInstanceOf(LazyConfigNode.class, element.at("child"));
+        assertEquals(69420, element.at("child/child_array/0/value").asNumber().intValue());
+    }
+
+    @Test
+    void lazyReportsErrors() throws IOException {
+        JsonCodec lazyCodec = new JsonCodec(new Gson(), true, true);
+
+        assertThrows(IOException.class, () -> decode(lazyCodec, BAD_JSON));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{} {}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\" 1}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": [1, 2}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": {\"b\" 1}}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": [1 2]}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "[}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": [1, 2,]}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": {\"b\": 1,}}"));
+        assertThrows(IOException.class, () -> decode(lazyCodec, "{\"a\": [{\"b\": 1]}}"));
+
+        //errors inside values are only found once the value is accessed
+        ConfigElement element = decode(lazyCodec, "{\"valid\": 1, \"invalid\": tru}");
+        assertEquals(1, element.at("valid").asNumber().intValue());
+        assertThrows(UncheckedIOException.class, () -> element.at("invalid"));
+
+        for (String number : new String[] {"NaN", "Infinity", "-Infinity", "0x1p3", "1d", "1f", "01", "1.", ".5",
+            "+1", "1e", "-"}) {
+            ConfigElement node = decode(lazyCodec, "{\"number\": " + number + "}");
+            assertThrows(UncheckedIOException.class, () -> node.at("number"));
+        }
+
+        ConfigElement numbers = decode(lazyCodec, "[0, -0, 10, -1.25, 1e3, 2E-2, 0.5e+1]");
+        assertEquals(ConfigList.of(0D, -0D, 10D, -1.25D, 1e3D, 2E-2D, 0.5e+1D), numbers);
+    }
+
+    @Test
+    void lazyCopiesDirectBuffers() throws IOException {
+        JsonCodec lazyCodec = new JsonCodec(new Gson(), true, true);
+
+        byte[] bytes = "{\"value\": \"first\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        ConfigElement element = lazyCodec.decode(direct);
+
+        direct.put(11, (byte) 'F');
+        assertEquals("first", element.at("value").asString());
+    }
+
+    @Test
+    void decodesImmutableTrees() throws IOException {
+        JsonCodec lazyCodec = new JsonCodec(new Gson(), true, true);
+        for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec, lazyCodec}) {
+            ConfigElement element = codec.decodeImmutable(
+                new ByteArrayInputStream(GOOD_JSON.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(decode(treeCodec, GOOD_JSON), element);
+            assertInstanceOf(CompactConfigNode.class, element);
+            assertInstanceOf(CompactConfigNode.class, element.at("child"));
+            assertInstanceOf(Immutable.class, element.at("child/child_array"));
+            assertInstanceOf(CompactConfigNode.class, element.at("child/child_array/0"));
+        }
+
+        //homogeneous numeric arrays are backed by primitive arrays
+        ConfigElement numbers = codec.decodeImmutable(
+            new ByteArrayInputStream("[1, 2.5, 3]".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(double.class, assertInstanceOf(CompactConfigList.class, numbers).primitiveType());
+        assertArrayEquals(new double[] {1, 2.5, 3}, numbers.asList().toDoubleArray());
+
+        //decoding normally afterwards still produces mutable containers
+        assertInstanceOf(LinkedConfigNode.class, decode(codec, GOOD_JSON));
+        assertInstanceOf(LinkedConfigNode.class, decode(treeCodec, GOOD_JSON));
+    }
+
+    @Test
+    void immutableTreesShareEmptyContainers() throws IOException {
+        String json = "{\"a\": 1, \"b\": [1, \"two\", 3], \"c\": {}, \"d\": [], \"e\": [1, 2, 3]}";
+
+        JsonCodec lazyCodec = new JsonCodec(new Gson(), true, true);
+        for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec, lazyCodec}) {
+            ConfigNode node = codec.decodeImmutable(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .asNode();
+
+            assertEquals(decode(treeCodec, json), node);
+            assertSame(ConfigNode.EMPTY, node.get("c"));
+            assertSame(ConfigList.EMPTY, node.get("d"));
+        }
+    }
+
+    @Test
+    void deduplicatesKeysAndStrings() throws IOException {
+        String json = "[{\"type\": \"item\"}, {\"type\": \"item\"}]";
+        for (JsonCodec codec : new JsonCodec[] {this.codec, treeCodec}) {
+            ConfigList list = decode(codec, json).asList();
+            ConfigNode first = list.get(0).asNode();
+            ConfigNode second = list.get(1).asNode();
+
+            assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+            assertSame(first.get("type"), second.get("type"));
+        }
+    }
+}
@@ -145,26 +145,29 @@ public class BasicScalarSource implements ScalarSource {
 
         ElementType elementType = element.type();
         if (elementType.isScalar()) {
-            Object scalar = element.asScalar();
-            if (upperBounds.isSuperclassOf(scalar.getClass())) {
-                //simple case: we can return the scalar's underlying value
-                return scalar;
-            } else if (scalar instanceof Number number) {
-                //perform numeric conversions automatically as needed
+            if (element.isNumber()) {
+                //perform numeric conversions automatically as needed; use the unboxed accessors, which do not need to
+                //create an intermediate Number
                 if (upperBounds.isSubclassOf(Double.class)) {
-                    return number.doubleValue();
+                    return element.asDouble();
                 } else if (upperBounds.isSubclassOf(Long.class)) {
-                    return number.longValue();
+                    return element.asLong();
                 } else if (upperBounds.isSubclassOf(Integer.class)) {
-                    return number.intValue();
+                    return element.asInt();
                 } else if (upperBounds.isSubclassOf(Float.class)) {
-                    return number.floatValue();
+                    return element.asNumber().floatValue();
                 } else if (upperBounds.isSubclassOf(Short.class)) {
-                    return number.shortValue();
+                    return element.asNumber().shortValue();
                 } else if (upperBounds.isSubclassOf(Byte.class)) {
-                    return number.byteValue();
+                    return element.asNumber().byteValue();
                 }
             }
+
+            Object scalar = element.asScalar();
+            if (upperBounds.isSuperclassOf(scalar.getClass())) {
+                //simple case: we can return the scalar's underlying value
+                return scalar;
+            }
         }
 
         return resolveSignature(typeHinter.getPreferredType(element, upperBounds), upperBounds).createScalar(element);
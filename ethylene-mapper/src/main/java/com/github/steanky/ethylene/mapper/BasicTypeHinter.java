@@ -1,6 +1,7 @@
 package com.github.steanky.ethylene.mapper;
 
 import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.ConfigPrimitive;
 import com.github.steanky.ethylene.core.ElementType;
 import com.github.steanky.ethylene.mapper.type.Token;
 import org.jetbrains.annotations.NotNull;
@@ -36,6 +37,16 @@ public class BasicTypeHinter implements TypeHinter {
         }
     }
 
+    //avoids boxing the values of numeric primitives
+    private static Class<?> scalarType(ConfigElement element) {
+        if (element instanceof ConfigPrimitive primitive) {
+            return primitive.scalarType();
+        }
+
+        Object scalar = element.asScalar();
+        return scalar == null ? null : scalar.getClass();
+    }
+
     @Override
     public @NotNull ElementType getHint(@NotNull Token<?> type) {
         if (type.isSubclassOf(ConfigElement.class) || type.isPrimitiveOrWrapper() || type.isSubclassOf(String.class) ||
@@ -88,14 +99,14 @@ public class BasicTypeHinter implements TypeHinter {
                 yield toType.isSuperclassOf(Collection.class);
             }
             case SCALAR -> {
-                Object scalar = element.asScalar();
-                if (scalar == null) {
+                Class<?> scalarType = scalarType(element);
+                if (scalarType == null) {
                     //null is assignable to all types, even non-scalars
                     yield true;
                 }
 
                 //if not assignable, check the hint type
-                if (!toType.isSuperclassOf(scalar.getClass())) {
+                if (!toType.isSuperclassOf(scalarType)) {
                     yield getHint(toType) == ElementType.SCALAR;
                 }
 
@@ -114,17 +125,17 @@ public class BasicTypeHinter implements TypeHinter {
             case NODE -> upperBounds; //can't guess type from a node, assume it's assignable
             case LIST -> ARRAY_LIST; //arraylist is preferred, but don't check against the upper bounds (caller should)
             case SCALAR -> {
-                Object scalar = element.asScalar();
-                if (scalar == null) {
+                Class<?> scalarType = scalarType(element);
+                if (scalarType == null) {
                     //null is assignable to anything
                     yield upperBounds;
                 }
 
-                if (!upperBounds.isSuperclassOf(scalar.getClass())) {
+                if (!upperBounds.isSuperclassOf(scalarType)) {
                     yield upperBounds;
                 }
 
-                yield Token.ofType(scalar.getClass());
+                yield Token.ofType(scalarType);
             }
         };
     }
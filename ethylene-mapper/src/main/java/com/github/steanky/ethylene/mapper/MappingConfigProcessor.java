@@ -41,6 +41,7 @@ public class MappingConfigProcessor<T> implements ConfigProcessor<T> {
     private final TypeResolver typeResolver;
     private final ScalarSource scalarSource;
     private final boolean writeDefaults;
+    private final int graphOptions;
 
     /**
      * Creates a new instance of this class.
@@ -53,16 +54,37 @@ public class MappingConfigProcessor<T> implements ConfigProcessor<T> {
      *                               and vice versa
      * @param writeDefaults          whether this mapper should write configuration data when it is equal to a supplied
      *                               default value
+     * @param preserveShared         whether elements (or objects) referenced from more than one place should be mapped
+     *                               only once, with the result shared between all places that reference them
      */
     public MappingConfigProcessor(@NotNull Token<T> token, @NotNull SignatureMatcher.Source signatureMatcherSource,
         @NotNull TypeHinter typeHinter, @NotNull TypeResolver typeResolver, @NotNull ScalarSource scalarSource,
-        boolean writeDefaults) {
+        boolean writeDefaults, boolean preserveShared) {
         this.token = Objects.requireNonNull(token);
         this.signatureMatcherSource = Objects.requireNonNull(signatureMatcherSource);
         this.typeHinter = Objects.requireNonNull(typeHinter);
         this.typeResolver = Objects.requireNonNull(typeResolver);
         this.scalarSource = Objects.requireNonNull(scalarSource);
         this.writeDefaults = writeDefaults;
+        this.graphOptions = preserveShared ? GRAPH_OPTIONS | Graph.Options.PRESERVE_SHARED : GRAPH_OPTIONS;
+    }
+
+    /**
+     * Creates a new instance of this class which does not preserve shared references.
+     *
+     * @param token                  the type of object this processor will be able to process
+     * @param signatureMatcherSource the {@link SignatureMatcher.Source} used to create signature matchers
+     * @param typeHinter             the {@link TypeHinter} used to determine information about types
+     * @param typeResolver           the {@link TypeResolver} used to resolve types into concrete implementations
+     * @param scalarSource           the {@link ScalarSource} used to produce scalar types from {@link ConfigElement}s,
+     *                               and vice versa
+     * @param writeDefaults          whether this mapper should write configuration data when it is equal to a supplied
+     *                               default value
+     */
+    public MappingConfigProcessor(@NotNull Token<T> token, @NotNull SignatureMatcher.Source signatureMatcherSource,
+        @NotNull TypeHinter typeHinter, @NotNull TypeResolver typeResolver, @NotNull ScalarSource scalarSource,
+        boolean writeDefaults) {
+        this(token, signatureMatcherSource, typeHinter, typeResolver, scalarSource, writeDefaults, false);
     }
 
     @SuppressWarnings("unchecked")
@@ -81,6 +103,13 @@ public class MappingConfigProcessor<T> implements ConfigProcessor<T> {
                         Signature<Object> signature = (Signature<Object>) matchingSignature.signature();
                         int signatureSize = matchingSignature.size();
 
+                        Object directObject = signature.buildDirect(nodeElement);
+                        if (directObject != null) {
+                            nodeEntry.reference.set(directObject);
+                            return Graph.node(Iterators.iterator(),
+                                Graph.output(nodeEntry.reference, Graph.emptyAccumulator()));
+                        }
+
                         //if this signature supports circular refs, buildingObject should be non-null
                         Object buildingObject =
                             signature.hasBuildingObject() ? signature.initBuildingObject(nodeElement) : null;
@@ -177,7 +206,7 @@ public class MappingConfigProcessor<T> implements ConfigProcessor<T> {
                     }
                 }, this::elementToObjectContainerPredicate,
                 scalar -> Wrapper.of(scalarSource.makeObject(scalar.element, scalar.type)),
-                entry -> entry.element, GRAPH_OPTIONS).get();
+                entry -> entry.element, graphOptions).get();
         } catch (Exception exception) {
             if (exception instanceof MapperException mapperException) {
                 ConfigProcessException configProcessException = new ConfigProcessException(mapperException.getMessage());
@@ -295,7 +324,7 @@ public class MappingConfigProcessor<T> implements ConfigProcessor<T> {
                     }
                 }, this::objectToElementContainerPredicate, scalar -> scalarSource.makeElement(scalar.object,
                     scalar.type),
-                entry -> entry.object, GRAPH_OPTIONS);
+                entry -> entry.object, graphOptions);
         } catch (Exception exception) {
             exception.fillInStackTrace();
             ConfigProcessException configProcessException = new ConfigProcessException(exception);
@@ -92,6 +92,7 @@ public interface MappingProcessorSource {
             extends TypeResolver>
             typeResolverFunction = BasicTypeResolver::new;
         private boolean writeDefaults = false;
+        private boolean preserveShared = false;
 
         private Builder() {
             this.matchLengths = true;
@@ -355,6 +356,17 @@ public interface MappingProcessorSource {
             return this;
         }
 
+        /**
+         * Causes processors created by this builder to map elements (or objects) that are referenced from more than
+         * one place only once, sharing the result between every place that references them. This should only be
+         * enabled when shared elements are always mapped to the same type.
+         * @return this builder, for chaining
+         */
+        public @NotNull Builder preservingSharedReferences() {
+            this.preserveShared = true;
+            return this;
+        }
+
         /**
          * Builds a new {@link MappingProcessorSource} given the builder's current parameters. This method can be called
          * multiple times in order to create multiple unique instances. If the builder's parameters change between
@@ -375,7 +387,8 @@ public interface MappingProcessorSource {
             return new MappingProcessorSource() {
                 @Override
                 public @NotNull <T> ConfigProcessor<T> processorFor(@NotNull Token<T> token) {
-                    return new MappingConfigProcessor<>(token, source, hinter, resolver, scalarSource, writeDefaults);
+                    return new MappingConfigProcessor<>(token, source, hinter, resolver, scalarSource, writeDefaults,
+                        preserveShared);
                 }
             };
         }
@@ -128,6 +128,18 @@ public interface Signature<TReturn> extends Prioritized {
         throw new UnsupportedOperationException("This signature does not support pre-initialized building objects");
     }
 
+    /**
+     * Attempts to build an object directly from the given element, without mapping each of its children
+     * individually. Signatures may use this to take advantage of specialized element representations, such as lists
+     * backed by primitive arrays. The default implementation returns null.
+     *
+     * @param element the element from which to build the object
+     * @return the built object, or null if the object must be built from its arguments
+     */
+    default @Nullable Object buildDirect(@NotNull ConfigElement element) {
+        return null;
+    }
+
     /**
      * Builds an object.
      *
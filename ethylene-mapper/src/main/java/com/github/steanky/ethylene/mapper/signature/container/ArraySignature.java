@@ -1,5 +1,7 @@
 package com.github.steanky.ethylene.mapper.signature.container;
 
+import com.github.steanky.ethylene.core.ConfigElement;
+import com.github.steanky.ethylene.core.collection.CompactConfigList;
 import com.github.steanky.ethylene.core.collection.ConfigContainer;
 import com.github.steanky.ethylene.mapper.type.Token;
 import org.jetbrains.annotations.NotNull;
@@ -80,6 +82,25 @@ public class ArraySignature<T> extends ContainerSignatureBase<T[]> {
         return buildingObject;
     }
 
+    @Override
+    public @Nullable Object buildDirect(@NotNull ConfigElement element) {
+        //lists backed by primitive arrays can be copied in bulk, without boxing each element
+        if (!(element instanceof CompactConfigList list) || list.primitiveType() == null) {
+            return null;
+        }
+
+        Class<?> componentType = containerType.componentType().rawType();
+        if (componentType == int.class) {
+            return list.toIntArray();
+        } else if (componentType == long.class) {
+            return list.toLongArray();
+        } else if (componentType == double.class) {
+            return list.toDoubleArray();
+        }
+
+        return null;
+    }
+
     @Override
     protected @NotNull Object makeBuildingObject(@NotNull ConfigContainer container) {
         return Array.newInstance(containerType.componentType().rawType(), container.elementCollection().size());
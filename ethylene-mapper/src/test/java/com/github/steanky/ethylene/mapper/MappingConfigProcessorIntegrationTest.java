@@ -2,6 +2,7 @@ package com.github.steanky.ethylene.mapper;
 
 import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.ConfigPrimitive;
+import com.github.steanky.ethylene.core.collection.CompactConfigList;
 import com.github.steanky.ethylene.core.collection.ConfigList;
 import com.github.steanky.ethylene.core.collection.ConfigNode;
 import com.github.steanky.ethylene.core.collection.Entry;
@@ -221,6 +222,8 @@ class MappingConfigProcessorIntegrationTest {
 
         public record Data(int x, Child child) {}
 
+        public record Siblings(Child first, Child second) {}
+
         public record IntArrayContaining(int[] values) {
 
         }
@@ -242,6 +245,25 @@ class MappingConfigProcessorIntegrationTest {
             assertArrayEquals(new int[] {0, 1, 2, 3, 4}, containing.values);
         }
 
+        @Test
+        void intArrayFromPrimitiveList() throws ConfigProcessException {
+            ConfigProcessor<IntArrayContaining> processor = new MappingConfigProcessor<>(new Token<>() {
+            }, source, typeHinter, typeResolver, scalarSource, false);
+
+            IntArrayContaining containing = processor.dataFromElement(ConfigNode.of("values",
+                CompactConfigList.ofDoubles(0, 1.5, 2, -3.5)));
+            assertArrayEquals(new int[] {0, 1, 2, -3}, containing.values);
+        }
+
+        @Test
+        void longArrayFromPrimitiveList() throws ConfigProcessException {
+            ConfigProcessor<long[]> processor = new MappingConfigProcessor<>(new Token<>() {
+            }, source, typeHinter, typeResolver, scalarSource, false);
+
+            long[] values = processor.dataFromElement(CompactConfigList.ofInts(1, 2, 3));
+            assertArrayEquals(new long[] {1, 2, 3}, values);
+        }
+
         @Test
         void upcastFloat() throws ConfigProcessException {
             ConfigProcessor<Data> processor = new MappingConfigProcessor<>(new Token<>() {
@@ -251,6 +273,29 @@ class MappingConfigProcessorIntegrationTest {
             assertEquals(10.0D, d.child.data);
         }
 
+        @Test
+        void sharedReferences() throws ConfigProcessException {
+            ConfigNode child = ConfigNode.of("data", 10);
+            ConfigNode siblings = ConfigNode.of("first", child, "second", child);
+
+            ConfigProcessor<Siblings> separate = new MappingConfigProcessor<>(new Token<>() {
+            }, source, typeHinter, typeResolver, scalarSource, false);
+            Siblings separateData = separate.dataFromElement(siblings);
+            assertEquals(separateData.first, separateData.second);
+            assertNotSame(separateData.first, separateData.second);
+
+            ConfigProcessor<Siblings> shared = new MappingConfigProcessor<>(new Token<>() {
+            }, source, typeHinter, typeResolver, scalarSource, false, true);
+            Siblings sharedData = shared.dataFromElement(siblings);
+            assertSame(sharedData.first, sharedData.second);
+
+            ConfigProcessor<Siblings> sourceShared = MappingProcessorSource.builder().preservingSharedReferences()
+                .build().processorFor(new Token<>() {
+                });
+            Siblings sourceSharedData = sourceShared.dataFromElement(siblings);
+            assertSame(sourceSharedData.first, sourceSharedData.second);
+        }
+
         @Test
         void parameterlessClass() throws ConfigProcessException {
             ConfigProcessor<ParameterlessClass> processor = new MappingConfigProcessor<>(new Token<>() {
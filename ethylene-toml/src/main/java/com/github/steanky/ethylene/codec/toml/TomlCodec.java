@@ -32,7 +32,7 @@ public class TomlCodec extends AbstractConfigCodec {
     private static final String NAME = "TOML";
     private static final String PREFERRED_EXTENSION = "toml";
     private static final Set<String> EXTENSIONS = Set.of(PREFERRED_EXTENSION);
-    private static final int ENCODE_OPTIONS = Graph.Options.TRACK_REFERENCES;
+    private static final int ENCODE_OPTIONS = Graph.Options.PRESERVE_SHARED;
     private static final int DECODE_OPTIONS = Graph.Options.NONE;
     private final TomlParser parser;
     private final TomlWriter writer;
@@ -72,7 +72,7 @@ public class TomlCodec extends AbstractConfigCodec {
         if (target instanceof UnmodifiableConfig config) {
             Graph.InputEntry<String, Object, ConfigElement> inputEntry = INPUT_ENTRY.get();
 
-            return Graph.node(new Iterator<>() {
+            return GRAPH_CONTEXT.get().node(new Iterator<>() {
                 private final Iterator<? extends UnmodifiableConfig.Entry> backing = config.entrySet().iterator();
 
                 @Override
@@ -128,7 +128,7 @@ public class TomlCodec extends AbstractConfigCodec {
     @Override
     protected @NotNull Graph.Output<Object, String> makeEncodeMap(int size) {
         Config config = TomlFormat.newConfig(() -> new LinkedHashMap<>(size));
-        return Graph.output(config, (k, v, b) -> config.add(k, v));
+        return GRAPH_CONTEXT.get().output(config, (k, v, b) -> config.add(k, v));
     }
 
     @Override
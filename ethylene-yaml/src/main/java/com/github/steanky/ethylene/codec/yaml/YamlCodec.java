@@ -1,41 +1,87 @@
 package com.github.steanky.ethylene.codec.yaml;
 
 import com.github.steanky.ethylene.core.AbstractConfigCodec;
+import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.ElementType;
 import com.github.steanky.ethylene.core.Graph;
+import com.github.steanky.ethylene.core.util.StreamUtils;
+import com.github.steanky.ethylene.core.util.ThreadLocalPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 import org.snakeyaml.engine.v2.api.*;
+import org.snakeyaml.engine.v2.api.lowlevel.Compose;
+import org.snakeyaml.engine.v2.constructor.StandardConstructor;
 import org.snakeyaml.engine.v2.exceptions.YamlEngineException;
+import org.snakeyaml.engine.v2.nodes.*;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.Charset;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Provides support for the YAML format.
+ * <p>
+ * When created with {@link LoadSettings}, this codec decodes directly from the node graph produced by the YAML
+ * composer, without first constructing intermediate Java maps and lists. Anchored collections are decoded exactly once,
+ * and every alias referring to them resolves to the same {@link ConfigElement} instance.
+ * <p>
+ * In addition to the standard {@link YamlCodec#decode(InputStream)} and
+ * {@link YamlCodec#encode(ConfigElement, OutputStream)} methods, which treat a stream of several YAML documents as a
+ * single list, this codec provides {@link YamlCodec#decodeDocuments(InputStream)} and
+ * {@link YamlCodec#encodeDocuments(Iterator, OutputStream)}. These read and write documents one at a time, so that
+ * arbitrarily many documents can be processed without holding all of them in memory.
+ * <p>
+ * Output writers are pooled per thread using {@link StreamUtils}. When created with {@link DumpSettings}, the codec
+ * additionally keeps a small per-thread pool of {@link Dump} instances, rather than creating a new one (and its
+ * representer) for every write.
  */
 public class YamlCodec extends AbstractConfigCodec {
     private static final String NAME = "YAML";
     private static final String PREFERRED_EXTENSION = "yml";
     private static final Set<String> EXTENSIONS = Set.of(PREFERRED_EXTENSION, "yaml");
 
-    private static final int ENCODE_OPTIONS = Graph.Options.TRACK_REFERENCES;
+    private static final int ENCODE_OPTIONS = Graph.Options.PRESERVE_SHARED;
 
-    //for YML, it's possible to construct circular references in config, so enable reference tracking
-    private static final int DECODE_OPTIONS = Graph.Options.TRACK_REFERENCES;
+    //for YML, it's possible to construct circular and shared references (aliases) in config, so preserve them
+    private static final int DECODE_OPTIONS = Graph.Options.PRESERVE_SHARED;
+
+    //Dump instances are only pooled when we create them ourselves; supplied instances may be single-use
+    private static final int MAX_IDLE_DUMPS = 2;
 
     private final Supplier<Load> loadSupplier;
+    private final LoadSettings loadSettings;
     private final Supplier<Dump> dumpSupplier;
+    private final ThreadLocalPool<Dump> dumpPool;
 
     /**
-     * Creates a new YamlCodec using a default loadSupplier and dumpSupplier.
+     * Creates a new YamlCodec using default {@link LoadSettings} and {@link DumpSettings}.
      */
     public YamlCodec() {
-        this(() -> new Load(LoadSettings.builder().build()), () -> new Dump(DumpSettings.builder().build()));
+        this(LoadSettings.builder().build(), DumpSettings.builder().build());
+    }
+
+    /**
+     * Creates a new YamlCodec that will read and write YAML according to the given settings. Decoding will be performed
+     * directly from the composed YAML node graph.
+     *
+     * @param loadSettings the settings used when reading YAML
+     * @param dumpSettings the settings used when writing YAML
+     */
+    public YamlCodec(@NotNull LoadSettings loadSettings, @NotNull DumpSettings dumpSettings) {
+        super(ENCODE_OPTIONS, DECODE_OPTIONS);
+        this.loadSupplier = null;
+        this.loadSettings = Objects.requireNonNull(loadSettings);
+
+        Objects.requireNonNull(dumpSettings);
+        this.dumpSupplier = null;
+        this.dumpPool = new ThreadLocalPool<>(() -> new Dump(dumpSettings), MAX_IDLE_DUMPS);
     }
 
     /**
@@ -45,18 +91,218 @@ public class YamlCodec extends AbstractConfigCodec {
      * <p>Note that users should ensure the suppliers always return new objects, as each Load and Dump instance may
      * only be used to read or write once.</p>
      *
+     * <p>Codecs created using this constructor decode by first constructing Java objects using {@link Load}, rather
+     * than decoding directly from the YAML node graph.</p>
+     *
      * @param loadSupplier the supplier creating Load instances
      * @param dumpSupplier the supplier created Dump instances
      */
     public YamlCodec(@NotNull Supplier<Load> loadSupplier, @NotNull Supplier<Dump> dumpSupplier) {
         super(ENCODE_OPTIONS, DECODE_OPTIONS);
         this.loadSupplier = Objects.requireNonNull(loadSupplier);
+        this.loadSettings = null;
         this.dumpSupplier = Objects.requireNonNull(dumpSupplier);
+        this.dumpPool = null;
+    }
+
+    @Override
+    public @NotNull ConfigElement decode(@NotNull InputStream input) throws IOException {
+        if (loadSettings == null) {
+            return super.decode(input);
+        }
+
+        try (input) {
+            Objects.requireNonNull(input);
+
+            List<ConfigElement> documents = new ArrayList<>(1);
+            for (Node node : new Compose(loadSettings).composeAllFromInputStream(input)) {
+                //constructors are stateful, so use a new one for each document
+                documents.add(decodeNode(node, new NodeConstructor(loadSettings)));
+            }
+
+            //support loading multiple YAML documents from one stream
+            if (documents.size() == 1) {
+                return documents.get(0);
+            }
+
+            Graph.Output<ConfigElement, String> output = makeDecodeCollection(documents.size());
+            for (ConfigElement document : documents) {
+                output.accumulator().accept(null, document, false);
+            }
+
+            return finishDecodeContainer(output);
+        } catch (YamlEngineException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Lazily decodes every YAML document present in the given {@link InputStream}. Documents are read one at a time,
+     * as the returned stream is consumed.
+     * <p>
+     * The returned stream should be closed after use, which closes the input stream. Errors that occur while reading
+     * are thrown from the stream's operations as {@link UncheckedIOException}.
+     *
+     * @param input the InputStream to read from
+     * @return a lazy, sequential stream of decoded documents
+     */
+    public @NotNull Stream<ConfigElement> decodeDocuments(@NotNull InputStream input) {
+        Objects.requireNonNull(input);
+
+        Iterator<ConfigElement> documents;
+        try {
+            if (loadSettings != null) {
+                documents = new DocumentIterator<>(new Compose(loadSettings).composeAllFromInputStream(input)
+                    .iterator(), node -> decodeNode(node, new NodeConstructor(loadSettings)));
+            } else {
+                Load load = Objects.requireNonNull(loadSupplier.get(), "loadSupplier value");
+                documents = new DocumentIterator<>(load.loadAllFromInputStream(input).iterator(), this::decodeObject);
+            }
+        } catch (YamlEngineException exception) {
+            throw new UncheckedIOException(new IOException(exception));
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(documents, Spliterator.ORDERED |
+            Spliterator.NONNULL), false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    /**
+     * Encodes every element returned by the given {@link Iterator} as a separate YAML document. Elements are
+     * requested from the iterator only as they are written. The output stream is closed after all documents have been
+     * written.
+     *
+     * @param documents the iterator supplying documents to write
+     * @param output    the OutputStream to write to
+     * @throws IOException if an IO error occurs, or the iterator throws an {@link UncheckedIOException}
+     */
+    public void encodeDocuments(@NotNull Iterator<? extends ConfigElement> documents, @NotNull OutputStream output)
+        throws IOException {
+        try (output) {
+            Objects.requireNonNull(documents);
+            Objects.requireNonNull(output);
+
+            writeObject(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return documents.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return encodeElement(Objects.requireNonNull(documents.next(), "document"));
+                }
+            }, output);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private Object encodeElement(ConfigElement element) {
+        try {
+            return Graph.process(element, this::makeEncodeNode, this::isContainer, this::serializeElement,
+                Function.identity(), GRAPH_CONTEXT.get(), ENCODE_OPTIONS);
+        } finally {
+            INPUT_ENTRY.get().clear();
+        }
+    }
+
+    private ConfigElement decodeObject(Object object) {
+        try {
+            return Graph.process(object, this::makeDecodeNode, this::isContainer, this::deserializeObject,
+                Function.identity(), GRAPH_CONTEXT.get(), DECODE_OPTIONS);
+        } finally {
+            INPUT_ENTRY.get().clear();
+        }
+    }
+
+    private ConfigElement decodeNode(Node root, NodeConstructor constructor) {
+        //only anchored collections can be referred to more than once, so only they need to be tracked
+        Map<Node, ConfigElement> anchored = new IdentityHashMap<>();
+        Deque<Frame> stack = new ArrayDeque<>();
+
+        ConfigElement rootElement = visitNode(root, constructor, anchored, stack);
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (!frame.children.hasNext()) {
+                //the container may already be referenced by an alias, so it is completed in place
+                frame.output.accumulator().finish();
+                stack.pop();
+                continue;
+            }
+
+            Object child = frame.children.next();
+            String key = null;
+            Node valueNode;
+            if (frame.isMapping) {
+                NodeTuple tuple = (NodeTuple) child;
+                key = String.valueOf(constructor.constructKey(tuple.getKeyNode()));
+                valueNode = tuple.getValueNode();
+            } else if (child instanceof NodeTuple tuple) {
+                //sets are represented as mappings whose keys are the elements
+                valueNode = tuple.getKeyNode();
+            } else {
+                valueNode = (Node) child;
+            }
+
+            ConfigElement reference = anchored.get(valueNode);
+            if (reference != null) {
+                frame.output.accumulator().accept(key, reference, true);
+            } else {
+                frame.output.accumulator().accept(key, visitNode(valueNode, constructor, anchored, stack), false);
+            }
+        }
+
+        return rootElement;
+    }
+
+    private ConfigElement visitNode(Node node, NodeConstructor constructor, Map<Node, ConfigElement> anchored,
+        Deque<Frame> stack) {
+        Graph.Output<ConfigElement, String> output;
+        Iterator<?> children;
+        boolean isMapping = false;
+
+        switch (node.getNodeType()) {
+            case MAPPING -> {
+                List<NodeTuple> tuples = ((MappingNode) node).getValue();
+                if (Tag.SET.equals(node.getTag())) {
+                    output = makeDecodeCollection(tuples.size());
+                } else {
+                    output = makeDecodeMap(tuples.size());
+                    isMapping = true;
+                }
+
+                children = tuples.iterator();
+            }
+            case SEQUENCE -> {
+                List<Node> nodes = ((SequenceNode) node).getValue();
+                output = makeDecodeCollection(nodes.size());
+                children = nodes.iterator();
+            }
+            default -> {
+                return deserializeObject(constructor.constructValue(node));
+            }
+        }
+
+        //register before visiting children, so recursive aliases resolve to this container
+        ConfigElement element = output.data();
+        if (node.getAnchor().isPresent()) {
+            anchored.put(node, element);
+        }
+
+        stack.push(new Frame(output, children, isMapping));
+        return element;
     }
 
     @Override
     protected @NotNull Object readObject(@NotNull InputStream input) throws IOException {
-        Load load = Objects.requireNonNull(loadSupplier.get(), "loadSupplier value");
+        Load load = loadSettings != null ? new Load(loadSettings) :
+            Objects.requireNonNull(loadSupplier.get(), "loadSupplier value");
         try (input) {
             Iterable<Object> objectIterable = load.loadAllFromInputStream(input);
             List<Object> objectList = new ArrayList<>();
@@ -77,19 +323,29 @@ public class YamlCodec extends AbstractConfigCodec {
 
     @Override
     protected void writeObject(@NotNull Object object, @NotNull OutputStream output) throws IOException {
-        Dump dump = Objects.requireNonNull(dumpSupplier.get(), "dumpSupplier value");
-        try (YamlOutputStreamWriter writer = new YamlOutputStreamWriter(output, Charset.defaultCharset()) {
-            @Override
-            public void processIOException(IOException e) {
-            }
-        }) {
+        Dump dump = dumpPool != null ? dumpPool.acquire() :
+            Objects.requireNonNull(dumpSupplier.get(), "dumpSupplier value");
+        boolean success = false;
+        try (Writer writer = StreamUtils.writer(output)) {
+            StreamDataWriter dataWriter = new PooledDataWriter(writer);
             if (object instanceof Iterable<?> objects) {
-                dump.dumpAll(objects.iterator(), writer);
+                dump.dumpAll(objects.iterator(), dataWriter);
+            } else if (object instanceof Iterator<?> objects) {
+                dump.dumpAll(objects, dataWriter);
             } else {
-                dump.dump(object, writer);
+                dump.dump(object, dataWriter);
             }
+
+            success = true;
         } catch (YamlEngineException exception) {
             throw new IOException(exception);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } finally {
+            //the Dump's representer may be left holding state if dumping failed, so only reuse it on success
+            if (success && dumpPool != null) {
+                dumpPool.release(dump);
+            }
         }
     }
 
@@ -113,4 +369,85 @@ public class YamlCodec extends AbstractConfigCodec {
         //always return a new set, EnumSet static methods produce modifiable collections
         return EnumSet.allOf(ElementType.class);
     }
-}
+
+    private static final class DocumentIterator<T> implements Iterator<ConfigElement> {
+        private final Iterator<T> iterator;
+        private final Function<? super T, ConfigElement> decoder;
+
+        private DocumentIterator(Iterator<T> iterator, Function<? super T, ConfigElement> decoder) {
+            this.iterator = iterator;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return iterator.hasNext();
+            } catch (YamlEngineException exception) {
+                throw new UncheckedIOException(new IOException(exception));
+            }
+        }
+
+        @Override
+        public ConfigElement next() {
+            try {
+                return decoder.apply(iterator.next());
+            } catch (YamlEngineException exception) {
+                throw new UncheckedIOException(new IOException(exception));
+            }
+        }
+    }
+
+    //adapts a pooled Writer to snakeyaml's StreamDataWriter, which cannot throw checked exceptions
+    private record PooledDataWriter(Writer writer) implements StreamDataWriter {
+        @Override
+        public void write(String str) {
+            try {
+                writer.write(str);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            try {
+                writer.write(str, off, len);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    private record Frame(Graph.Output<ConfigElement, String> output, Iterator<?> children, boolean isMapping) {}
+
+    private static class NodeConstructor extends StandardConstructor {
+        private NodeConstructor(LoadSettings settings) {
+            super(settings);
+        }
+
+        private Object constructValue(Node node) {
+            //bypass constructObject, which would otherwise cache every constructed scalar
+            return findConstructorFor(node).orElseThrow(
+                () -> new YamlEngineException("Could not determine a constructor for tag " + node.getTag()))
+                .construct(node);
+        }
+
+        private Object constructKey(Node node) {
+            if (node.getNodeType() == NodeType.SCALAR) {
+                return constructValue(node);
+            }
+
+            return constructObject(node);
+        }
+    }
+}
\ No newline at end of file
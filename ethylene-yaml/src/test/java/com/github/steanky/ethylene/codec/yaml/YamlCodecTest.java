@@ -2,14 +2,28 @@ package com.github.steanky.ethylene.codec.yaml;
 
 import com.github.steanky.ethylene.core.ConfigElement;
 import com.github.steanky.ethylene.core.bridge.Configuration;
+import com.github.steanky.ethylene.core.collection.ConfigNode;
 import org.junit.jupiter.api.Test;
+import org.snakeyaml.engine.v2.api.Dump;
+import org.snakeyaml.engine.v2.api.DumpSettings;
+import org.snakeyaml.engine.v2.api.Load;
+import org.snakeyaml.engine.v2.api.LoadSettings;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class YamlCodecTest {
     private final YamlCodec codec = new YamlCodec();
+    private final YamlCodec loadCodec = new YamlCodec(() -> new Load(LoadSettings.builder().build()),
+        () -> new Dump(DumpSettings.builder().build()));
 
     @Test
     void simpleYaml() throws IOException {
@@ -31,4 +45,94 @@ class YamlCodecTest {
         assertEquals("value", element.asList().get(0).asNode().get("key").asString());
         assertEquals("another value", element.asList().get(1).asNode().get("another_key").asString());
     }
+
+    @Test
+    void nodeGraphMatchesLoad() throws IOException {
+        String yaml = """
+            string: value
+            int: 10
+            float: 1.5
+            bool: true
+            null_value: null
+            1: numeric key
+            list: [a, b, {c: d}]
+            set: !!set {x, y}
+            """;
+
+        ConfigElement element = Configuration.read(yaml, codec);
+        assertEquals(Configuration.read(yaml, loadCodec), element);
+        assertEquals(10, element.asNode().get("int").asNumber());
+        assertEquals("numeric key", element.asNode().get("1").asString());
+    }
+
+    @Test
+    void aliasesShareElements() throws IOException {
+        String yaml = """
+            defaults: &defaults
+              timeout: 10
+            first: *defaults
+            second: *defaults
+            """;
+
+        for (YamlCodec codec : List.of(codec, loadCodec)) {
+            ConfigElement element = Configuration.read(yaml, codec);
+            assertSame(element.asNode().get("defaults"), element.asNode().get("first"));
+            assertSame(element.asNode().get("defaults"), element.asNode().get("second"));
+        }
+    }
+
+    @Test
+    void sharedElementsRoundTrip() throws IOException {
+        ConfigNode shared = ConfigNode.of("timeout", 10);
+        ConfigNode root = ConfigNode.of("first", shared, "second", shared);
+
+        ConfigElement element = Configuration.read(Configuration.write(root, codec), codec);
+        assertEquals(root, element);
+        assertSame(element.asNode().get("first"), element.asNode().get("second"));
+    }
+
+    @Test
+    void recursiveAlias() throws IOException {
+        String yaml = """
+            root: &root
+              self: *root
+            """;
+
+        ConfigElement root = Configuration.read(yaml, codec).asNode().get("root");
+        assertSame(root, root.asNode().get("self"));
+    }
+
+    @Test
+    void emptyStream() throws IOException {
+        ConfigElement element = Configuration.read("", codec);
+        assertTrue(element.isList());
+        assertTrue(element.asList().isEmpty());
+    }
+
+    @Test
+    void decodeDocumentsIsLazy() {
+        String yaml = "first: 1\n---\nsecond: [unclosed";
+
+        for (YamlCodec codec : List.of(codec, loadCodec)) {
+            try (Stream<ConfigElement> documents = codec.decodeDocuments(
+                new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)))) {
+                Iterator<ConfigElement> iterator = documents.iterator();
+
+                assertEquals(1, iterator.next().asNode().get("first").asNumber());
+                assertThrows(UncheckedIOException.class, iterator::next);
+            }
+        }
+    }
+
+    @Test
+    void encodeDocumentsRoundTrip() throws IOException {
+        List<ConfigElement> documents = List.of(ConfigNode.of("key", "value"), ConfigNode.of("another_key", 10));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.encodeDocuments(documents.iterator(), output);
+
+        try (Stream<ConfigElement> decoded = codec.decodeDocuments(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(documents, decoded.toList());
+        }
+    }
 }
\ No newline at end of file